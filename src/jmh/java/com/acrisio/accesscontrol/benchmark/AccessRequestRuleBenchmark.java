@@ -0,0 +1,149 @@
+package com.acrisio.accesscontrol.benchmark;
+
+import com.acrisio.accesscontrol.api.dto.AccessRequestCreateDTO;
+import com.acrisio.accesscontrol.domain.model.AccessRequest;
+import com.acrisio.accesscontrol.domain.model.Module;
+import com.acrisio.accesscontrol.domain.model.User;
+import com.acrisio.accesscontrol.domain.rules.AccessRequestRule;
+import com.acrisio.accesscontrol.domain.rules.AccessRequestRuleEngine;
+import com.acrisio.accesscontrol.domain.rules.DepartmentPermissionRule;
+import com.acrisio.accesscontrol.domain.rules.DuplicateActiveAccessRule;
+import com.acrisio.accesscontrol.domain.rules.DuplicateActiveRequestRule;
+import com.acrisio.accesscontrol.domain.rules.JustificationRule;
+import com.acrisio.accesscontrol.domain.rules.ModuleActiveRule;
+import com.acrisio.accesscontrol.domain.rules.ModuleCompatibilityRule;
+import com.acrisio.accesscontrol.domain.rules.ModuleLimitRule;
+import com.acrisio.accesscontrol.domain.rules.UserPermissionSnapshot;
+import com.acrisio.accesscontrol.domain.rules.UserPermissionSnapshotFactory;
+import com.acrisio.accesscontrol.infrastructure.catalog.ModuleCatalog;
+import com.acrisio.accesscontrol.infrastructure.text.JustificationBlocklist;
+import com.acrisio.accesscontrol.infrastructure.util.InternationalizationUtil;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Custo de cada AccessRequestRule e da cadeia completa (snapshot do usuário + motor de regras)
+ * para usuários com 0/10/100 acessos vigentes e históricos de solicitações longos.
+ * Roda sem banco: catálogo, usuário e histórico vêm de RuleFixtures.
+ *
+ * mvn -Pjmh test-compile exec:exec -Djmh.args="AccessRequestRuleBenchmark"
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class AccessRequestRuleBenchmark {
+
+    @Param({"0", "10", "100"})
+    private int accesses;
+
+    @Param({"100", "5000"})
+    private int history;
+
+    private ModuleActiveRule moduleActiveRule;
+    private JustificationRule justificationRule;
+    private ModuleLimitRule moduleLimitRule;
+    private DuplicateActiveAccessRule duplicateActiveAccessRule;
+    private DuplicateActiveRequestRule duplicateActiveRequestRule;
+    private DepartmentPermissionRule departmentPermissionRule;
+    private ModuleCompatibilityRule moduleCompatibilityRule;
+
+    private AccessRequestRuleEngine engine;
+    private UserPermissionSnapshotFactory snapshotFactory;
+
+    private User user;
+    private UserPermissionSnapshot snapshot;
+    private Set<Module> requested;
+    private AccessRequestCreateDTO dto;
+
+    @Setup
+    public void setUp() {
+        List<Module> modules = RuleFixtures.modules();
+        user = RuleFixtures.user(modules, accesses);
+        List<AccessRequest> requests = RuleFixtures.history(user, modules, history);
+
+        InternationalizationUtil message = new RuleFixtures.StaticMessages();
+        ModuleCatalog catalog = RuleFixtures.catalog(modules);
+        moduleActiveRule = new ModuleActiveRule(message);
+        justificationRule = new JustificationRule(message, JustificationBlocklist.defaults());
+        moduleLimitRule = new ModuleLimitRule(message);
+        duplicateActiveAccessRule = new DuplicateActiveAccessRule(message);
+        duplicateActiveRequestRule = new DuplicateActiveRequestRule(message);
+        departmentPermissionRule = new DepartmentPermissionRule(message, catalog);
+        moduleCompatibilityRule = new ModuleCompatibilityRule(message, catalog);
+
+        // Mesma ordem de @Order usada pelo Spring
+        List<AccessRequestRule> chain = List.of(moduleActiveRule, justificationRule, moduleLimitRule,
+                duplicateActiveAccessRule, duplicateActiveRequestRule, departmentPermissionRule, moduleCompatibilityRule);
+        engine = new AccessRequestRuleEngine(chain, new SimpleMeterRegistry());
+        snapshotFactory = new UserPermissionSnapshotFactory(
+                RuleFixtures.accessRequestRepository(requests), RuleFixtures.accessRepository(user));
+
+        snapshot = snapshotFactory.create(user);
+        // Módulo 120 é incompatível com o 20, que usuários com 100 acessos já possuem
+        requested = RuleFixtures.requested(modules, 150, 151, 120);
+        dto = new AccessRequestCreateDTO(user.getId(), List.of(150L, 151L, 120L), RuleFixtures.JUSTIFICATION, false);
+    }
+
+    @Benchmark
+    public Object moduleActiveRule() {
+        return moduleActiveRule.validate(snapshot, requested, dto);
+    }
+
+    @Benchmark
+    public Object justificationRule() {
+        return justificationRule.validate(snapshot, requested, dto);
+    }
+
+    @Benchmark
+    public Object moduleLimitRule() {
+        return moduleLimitRule.validate(snapshot, requested, dto);
+    }
+
+    @Benchmark
+    public Object duplicateActiveAccessRule() {
+        return duplicateActiveAccessRule.validate(snapshot, requested, dto);
+    }
+
+    @Benchmark
+    public Object duplicateActiveRequestRule() {
+        return duplicateActiveRequestRule.validate(snapshot, requested, dto);
+    }
+
+    @Benchmark
+    public Object departmentPermissionRule() {
+        return departmentPermissionRule.validate(snapshot, requested, dto);
+    }
+
+    @Benchmark
+    public Object moduleCompatibilityRule() {
+        return moduleCompatibilityRule.validate(snapshot, requested, dto);
+    }
+
+    @Benchmark
+    public Object snapshot() {
+        return snapshotFactory.create(user);
+    }
+
+    // Caminho completo de um POST /request depois de carregar usuário e módulos
+    @Benchmark
+    public Object fullChain() {
+        return engine.evaluate(snapshotFactory.create(user), requested, dto);
+    }
+}
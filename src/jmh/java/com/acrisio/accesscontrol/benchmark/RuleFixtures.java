@@ -0,0 +1,168 @@
+package com.acrisio.accesscontrol.benchmark;
+
+import com.acrisio.accesscontrol.domain.enums.Department;
+import com.acrisio.accesscontrol.domain.enums.RequestStatus;
+import com.acrisio.accesscontrol.domain.model.Access;
+import com.acrisio.accesscontrol.domain.model.AccessRequest;
+import com.acrisio.accesscontrol.domain.model.Module;
+import com.acrisio.accesscontrol.domain.model.User;
+import com.acrisio.accesscontrol.domain.repository.AccessRepositoy;
+import com.acrisio.accesscontrol.domain.repository.AccessRequestRepository;
+import com.acrisio.accesscontrol.domain.repository.CatalogVersionRepository;
+import com.acrisio.accesscontrol.domain.repository.ModuleRepository;
+import com.acrisio.accesscontrol.infrastructure.catalog.ModuleCatalog;
+import com.acrisio.accesscontrol.infrastructure.util.InternationalizationUtil;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.TransactionStatus;
+import org.springframework.transaction.support.SimpleTransactionStatus;
+
+import java.lang.reflect.Proxy;
+import java.time.OffsetDateTime;
+import java.util.ArrayList;
+import java.util.EnumSet;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Massa de dados em memória para os benchmarks: nenhum banco nem contexto Spring.
+ * Os repositórios são proxies que respondem apenas às consultas usadas pelas regras.
+ */
+final class RuleFixtures {
+
+    static final int CATALOG_SIZE = 200;
+    static final String JUSTIFICATION = "Solicitação de acesso ao módulo de conciliação bancária para fechamento "
+            + "contábil do mês de novembro, conforme demanda aprovada pela gerência financeira.";
+
+    private RuleFixtures() {
+    }
+
+    // Módulos 1..200: TI acessa todos, FINANCE os pares; os 20 primeiros são incompatíveis com id + 100
+    static List<Module> modules() {
+        List<Module> modules = new ArrayList<>(CATALOG_SIZE);
+        for (long id = 1; id <= CATALOG_SIZE; id++) {
+            Set<Department> departments = id % 2 == 0 ? EnumSet.of(Department.TI, Department.FINANCE) : EnumSet.of(Department.TI);
+            modules.add(Module.builder()
+                    .id(id)
+                    .name("MODULE_" + id)
+                    .active(true)
+                    .permittedDepartments(new HashSet<>(departments))
+                    .incompatibleModules(new HashSet<>())
+                    .build());
+        }
+        for (int i = 0; i < 20; i++) {
+            modules.get(i).getIncompatibleModules().add(modules.get(i + 100));
+        }
+        return modules;
+    }
+
+    // Usuário de TI com "accesses" acessos vigentes nos primeiros módulos do catálogo
+    static User user(List<Module> modules, int accesses) {
+        User user = User.builder().id(1L).name("Benchmark").department(Department.TI).accesses(new ArrayList<>()).build();
+        OffsetDateTime now = OffsetDateTime.now();
+        for (int i = 0; i < accesses; i++) {
+            user.getAccesses().add(Access.builder()
+                    .id((long) i)
+                    .user(user)
+                    .module(modules.get(i % CATALOG_SIZE))
+                    .grantedAt(now.minusDays(10))
+                    .expiresAt(now.plusDays(170))
+                    .build());
+        }
+        return user;
+    }
+
+    // Histórico longo: 1 em cada 10 solicitações segue ativa, o restante cancelada ou negada
+    static List<AccessRequest> history(User user, List<Module> modules, int size) {
+        List<AccessRequest> history = new ArrayList<>(size);
+        for (int i = 0; i < size; i++) {
+            AccessRequest request = new AccessRequest();
+            request.setId((long) i);
+            request.setUser(user);
+            request.setModules(Set.of(modules.get(i % CATALOG_SIZE)));
+            request.setStatus(i % 10 == 0 ? RequestStatus.ACTIVE : (i % 2 == 0 ? RequestStatus.CANCELED : RequestStatus.DENIED));
+            history.add(request);
+        }
+        return history;
+    }
+
+    static Set<Module> requested(List<Module> modules, long... ids) {
+        Set<Module> requested = new LinkedHashSet<>();
+        for (long id : ids) {
+            requested.add(modules.get((int) id - 1));
+        }
+        return requested;
+    }
+
+    static ModuleCatalog catalog(List<Module> modules) {
+        ModuleRepository repository = stub(ModuleRepository.class, "findAllForCatalog", args -> modules);
+        CatalogVersionRepository versions = stub(CatalogVersionRepository.class, "findVersion", args -> java.util.Optional.of(1L));
+        ModuleCatalog catalog = new ModuleCatalog(repository, versions, new NoOpTransactionManager());
+        catalog.refresh();
+        return catalog;
+    }
+
+    // Simula a projeção findModuleIdsByUserAndStatus percorrendo o histórico em memória
+    static AccessRequestRepository accessRequestRepository(List<AccessRequest> history) {
+        return stub(AccessRequestRepository.class, "findModuleIdsByUserAndStatus", args -> {
+            List<Long> ids = new ArrayList<>();
+            for (AccessRequest request : history) {
+                if (request.getStatus() == args[1]) {
+                    request.getModules().forEach(m -> ids.add(m.getId()));
+                }
+            }
+            return ids;
+        });
+    }
+
+    // Simula a projeção findActiveModuleIdsByUserId sobre os acessos do usuário em memória
+    static AccessRepositoy accessRepository(User user) {
+        return stub(AccessRepositoy.class, "findActiveModuleIdsByUserId", args -> {
+            OffsetDateTime now = (OffsetDateTime) args[1];
+            List<Long> ids = new ArrayList<>();
+            for (Access access : user.getAccesses()) {
+                if (access.getExpiresAt().isAfter(now)) {
+                    ids.add(access.getModule().getId());
+                }
+            }
+            return ids;
+        });
+    }
+
+    @SuppressWarnings("unchecked")
+    private static <T> T stub(Class<T> type, String method, java.util.function.Function<Object[], Object> answer) {
+        return (T) Proxy.newProxyInstance(type.getClassLoader(), new Class<?>[]{type}, (proxy, m, args) -> {
+            if (m.getName().equals(method)) {
+                return answer.apply(args);
+            }
+            if (m.getDeclaringClass() == Object.class) {
+                return m.getName().equals("hashCode") ? System.identityHashCode(proxy) : m.getName().equals("equals") ? proxy == args[0] : type.getSimpleName();
+            }
+            throw new UnsupportedOperationException(m.getName());
+        });
+    }
+
+    static final class StaticMessages extends InternationalizationUtil {
+        @Override
+        public String getMessage(String code) {
+            return code;
+        }
+    }
+
+    private static final class NoOpTransactionManager implements PlatformTransactionManager {
+        @Override
+        public TransactionStatus getTransaction(TransactionDefinition definition) {
+            return new SimpleTransactionStatus();
+        }
+
+        @Override
+        public void commit(TransactionStatus status) {
+        }
+
+        @Override
+        public void rollback(TransactionStatus status) {
+        }
+    }
+}
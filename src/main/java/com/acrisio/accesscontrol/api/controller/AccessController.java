@@ -47,7 +47,7 @@ public class AccessController {
         var currentUser = currentUserProvider.get();
 
         return ResponseEntity.ok(
-                accessService.renew(dto.id(), currentUser.getId())
+                accessService.renew(dto.id(), currentUser.id())
         );
     }
     @Operation(summary = "Buscar de acesso.", description = "Buscar o acesso do usuário por ID do acesso.")
@@ -22,6 +22,7 @@ import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
 
 import java.util.List;
@@ -48,10 +49,35 @@ public class AccessRequestController {
             @Valid @RequestBody AccessRequestCreateInput input) {
 
         var user = currentUserProvider.get();
-        var dto = new AccessRequestCreateDTO(user.getId(), input.moduleIds(), input.justification(), input.urgent());
+        var dto = new AccessRequestCreateDTO(user.id(), input.moduleIds(), input.justification(), input.urgent());
         return ResponseEntity.ok(accessRequestService.createRequest(dto));
     }
 
+    @PostMapping("/batch")
+    @Operation(summary = "Solicitação de acesso em lote",
+            description = "Cria várias solicitações do usuário autenticado em uma única chamada. Retorna o resultado de cada item na ordem de entrada.")
+    public ResponseEntity<List<AccessRequestBatchItemDTO>> createBatch(
+            @Valid @RequestBody AccessRequestBatchInput input) {
+
+        // Como em POST /request, o usuário vem sempre do token: o lote não aceita userId por item
+        var user = currentUserProvider.get();
+        var dtos = input.requests().stream()
+                .map(item -> new AccessRequestCreateDTO(user.id(), item.moduleIds(), item.justification(), item.urgent()))
+                .toList();
+        return ResponseEntity.ok(accessRequestService.createBatch(dtos));
+    }
+
+    @PostMapping("/evaluate")
+    @Operation(summary = "Simular solicitação de acesso",
+            description = "Executa as regras de negócio para os módulos informados e retorna o resultado por módulo. Não gera protocolo nem grava a solicitação.")
+    public ResponseEntity<AccessRequestEvaluationDTO> evaluate(
+            @Valid @RequestBody AccessRequestEvaluateInput input) {
+
+        var user = currentUserProvider.get();
+        var dto = new AccessRequestCreateDTO(user.id(), input.moduleIds(), input.justification(), Boolean.TRUE.equals(input.urgent()));
+        return ResponseEntity.ok(accessRequestService.evaluate(dto));
+    }
+
     @Operation(summary = "Cancelar solicitação de acesso", description = "Cancelamento da solicitação por ID da solicitação e motivo. O usuário só pode cancelar suas solicitações.")
     @PostMapping("/cancel")
     public ResponseEntity<AccessRequestResponseDTO> cancel(@RequestBody AccessRequestCancelDTO dto) {
@@ -61,7 +87,7 @@ public class AccessRequestController {
         return ResponseEntity.ok(
                 accessRequestService.cancel(
                         dto.id(),
-                        currentUser.getId(),
+                        currentUser.id(),
                         dto.reason()
                 )
         );
@@ -82,7 +108,7 @@ public class AccessRequestController {
     public ResponseEntity<List<AccessRequestResponseDTO>> find() {
 
         var currentUser = currentUserProvider.get();
-        Long userIdFromToken = currentUser.getId();
+        Long userIdFromToken = currentUser.id();
 
         List<AccessRequestResponseDTO> list =
                 accessRequestService.listByUser(userIdFromToken);
@@ -142,6 +168,27 @@ public class AccessRequestController {
             @PageableDefault(size = 10, sort = "createdAt", direction = Sort.Direction.DESC) Pageable pageable
     ) {
         var user = currentUserProvider.get();
-        return accessRequestService.filter(user.getId(), filter, pageable);
+        return accessRequestService.filter(user.id(), filter, pageable);
+    }
+
+    @Operation(
+            summary = "Filtrar solicitações de acesso (paginação por cursor)",
+            description = """
+        Mesmos filtros de /request/filter, ordenados por data de criação (mais recentes primeiro).
+        Não calcula o total de registros: a resposta traz 'nextCursor', que deve ser enviado
+        no parâmetro 'cursor' para obter a página seguinte (ausente na última página).
+
+        • cursor – Token devolvido pela página anterior (omitir na primeira chamada)
+        • size – Quantidade de itens por página (máximo 100)
+        """
+    )
+    @GetMapping("/filter/cursor")
+    public AccessRequestCursorPageDTO filterByCursor(
+            AccessRequestFilterDTO filter,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "10") int size
+    ) {
+        var user = currentUserProvider.get();
+        return accessRequestService.filterByCursor(user.id(), filter, cursor, size);
     }
 }
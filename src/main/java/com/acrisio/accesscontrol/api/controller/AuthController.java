@@ -25,4 +25,12 @@ public class AuthController {
     public ResponseEntity<AuthResponseDTO> login(@Valid @RequestBody AuthLoginRequest request) {
         return ResponseEntity.ok(authService.login(request));
     }
+
+    @PostMapping("/logout")
+    @Operation(summary = "Logout", description = "Revoga o JWT informado em Authorization; ele deixa de ser aceito antes do vencimento.")
+    public ResponseEntity<Void> logout(@RequestHeader(value = "Authorization", required = false) String authorization) {
+        String token = authorization != null && authorization.startsWith("Bearer ") ? authorization.substring(7) : "";
+        authService.logout(token);
+        return ResponseEntity.noContent().build();
+    }
 }
\ No newline at end of file
@@ -1,8 +1,10 @@
 package com.acrisio.accesscontrol.api.controller;
 
 import com.acrisio.accesscontrol.api.dto.ModuleDTO;
+import com.acrisio.accesscontrol.infrastructure.catalog.ModuleCatalogJson;
 import com.acrisio.accesscontrol.service.ModuleService;
 import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.media.ArraySchema;
 import io.swagger.v3.oas.annotations.media.Content;
 import io.swagger.v3.oas.annotations.media.Schema;
 import io.swagger.v3.oas.annotations.responses.ApiResponse;
@@ -10,11 +12,12 @@ import io.swagger.v3.oas.annotations.responses.ApiResponses;
 import io.swagger.v3.oas.annotations.tags.Tag;
 import lombok.RequiredArgsConstructor;
 import com.acrisio.accesscontrol.exception.ErrorMessage;
+import org.springframework.http.CacheControl;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 
 import jakarta.validation.Valid;
-import java.util.List;
 
 @RestController
 @RequestMapping("/modules")
@@ -31,6 +34,7 @@ import java.util.List;
 public class ModuleController {
 
     private final ModuleService moduleService;
+    private final ModuleCatalogJson moduleCatalogJson;
 
     @Operation(summary = "Criar módulo.", description = "Criação de novo módulo")
     @PostMapping
@@ -38,10 +42,20 @@ public class ModuleController {
         return ResponseEntity.ok(moduleService.create(dto));
     }
 
-    @Operation(summary = "Buscar todos os módulos.", description = "Buscar todos os módulos cadastrados.")
-    @GetMapping
-    public ResponseEntity<List<ModuleDTO>> findAll() {
-        return ResponseEntity.ok(moduleService.findAll());
+    // JSON pré-serializado do catálogo; com If-None-Match igual ao ETag o Spring responde 304 sem corpo
+    @Operation(summary = "Buscar todos os módulos.", description = "Buscar todos os módulos cadastrados. "
+            + "Responde com ETag; envie-o em If-None-Match para receber 304 enquanto o catálogo não mudar.")
+    @ApiResponse(responseCode = "200", description = "Successful operation", content = {
+            @Content(mediaType = "application/json", array = @ArraySchema(schema = @Schema(implementation = ModuleDTO.class))) })
+    @ApiResponse(responseCode = "304", description = "Catalog not modified since the informed ETag")
+    @GetMapping(produces = MediaType.APPLICATION_JSON_VALUE)
+    public ResponseEntity<byte[]> findAll() {
+        ModuleCatalogJson.Rendered modules = moduleCatalogJson.modules();
+        return ResponseEntity.ok()
+                .cacheControl(CacheControl.noCache())
+                .eTag(modules.etag())
+                .contentType(MediaType.APPLICATION_JSON)
+                .body(modules.json());
     }
 
     @Operation(summary = "Buscar módulo por ID.", description = "Buscar módulo especifico por ID do módulo.")
@@ -0,0 +1,13 @@
+package com.acrisio.accesscontrol.api.dto;
+
+import com.acrisio.accesscontrol.domain.enums.RequestStatus;
+
+// Resultado de cada item do lote, na mesma posição da entrada; status nulo indica item rejeitado antes das regras
+public record AccessRequestBatchItemDTO(
+        int index,
+        Long userId,
+        Long requestId,
+        String protocol,
+        RequestStatus status,
+        String message
+) {}
@@ -0,0 +1,10 @@
+package com.acrisio.accesscontrol.api.dto;
+
+import java.util.List;
+
+public record AccessRequestCursorPageDTO(
+        List<AccessRequestResponseDTO> content,
+        String nextCursor,
+        boolean hasNext
+) {
+}
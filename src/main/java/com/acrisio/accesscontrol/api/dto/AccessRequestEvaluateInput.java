@@ -0,0 +1,12 @@
+package com.acrisio.accesscontrol.api.dto;
+
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Size;
+import java.util.List;
+
+// Justificativa e urgência são opcionais: a avaliação pode ser chamada enquanto o formulário é preenchido
+public record AccessRequestEvaluateInput(
+        @NotNull @Size(min = 1, max = 3) List<Long> moduleIds,
+        String justification,
+        Boolean urgent
+) {}
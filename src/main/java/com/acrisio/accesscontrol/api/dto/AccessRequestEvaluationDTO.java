@@ -0,0 +1,9 @@
+package com.acrisio.accesscontrol.api.dto;
+
+import java.util.List;
+
+public record AccessRequestEvaluationDTO(
+        boolean approved,
+        List<ModuleVerdictDTO> modules,
+        List<String> reasons
+) {}
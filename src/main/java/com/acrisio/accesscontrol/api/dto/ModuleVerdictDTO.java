@@ -0,0 +1,10 @@
+package com.acrisio.accesscontrol.api.dto;
+
+import java.util.List;
+
+public record ModuleVerdictDTO(
+        Long moduleId,
+        String name,
+        boolean approved,
+        List<String> reasons
+) {}
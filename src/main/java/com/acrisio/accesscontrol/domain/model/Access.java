@@ -7,7 +7,11 @@ import java.io.Serializable;
 import java.time.OffsetDateTime;
 
 @Entity
-@Table(name = "tb_access")
+@Table(name = "tb_access", indexes = {
+        // Acessos do usuário e checagem de vigência
+        @Index(name = "idx_access_user_expires", columnList = "id_tb_user, tb_access_expires_at"),
+        @Index(name = "idx_access_module", columnList = "id_tb_module")
+})
 @Getter
 @Setter
 @NoArgsConstructor
@@ -16,7 +20,8 @@ import java.time.OffsetDateTime;
 public class Access implements Serializable {
 
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "seq_tb_access")
+    @SequenceGenerator(name = "seq_tb_access", sequenceName = "seq_tb_access", allocationSize = 50)
     @Column(name = "id_tb_access")
     private Long id;
 
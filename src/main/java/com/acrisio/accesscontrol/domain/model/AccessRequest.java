@@ -1,6 +1,7 @@
 package com.acrisio.accesscontrol.domain.model;
 
 import com.acrisio.accesscontrol.domain.enums.RequestStatus;
+import com.acrisio.accesscontrol.infrastructure.text.TextNormalizer;
 import jakarta.persistence.*;
 import lombok.*;
 import java.io.Serializable;
@@ -10,7 +11,16 @@ import java.util.List;
 import java.util.Set;
 
 @Entity
-@Table(name = "tb_access_request")
+// Índices mantidos em paridade com db/migration (Postgres)
+@Table(name = "tb_access_request", indexes = {
+        // Paginação por cursor: solicitações do usuário em ordem (createdAt desc, id desc)
+        @Index(name = "idx_access_request_user_created", columnList = "id_tb_user, tb_access_request_created_at, id_tb_access_request"),
+        // findByUser, regras (usuário + status) e listagem do usuário por data
+        @Index(name = "idx_access_request_user_status_created", columnList = "id_tb_user, tb_access_request_status, tb_access_request_created_at"),
+        // /request/filter ordenado por createdAt sem filtro de usuário
+        @Index(name = "idx_access_request_created", columnList = "tb_access_request_created_at, id_tb_access_request"),
+        @Index(name = "idx_access_request_origin", columnList = "id_origin_request")
+})
 @Getter
 @Setter
 @NoArgsConstructor
@@ -18,7 +28,8 @@ import java.util.Set;
 @Builder
 public class AccessRequest implements Serializable {
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "seq_tb_access_request")
+    @SequenceGenerator(name = "seq_tb_access_request", sequenceName = "seq_tb_access_request", allocationSize = 50)
     @Column(name = "id_tb_access_request")
     private Long id;
 
@@ -30,7 +41,9 @@ public class AccessRequest implements Serializable {
     @JoinTable(
             name = "tb_access_request_modules",
             joinColumns = @JoinColumn(name = "id_tb_access_request"),
-            inverseJoinColumns = @JoinColumn(name = "id_tb_module")
+            inverseJoinColumns = @JoinColumn(name = "id_tb_module"),
+            // A PK começa pela solicitação; este atende as buscas a partir do módulo
+            indexes = @Index(name = "idx_access_request_modules_module", columnList = "id_tb_module, id_tb_access_request")
     )
     private Set<Module> modules = new HashSet<>();
 
@@ -51,12 +64,16 @@ public class AccessRequest implements Serializable {
     @Column(name = "tb_access_request_created_at", nullable = false)
     private OffsetDateTime createdAt;
 
-    @Column(name = "tb_access_request_denied_reason")
+    @Column(name = "tb_access_request_denied_reason", length = 1000)
     private String deniedReason;
 
     @Column(name = "tb_access_request_expires_at")
     private OffsetDateTime expiresAt;
 
+    // Texto de busca desnormalizado: protocolo, nomes dos módulos e justificativa (TextNormalizer)
+    @Column(name = "tb_access_request_search_text", length = 2000)
+    private String searchText;
+
     // Solicitação original (para renovações)
     @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "id_origin_request")
@@ -66,5 +83,21 @@ public class AccessRequest implements Serializable {
     @OneToMany(mappedBy = "accessRequest", cascade = CascadeType.ALL, orphanRemoval = true)
     private List<RequestHistory> history;
 
-
+    // Calculado na inserção; cancelamento e renomeação de módulos chamam de novo explicitamente
+    @PrePersist
+    public void refreshSearchText() {
+        StringBuilder text = new StringBuilder();
+        if (protocol != null) {
+            text.append(protocol);
+        }
+        if (modules != null) {
+            for (Module module : modules) {
+                text.append(' ').append(module.getName());
+            }
+        }
+        if (justification != null) {
+            text.append(' ').append(justification);
+        }
+        searchText = TextNormalizer.normalize(text.toString());
+    }
 }
@@ -0,0 +1,24 @@
+package com.acrisio.accesscontrol.domain.model;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.Id;
+import jakarta.persistence.Table;
+import lombok.*;
+
+// Versão de um catálogo mantido em memória; cada nó compara com a sua para saber quando recarregar
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Entity
+@Table(name = "tb_catalog_version")
+public class CatalogVersion {
+
+    @Id
+    @Column(name = "tb_catalog_name")
+    private String catalog;
+
+    @Column(name = "tb_catalog_version", nullable = false)
+    private Long version;
+}
@@ -19,7 +19,8 @@ import java.util.Set;
 public class Module implements Serializable {
 
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "seq_tb_module")
+    @SequenceGenerator(name = "seq_tb_module", sequenceName = "seq_tb_module", allocationSize = 50)
     @Column(name = "id_tb_module")
     private  Long id;
 
@@ -36,7 +37,8 @@ public class Module implements Serializable {
     @ElementCollection(targetClass = Department.class)
     @CollectionTable(
             name = "tb_module_departments",
-            joinColumns = @JoinColumn(name = "id_tb_module")
+            joinColumns = @JoinColumn(name = "id_tb_module"),
+            indexes = @Index(name = "idx_module_departments_module", columnList = "id_tb_module")
     )
     @Enumerated(EnumType.STRING)
     @Column(name = "department")
@@ -0,0 +1,36 @@
+package com.acrisio.accesscontrol.domain.model;
+
+import jakarta.persistence.Entity;
+import jakarta.persistence.Id;
+import jakarta.persistence.IdClass;
+import jakarta.persistence.Table;
+import lombok.*;
+
+import java.io.Serializable;
+
+// Intervalo de números do dia reservado por um nó e devolvido sem uso; é consumido antes do contador crescer
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Entity
+@IdClass(ProtocolFreeRange.Key.class)
+@Table(name = "tb_protocol_free_range")
+public class ProtocolFreeRange {
+
+    @Id
+    private String protocolDate;
+
+    @Id
+    private Integer firstNumber;
+
+    private Integer lastNumber;
+
+    @Data
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class Key implements Serializable {
+        private String protocolDate;
+        private Integer firstNumber;
+    }
+}
@@ -8,7 +8,10 @@ import java.io.Serializable;
 import java.time.OffsetDateTime;
 
 @Entity
-@Table(name = "tb_request_history")
+@Table(name = "tb_request_history", indexes = {
+        // Histórico por solicitação, na ordem de inserção
+        @Index(name = "idx_request_history_request", columnList = "id_tb_access_request, id_tb_request_history")
+})
 @Getter
 @Setter
 @NoArgsConstructor
@@ -17,7 +20,8 @@ import java.time.OffsetDateTime;
 public class RequestHistory implements Serializable {
 
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "seq_tb_request_history")
+    @SequenceGenerator(name = "seq_tb_request_history", sequenceName = "seq_tb_request_history", allocationSize = 50)
     @Column(name = "id_tb_request_history")
     private Long id;
 
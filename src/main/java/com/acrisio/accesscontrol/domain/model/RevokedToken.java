@@ -0,0 +1,34 @@
+package com.acrisio.accesscontrol.domain.model;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.Id;
+import jakarta.persistence.Index;
+import jakarta.persistence.Table;
+import lombok.*;
+
+import java.time.OffsetDateTime;
+
+// Token revogado antes do exp; cada nó lê as novas linhas periodicamente e as mantém em memória
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Entity
+@Table(name = "tb_revoked_token", indexes = {
+        // Leitura incremental pelos nós e limpeza dos já expirados
+        @Index(name = "idx_revoked_token_revoked_at", columnList = "tb_revoked_token_revoked_at"),
+        @Index(name = "idx_revoked_token_expires_at", columnList = "tb_revoked_token_expires_at")
+})
+public class RevokedToken {
+
+    @Id
+    @Column(name = "tb_revoked_token_jti", length = 64)
+    private String jti;
+
+    @Column(name = "tb_revoked_token_expires_at", nullable = false)
+    private OffsetDateTime expiresAt;
+
+    @Column(name = "tb_revoked_token_revoked_at", nullable = false)
+    private OffsetDateTime revokedAt;
+}
@@ -20,7 +20,8 @@ import java.util.Set;
 public class User implements Serializable {
 
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "seq_tb_user")
+    @SequenceGenerator(name = "seq_tb_user", sequenceName = "seq_tb_user", allocationSize = 50)
     @Column(name = "id_tb_user")
     private Long id;
 
@@ -44,20 +45,7 @@ public class User implements Serializable {
     @OneToMany(mappedBy = "user", fetch = FetchType.LAZY)
     private List<AccessRequest> requests = new ArrayList<>();
 
-    public List<Access> getActiveAccesses() {
-        return accesses.stream()
-                .filter(a -> a.getExpiresAt() != null &&
-                        a.getExpiresAt().isAfter(java.time.OffsetDateTime.now()))
-                .toList();
-    }
-
-    public Set<Module> getActiveModules() {
-        return accesses.stream()
-                .filter(a -> a.getExpiresAt() != null &&
-                        a.getExpiresAt().isAfter(java.time.OffsetDateTime.now()))
-                .map(Access::getModule)
-                .collect(java.util.stream.Collectors.toSet());
-    }
+    // Acessos vigentes: AccessRepositoy.findActiveModuleIdsByUserId (filtro de expiração no banco)
 
     // apenas solicitações ativas
     public Set<Module> getRequestedModules() {
@@ -3,9 +3,37 @@ package com.acrisio.accesscontrol.domain.repository;
 import com.acrisio.accesscontrol.domain.model.Access;
 import com.acrisio.accesscontrol.domain.model.User;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 
+import java.time.OffsetDateTime;
+import java.util.Collection;
 import java.util.List;
 
 public interface AccessRepositoy extends JpaRepository<Access, Long> {
     List<Access> findByUser(User user);
+
+    // Módulos dos acessos vigentes, um id por acesso (o tamanho é a contagem de acessos ativos)
+    @Query("select a.module.id from Access a where a.user.id = :userId and a.expiresAt > :now")
+    List<Long> findActiveModuleIdsByUserId(@Param("userId") Long userId, @Param("now") OffsetDateTime now);
+
+    // Mesma projeção para vários usuários: linhas [userId, moduleId]
+    @Query("select a.user.id, a.module.id from Access a where a.user.id in :userIds and a.expiresAt > :now")
+    List<Object[]> findActiveModuleIdsByUserIds(@Param("userIds") Collection<Long> userIds, @Param("now") OffsetDateTime now);
+
+    // Cancelamento: revoga os acessos vigentes dos módulos da solicitação em um único DELETE
+    @Modifying(flushAutomatically = true)
+    @Query("delete from Access a where a.user.id = :userId and a.module.id in :moduleIds and a.expiresAt > :now")
+    int revokeActive(@Param("userId") Long userId,
+                     @Param("moduleIds") Collection<Long> moduleIds,
+                     @Param("now") OffsetDateTime now);
+
+    // Renovação: estende os acessos vigentes em um único UPDATE
+    @Modifying(flushAutomatically = true)
+    @Query("update Access a set a.expiresAt = :expiresAt where a.user.id = :userId and a.module.id in :moduleIds and a.expiresAt > :now")
+    int extendActive(@Param("userId") Long userId,
+                     @Param("moduleIds") Collection<Long> moduleIds,
+                     @Param("now") OffsetDateTime now,
+                     @Param("expiresAt") OffsetDateTime expiresAt);
 }
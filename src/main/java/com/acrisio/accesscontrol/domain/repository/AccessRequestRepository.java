@@ -4,12 +4,39 @@ import com.acrisio.accesscontrol.domain.enums.RequestStatus;
 import com.acrisio.accesscontrol.domain.model.AccessRequest;
 import com.acrisio.accesscontrol.domain.model.Module;
 import com.acrisio.accesscontrol.domain.model.User;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 
+import java.util.Collection;
 import java.util.List;
 
 public interface AccessRequestRepository  extends JpaRepository<AccessRequest, Long> , JpaSpecificationExecutor<AccessRequest> {
     List<AccessRequest> findByUser(User user);
+    List<AccessRequest> findByUserId(Long userId);
     boolean existsByUserAndStatusAndModulesContaining(User user, RequestStatus status, Module module);
+
+    // Projeção usada pelas regras: só os ids dos módulos, sem hidratar as solicitações
+    @Query("select distinct m.id from AccessRequest r join r.modules m where r.user.id = :userId and r.status = :status")
+    List<Long> findModuleIdsByUserAndStatus(@Param("userId") Long userId, @Param("status") RequestStatus status);
+
+    // Mesma projeção para vários usuários: linhas [userId, moduleId]
+    @Query("select distinct r.user.id, m.id from AccessRequest r join r.modules m where r.user.id in :userIds and r.status = :status")
+    List<Object[]> findUserModuleIdsByUsersAndStatus(@Param("userIds") Collection<Long> userIds, @Param("status") RequestStatus status);
+
+    // Vínculos solicitação-módulo de uma página: linhas [requestId, moduleId]
+    @Query("select r.id, m.id from AccessRequest r join r.modules m where r.id in :ids order by r.id, m.id")
+    List<Object[]> findModuleIdsByRequestIds(@Param("ids") Collection<Long> ids);
+
+    // Manutenção do texto de busca: ids afetados e carga com módulos em uma consulta
+    @Query("select r.id from AccessRequest r join r.modules m where m.id = :moduleId")
+    List<Long> findIdsByModuleId(@Param("moduleId") Long moduleId);
+
+    @Query("select r.id from AccessRequest r where r.searchText is null order by r.id")
+    List<Long> findIdsWithoutSearchText(Pageable pageable);
+
+    @Query("select distinct r from AccessRequest r left join fetch r.modules where r.id in :ids")
+    List<AccessRequest> findAllWithModulesByIdIn(@Param("ids") Collection<Long> ids);
 }
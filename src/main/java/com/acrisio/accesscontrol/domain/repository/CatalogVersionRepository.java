@@ -0,0 +1,25 @@
+package com.acrisio.accesscontrol.domain.repository;
+
+import com.acrisio.accesscontrol.domain.model.CatalogVersion;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import java.util.Optional;
+
+public interface CatalogVersionRepository extends JpaRepository<CatalogVersion, String> {
+
+    // Leitura barata feita por cada nó a cada intervalo de verificação
+    @Query("select v.version from CatalogVersion v where v.catalog = :catalog")
+    Optional<Long> findVersion(@Param("catalog") String catalog);
+
+    // Incremento na transação da alteração: a nova versão só aparece junto com o commit
+    @Modifying(flushAutomatically = true)
+    @Query("update CatalogVersion v set v.version = v.version + 1 where v.catalog = :catalog")
+    int bump(@Param("catalog") String catalog);
+
+    @Modifying
+    @Query(value = "insert into tb_catalog_version (tb_catalog_name, tb_catalog_version) values (:catalog, 1)", nativeQuery = true)
+    void create(@Param("catalog") String catalog);
+}
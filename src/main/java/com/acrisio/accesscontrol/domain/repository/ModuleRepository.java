@@ -2,6 +2,19 @@ package com.acrisio.accesscontrol.domain.repository;
 
 import com.acrisio.accesscontrol.domain.model.Module;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import java.util.Collection;
+import java.util.List;
 
 public interface ModuleRepository extends JpaRepository<Module, Long> {
+
+    // Carga do catálogo: módulos, tb_module_departments e tb_module_incompatibilities em uma única consulta
+    @Query("select distinct m from Module m left join fetch m.permittedDepartments left join fetch m.incompatibleModules")
+    List<Module> findAllForCatalog();
+
+    // Mesma carga restrita aos módulos de uma página de solicitações
+    @Query("select distinct m from Module m left join fetch m.permittedDepartments left join fetch m.incompatibleModules where m.id in :ids")
+    List<Module> findAllWithDetailsByIdIn(@Param("ids") Collection<Long> ids);
 }
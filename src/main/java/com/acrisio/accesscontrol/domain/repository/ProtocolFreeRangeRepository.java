@@ -0,0 +1,23 @@
+package com.acrisio.accesscontrol.domain.repository;
+
+import com.acrisio.accesscontrol.domain.model.ProtocolFreeRange;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import java.util.List;
+
+public interface ProtocolFreeRangeRepository extends JpaRepository<ProtocolFreeRange, ProtocolFreeRange.Key> {
+
+    List<ProtocolFreeRange> findTop10ByProtocolDateOrderByFirstNumber(String protocolDate);
+
+    // O DELETE pela PK é o que garante a posse: só uma transação concorrente recebe 1
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("delete from ProtocolFreeRange r where r.protocolDate = :date and r.firstNumber = :first")
+    int claim(@Param("date") String date, @Param("first") int first);
+
+    @Modifying
+    @Query(value = "insert into tb_protocol_free_range (protocol_date, first_number, last_number) values (:date, :first, :last)", nativeQuery = true)
+    void add(@Param("date") String date, @Param("first") int first, @Param("last") int last);
+}
@@ -2,5 +2,19 @@ package com.acrisio.accesscontrol.domain.repository;
 
 import com.acrisio.accesscontrol.domain.model.ProtocolSequence;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 
-public interface ProtocolSequenceRepository extends JpaRepository<ProtocolSequence, String> {}
+public interface ProtocolSequenceRepository extends JpaRepository<ProtocolSequence, String> {
+
+    // Reserva um bloco de números: o UPDATE trava a linha do dia até o commit
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("update ProtocolSequence s set s.counter = s.counter + :size where s.protocolDate = :date")
+    int reserve(@Param("date") String date, @Param("size") int size);
+
+    // Cria a linha do dia sem falhar quando outro nó a criou ao mesmo tempo
+    @Modifying
+    @Query(value = "insert into tb_protocol_sequence (protocol_date, counter) values (:date, 0) on conflict do nothing", nativeQuery = true)
+    void createIfAbsent(@Param("date") String date);
+}
@@ -2,6 +2,15 @@ package com.acrisio.accesscontrol.domain.repository;
 
 import com.acrisio.accesscontrol.domain.model.RequestHistory;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import java.util.Collection;
+import java.util.List;
 
 public interface RequestHistoryRepository extends JpaRepository<RequestHistory, Long> {
+
+    // Histórico de várias solicitações sem hidratar as entidades: linhas [requestId, action, description, date]
+    @Query("select h.accessRequest.id, h.action, h.description, h.date from RequestHistory h where h.accessRequest.id in :ids order by h.id")
+    List<Object[]> findByRequestIds(@Param("ids") Collection<Long> ids);
 }
@@ -0,0 +1,24 @@
+package com.acrisio.accesscontrol.domain.repository;
+
+import com.acrisio.accesscontrol.domain.model.RevokedToken;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import java.time.OffsetDateTime;
+import java.util.List;
+
+public interface RevokedTokenRepository extends JpaRepository<RevokedToken, String> {
+
+    // Carga inicial: tudo que ainda não expirou
+    List<RevokedToken> findByExpiresAtAfter(OffsetDateTime now);
+
+    // Leitura incremental: revogações a partir da marca d'água do nó, ainda vigentes
+    @Query("select t from RevokedToken t where t.revokedAt >= :since and t.expiresAt > :now")
+    List<RevokedToken> findRevokedSince(@Param("since") OffsetDateTime since, @Param("now") OffsetDateTime now);
+
+    @Modifying
+    @Query("delete from RevokedToken t where t.expiresAt <= :now")
+    int deleteExpired(@Param("now") OffsetDateTime now);
+}
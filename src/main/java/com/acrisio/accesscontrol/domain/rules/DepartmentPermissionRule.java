@@ -3,8 +3,10 @@ package com.acrisio.accesscontrol.domain.rules;
 import com.acrisio.accesscontrol.api.dto.AccessRequestCreateDTO;
 import com.acrisio.accesscontrol.domain.enums.Department;
 import com.acrisio.accesscontrol.domain.model.Module;
-import com.acrisio.accesscontrol.domain.model.User;
+import com.acrisio.accesscontrol.infrastructure.catalog.ModuleCatalog;
+import com.acrisio.accesscontrol.infrastructure.catalog.ModuleCatalogSnapshot;
 import com.acrisio.accesscontrol.infrastructure.util.InternationalizationUtil;
+import org.springframework.core.annotation.Order;
 import org.springframework.stereotype.Component;
 
 import java.util.Set;
@@ -12,61 +14,35 @@ import lombok.RequiredArgsConstructor;
 
 @RequiredArgsConstructor
 @Component
+@Order(60)
 public class DepartmentPermissionRule implements AccessRequestRule {
 
     private final InternationalizationUtil message;
+    private final ModuleCatalog moduleCatalog;
+
     @Override
-    public void validate(User user, Set<Module> requestedModules, AccessRequestCreateDTO dto) {
+    public RuleResult validate(UserPermissionSnapshot user, Set<Module> requestedModules, AccessRequestCreateDTO dto) {
 
-        Department dept = user.getDepartment();
+        Department dept = user.department();
+        ModuleCatalogSnapshot catalog = moduleCatalog.snapshot();
 
+        RuleResult result = RuleResult.ok();
         for (Module module : requestedModules) {
-
-            String code = module.getName().toUpperCase();
-
-            // TI → todos os módulos
-            if (dept == Department.TI) continue;
-
-            // Financeiro
-            if (dept == Department.FINANCE) {
-                if (code.equals("GESTAO_FINANCEIRA") ||
-                        code.equals("APROVADOR_FINANCEIRO") ||
-                        code.equals("SOLICITANTE_FINANCEIRO") ||
-                        code.equals("RELATORIOS") ||
-                        code.equals("PORTAL")) {
-                    continue;
-                }
-                throw new IllegalArgumentException( message.getMessage("rule.departmentPermissionRule.info") + " " + module.getName());
-            }
-
-            // RH
-            if (dept == Department.RH) {
-                if (code.equals("ADMINISTRADOR_RH") ||
-                        code.equals("COLABORADOR_RH") ||
-                        code.equals("RELATORIOS") ||
-                        code.equals("PORTAL")) {
-                    continue;
-                }
-                throw new IllegalArgumentException( message.getMessage("rule.departmentPermissionRule.info") + " " + module.getName());
-            }
-
-            // Operações
-            if (dept == Department.OPERATIONS) {
-                if (code.equals("ESTOQUE") ||
-                        code.equals("COMPRAS") ||
-                        code.equals("RELATORIOS") ||
-                        code.equals("PORTAL")) {
-                    continue;
-                }
-                throw new IllegalArgumentException( message.getMessage("rule.departmentPermissionRule.info") + " " + module.getName());
-            }
-
-            // Outros departamentos
-            if (code.equals("PORTAL") || code.equals("RELATORIOS")) {
-                continue;
+            if (!isPermitted(catalog, dept, module)) {
+                result = result.and(RuleResult.deny(this, module.getId(),
+                        message.getMessage("rule.departmentPermissionRule.info") + " " + module.getName()));
             }
+        }
+        return result;
+    }
 
-            throw new IllegalArgumentException( message.getMessage("rule.departmentPermissionRule.info") + " " + module.getName());
+    // Permissões vêm de tb_module_departments (Module.permittedDepartments) via matriz do catálogo
+    private boolean isPermitted(ModuleCatalogSnapshot catalog, Department dept, Module module) {
+        int position = catalog.positionOf(module.getId());
+        if (position != ModuleCatalogSnapshot.ABSENT) {
+            return catalog.isPermitted(dept, position);
         }
+        // Módulo ainda fora do catálogo (ex.: criado em outro nó): usa a própria entidade
+        return module.getPermittedDepartments() != null && module.getPermittedDepartments().contains(dept);
     }
 }
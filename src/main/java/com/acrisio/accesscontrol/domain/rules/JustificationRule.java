@@ -2,60 +2,57 @@ package com.acrisio.accesscontrol.domain.rules;
 
 import com.acrisio.accesscontrol.api.dto.AccessRequestCreateDTO;
 import com.acrisio.accesscontrol.domain.model.Module;
-import com.acrisio.accesscontrol.domain.model.User;
+import com.acrisio.accesscontrol.infrastructure.text.JustificationBlocklist;
+import com.acrisio.accesscontrol.infrastructure.text.TextNormalizer;
 import com.acrisio.accesscontrol.infrastructure.util.InternationalizationUtil;
+import org.springframework.core.annotation.Order;
 import org.springframework.stereotype.Component;
 import lombok.RequiredArgsConstructor;
-import java.text.Normalizer;
-import java.util.List;
 import java.util.Set;
 
 @RequiredArgsConstructor
 @Component
+@Order(20)
 public class JustificationRule implements AccessRequestRule {
     private final InternationalizationUtil message;
-
-    private static final List<String> GENERIC_WORDS = List.of(
-            "teste", "testando", "aaa", "aaaa", "aaaaa", "preciso", "favor liberar",
-            "ok", "libera", "liberação", "kkk", "kkkk", "kkkkkk"
-    );
+    private final JustificationBlocklist blocklist;
 
     @Override
-    public void validate(User user, Set<Module> requestedModules, AccessRequestCreateDTO dto) {
+    public RuleResult validate(UserPermissionSnapshot user, Set<Module> requestedModules, AccessRequestCreateDTO dto) {
         String justification = dto.justification();
 
         if (justification == null) {
-            throw new IllegalArgumentException(message.getMessage("rule.justificationRule.info"));
+            return RuleResult.deny(this, message.getMessage("rule.justificationRule.info"));
         }
 
-        String clean = normalize(justification);
+        String clean = TextNormalizer.normalize(justification);
 
         if (clean.length() < 20 || clean.length() > 500) {
-            throw new IllegalArgumentException(message.getMessage("rule.justificationRule.infoII"));
+            return RuleResult.deny(this, message.getMessage("rule.justificationRule.infoII"));
         }
 
-        // Lista negra de genéricos
-        for (String word : GENERIC_WORDS) {
-            if (clean.equals(word) || clean.contains(word)) {
-                throw new IllegalArgumentException(message.getMessage("rule.justificationRule.infoIII"));
-        }
+        // Lista negra de genéricos (autômato com todos os termos de uma vez)
+        if (blocklist.matches(clean)) {
+            return RuleResult.deny(this, message.getMessage("rule.justificationRule.infoIII"));
         }
 
-        // repetição exagerada de caracteres (ex: aaaaaaaa, kkkkkkkkk)
-        if (clean.matches("^(.)\\1{4,}$")) {
-            throw new IllegalArgumentException(message.getMessage("rule.justificationRule.infoIII"));
+        // repetição exagerada de caracteres (ex: aaaaaaaa, kkkkkkkkk) e contagem de palavras na mesma passada
+        boolean repeated = clean.length() >= 5;
+        boolean singleWord = true;
+        char first = clean.charAt(0);
+        for (int i = 1; i < clean.length(); i++) {
+            char c = clean.charAt(i);
+            repeated &= c == first;
+            singleWord &= c != ' ';
+        }
+        if (repeated) {
+            return RuleResult.deny(this, message.getMessage("rule.justificationRule.infoIII"));
         }
 
         // Só uma palavra muito curta -> genérico
-        if (clean.split(" ").length == 1 && clean.length() <= 10) {
-            throw new IllegalArgumentException(message.getMessage("rule.justificationRule.infoIII"));
+        if (singleWord && clean.length() <= 10) {
+            return RuleResult.deny(this, message.getMessage("rule.justificationRule.infoIII"));
         }
-    }
-
-    private String normalize(String text) {
-        return Normalizer.normalize(text, Normalizer.Form.NFD)
-                .replaceAll("[^\\p{ASCII}]", "")
-                .trim()
-                .toLowerCase();
+        return RuleResult.ok();
     }
 }
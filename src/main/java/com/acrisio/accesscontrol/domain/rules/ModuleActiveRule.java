@@ -2,24 +2,27 @@ package com.acrisio.accesscontrol.domain.rules;
 
 import com.acrisio.accesscontrol.api.dto.AccessRequestCreateDTO;
 import com.acrisio.accesscontrol.domain.model.Module;
-import com.acrisio.accesscontrol.domain.model.User;
 import com.acrisio.accesscontrol.infrastructure.util.InternationalizationUtil;
+import org.springframework.core.annotation.Order;
 import org.springframework.stereotype.Component;
 import lombok.RequiredArgsConstructor;
 import java.util.Set;
 
 @Component
+@Order(10)
 @RequiredArgsConstructor
 public class ModuleActiveRule implements AccessRequestRule {
     private final InternationalizationUtil message;
 
     @Override
-    public void validate(User user, Set<Module> requestedModules, AccessRequestCreateDTO dto) {
+    public RuleResult validate(UserPermissionSnapshot user, Set<Module> requestedModules, AccessRequestCreateDTO dto) {
+        RuleResult result = RuleResult.ok();
         for (Module module : requestedModules) {
             if (!module.getActive()) {
-                throw new IllegalArgumentException(message.getMessage("rule.moduleActiveRule.info") + " " + module.getName()
-                );
+                result = result.and(RuleResult.deny(this, module.getId(),
+                        message.getMessage("rule.moduleActiveRule.info") + " " + module.getName()));
             }
         }
+        return result;
     }
 }
@@ -2,35 +2,83 @@ package com.acrisio.accesscontrol.domain.rules;
 
 import com.acrisio.accesscontrol.api.dto.AccessRequestCreateDTO;
 import com.acrisio.accesscontrol.domain.model.Module;
-import com.acrisio.accesscontrol.domain.model.User;
+import com.acrisio.accesscontrol.infrastructure.catalog.ModuleCatalog;
+import com.acrisio.accesscontrol.infrastructure.catalog.ModuleCatalogSnapshot;
 import com.acrisio.accesscontrol.infrastructure.util.InternationalizationUtil;
+import org.springframework.core.annotation.Order;
 import org.springframework.stereotype.Component;
 import java.util.Set;
 import lombok.RequiredArgsConstructor;
 
 @Component
+@Order(70)
 @RequiredArgsConstructor
 public class ModuleCompatibilityRule implements AccessRequestRule {
 
     private final InternationalizationUtil message;
+    private final ModuleCatalog moduleCatalog;
 
     @Override
-    public void validate(User user, Set<Module> requestedModules, AccessRequestCreateDTO dto) {
+    public RuleResult validate(UserPermissionSnapshot user, Set<Module> requestedModules, AccessRequestCreateDTO dto) {
 
-        Set<Module> active = user.getActiveModules();
+        ModuleCatalogSnapshot catalog = moduleCatalog.snapshot();
+        Set<Long> active = user.activeModuleIds();
 
+        // Um bitset para os módulos ativos e outro para os solicitados; cada checagem é um AND por palavra
+        long[] activeBits = catalog.bitsOfIds(active);
+        long[] requestedBits = catalog.bitsOf(requestedModules);
+
+        RuleResult result = RuleResult.ok();
         for (Module requested : requestedModules) {
-            for (Module activeModule : active) {
-                boolean incompatible = requested.getIncompatibleModules()
-                        .stream()
-                        .anyMatch(m -> m.getId().equals(activeModule.getId()));
-                if (incompatible) {
-                    throw new IllegalArgumentException(
-                            message.getMessage("rule.moduleCompatibilityRule.infoI") + " " + requested.getName() +
-                                     message.getMessage("rule.moduleCompatibilityRule.infoII") + " " + activeModule.getName()
-                    );
+            int position = catalog.positionOf(requested.getId());
+            if (position == ModuleCatalogSnapshot.ABSENT) {
+                // Módulo ainda fora do catálogo: usa as incompatibilidades da própria entidade
+                result = result.and(validateFromEntity(requested, active, requestedModules));
+                continue;
+            }
+
+            int conflict = catalog.firstIncompatible(position, activeBits);
+            if (conflict != ModuleCatalogSnapshot.ABSENT) {
+                result = result.and(incompatibleWithActive(requested, catalog.nameAt(conflict)));
+                continue;
+            }
+
+            conflict = catalog.firstIncompatible(position, requestedBits);
+            if (conflict != ModuleCatalogSnapshot.ABSENT) {
+                result = result.and(incompatibleWithRequested(requested, catalog.nameAt(conflict)));
+            }
+        }
+        return result;
+    }
+
+    private RuleResult validateFromEntity(Module requested, Set<Long> active, Set<Module> requestedModules) {
+        if (requested.getIncompatibleModules() == null) {
+            return RuleResult.ok();
+        }
+        for (Module incompatible : requested.getIncompatibleModules()) {
+            if (active.contains(incompatible.getId())) {
+                return incompatibleWithActive(requested, incompatible.getName());
+            }
+            for (Module other : requestedModules) {
+                if (incompatible.getId().equals(other.getId())) {
+                    return incompatibleWithRequested(requested, other.getName());
                 }
             }
         }
+        return RuleResult.ok();
+    }
+
+    private RuleResult incompatibleWithActive(Module requested, String active) {
+        return RuleResult.deny(this, requested.getId(),
+                message.getMessage("rule.moduleCompatibilityRule.infoI") + " " + requested.getName() +
+                        message.getMessage("rule.moduleCompatibilityRule.infoII") + " " + active
+        );
+    }
+
+    private RuleResult incompatibleWithRequested(Module requested, String other) {
+        return RuleResult.deny(this, requested.getId(),
+                message.getMessage("rule.moduleCompatibilityRule.infoI") + " " + requested.getName() + " " +
+                        message.getMessage("rule.moduleCompatibilityRule.infoIII") + " " + other
+        );
     }
 }
@@ -3,31 +3,31 @@ package com.acrisio.accesscontrol.domain.rules;
 import com.acrisio.accesscontrol.api.dto.AccessRequestCreateDTO;
 import com.acrisio.accesscontrol.domain.enums.Department;
 import com.acrisio.accesscontrol.domain.model.Module;
-import com.acrisio.accesscontrol.domain.model.User;
 import com.acrisio.accesscontrol.infrastructure.util.InternationalizationUtil;
+import org.springframework.core.annotation.Order;
 import org.springframework.stereotype.Component;
 import lombok.RequiredArgsConstructor;
 
 import java.util.Set;
 @RequiredArgsConstructor
 @Component
+@Order(30)
 public class ModuleLimitRule implements AccessRequestRule {
     private final InternationalizationUtil message;
     @Override
-    public void validate(User user, Set<Module> requestedModules, AccessRequestCreateDTO dto) {
+    public RuleResult validate(UserPermissionSnapshot user, Set<Module> requestedModules, AccessRequestCreateDTO dto) {
 
-        int activeCount = user.getActiveAccesses() != null
-                ? user.getActiveAccesses().size()
-                : 0;
+        int activeCount = user.activeAccessCount();
 
-        int limit = (user.getDepartment() == Department.TI) ? 10 : 5;
+        int limit = (user.department() == Department.TI) ? 10 : 5;
 
         if (activeCount + requestedModules.size() > limit) {
-            throw new IllegalArgumentException(
-                   message.getMessage("rule.moduleLimitRule.info") + "  " + user.getDepartment()
+            return RuleResult.deny(this,
+                   message.getMessage("rule.moduleLimitRule.info") + "  " + user.department()
                             +  message.getMessage("rule.moduleLimitRule.infoII") + " " + limit + " " +
                            message.getMessage("rule.moduleCompatibilityRule.infoI")
                     );
         }
+        return RuleResult.ok();
     }
 }
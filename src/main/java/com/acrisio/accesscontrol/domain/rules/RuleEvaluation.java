@@ -0,0 +1,28 @@
+package com.acrisio.accesscontrol.domain.rules;
+
+import java.util.List;
+import java.util.stream.Collectors;
+
+/**
+ * Resultado da execução de todas as regras sobre uma solicitação.
+ */
+public record RuleEvaluation(List<RuleViolation> violations) {
+
+    // Tamanho da coluna tb_access_request_denied_reason
+    public static final int MAX_DENIED_REASON = 1000;
+
+    public boolean approved() {
+        return violations.isEmpty();
+    }
+
+    public String deniedReason() {
+        if (violations.isEmpty()) {
+            return null;
+        }
+        String reason = violations.stream()
+                .map(RuleViolation::message)
+                .distinct()
+                .collect(Collectors.joining("; "));
+        return reason.length() > MAX_DENIED_REASON ? reason.substring(0, MAX_DENIED_REASON) : reason;
+    }
+}
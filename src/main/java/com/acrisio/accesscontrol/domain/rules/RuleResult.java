@@ -0,0 +1,55 @@
+package com.acrisio.accesscontrol.domain.rules;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Resultado de uma AccessRequestRule.
+ * Aprovação é a instância compartilhada OK (sem alocação); só negações criam objetos,
+ * e nenhuma delas captura stack trace como a antiga IllegalArgumentException.
+ */
+public final class RuleResult {
+
+    private static final RuleResult OK = new RuleResult(List.of());
+
+    private final List<RuleViolation> violations;
+
+    private RuleResult(List<RuleViolation> violations) {
+        this.violations = violations;
+    }
+
+    public static RuleResult ok() {
+        return OK;
+    }
+
+    public static RuleResult deny(AccessRequestRule rule, String message) {
+        return deny(rule, null, message);
+    }
+
+    public static RuleResult deny(AccessRequestRule rule, Long moduleId, String message) {
+        return new RuleResult(List.of(new RuleViolation(rule.name(), moduleId, message)));
+    }
+
+    // Acumula violações de vários módulos avaliados pela mesma regra
+    public RuleResult and(RuleResult other) {
+        if (other.violations.isEmpty()) {
+            return this;
+        }
+        if (violations.isEmpty()) {
+            return other;
+        }
+        List<RuleViolation> merged = new ArrayList<>(violations.size() + other.violations.size());
+        merged.addAll(violations);
+        merged.addAll(other.violations);
+        return new RuleResult(Collections.unmodifiableList(merged));
+    }
+
+    public boolean isApproved() {
+        return violations.isEmpty();
+    }
+
+    public List<RuleViolation> violations() {
+        return violations;
+    }
+}
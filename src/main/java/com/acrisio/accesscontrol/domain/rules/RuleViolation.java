@@ -0,0 +1,8 @@
+package com.acrisio.accesscontrol.domain.rules;
+
+/**
+ * Violação registrada por uma regra. moduleId é nulo quando a regra
+ * se refere à solicitação como um todo (ex.: justificativa, limite).
+ */
+public record RuleViolation(String rule, Long moduleId, String message) {
+}
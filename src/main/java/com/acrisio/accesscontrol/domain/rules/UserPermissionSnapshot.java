@@ -0,0 +1,29 @@
+package com.acrisio.accesscontrol.domain.rules;
+
+import com.acrisio.accesscontrol.domain.enums.Department;
+
+import java.util.HashSet;
+import java.util.Set;
+
+/**
+ * Situação do usuário no momento da avaliação, montada uma única vez e
+ * compartilhada por todas as AccessRequestRule da mesma solicitação.
+ */
+public record UserPermissionSnapshot(
+        Long userId,
+        Department department,
+        Set<Long> activeModuleIds,
+        Set<Long> activeRequestedModuleIds,
+        int activeAccessCount
+) {
+
+    // Situação após a aprovação de novos módulos; usada no lote quando o mesmo usuário aparece mais de uma vez
+    public UserPermissionSnapshot withApproved(Set<Long> moduleIds) {
+        Set<Long> active = new HashSet<>(activeModuleIds);
+        active.addAll(moduleIds);
+        Set<Long> requested = new HashSet<>(activeRequestedModuleIds);
+        requested.addAll(moduleIds);
+        return new UserPermissionSnapshot(userId, department, Set.copyOf(active), Set.copyOf(requested),
+                activeAccessCount + moduleIds.size());
+    }
+}
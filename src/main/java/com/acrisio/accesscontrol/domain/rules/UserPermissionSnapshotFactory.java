@@ -0,0 +1,73 @@
+package com.acrisio.accesscontrol.domain.rules;
+
+import com.acrisio.accesscontrol.domain.enums.RequestStatus;
+import com.acrisio.accesscontrol.domain.model.User;
+import com.acrisio.accesscontrol.domain.repository.AccessRepositoy;
+import com.acrisio.accesscontrol.domain.repository.AccessRequestRepository;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+
+import java.time.OffsetDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+@Component
+@RequiredArgsConstructor
+public class UserPermissionSnapshotFactory {
+
+    private final AccessRequestRepository accessRequestRepository;
+    private final AccessRepositoy accessRepository;
+
+    public UserPermissionSnapshot create(User user) {
+        if (user.getId() == null) {
+            return build(user, List.of(), Set.of());
+        }
+
+        // Apenas ids: acessos vigentes filtrados no banco e módulos em solicitações ativas,
+        // sem carregar a lista de acessos (expirados inclusive) nem o histórico do usuário
+        List<Long> activeAccessModuleIds = accessRepository.findActiveModuleIdsByUserId(user.getId(), OffsetDateTime.now());
+        Set<Long> activeRequestedModuleIds =
+                Set.copyOf(accessRequestRepository.findModuleIdsByUserAndStatus(user.getId(), RequestStatus.ACTIVE));
+
+        return build(user, activeAccessModuleIds, activeRequestedModuleIds);
+    }
+
+    // Lote: uma consulta IN para os acessos vigentes e outra para os módulos solicitados de todos os usuários
+    public Map<Long, UserPermissionSnapshot> createAll(Collection<User> users) {
+        if (users.isEmpty()) {
+            return Map.of();
+        }
+        List<Long> userIds = users.stream().map(User::getId).toList();
+        Map<Long, List<Long>> accessesByUser = new HashMap<>();
+        for (Object[] row : accessRepository.findActiveModuleIdsByUserIds(userIds, OffsetDateTime.now())) {
+            accessesByUser.computeIfAbsent((Long) row[0], id -> new ArrayList<>()).add((Long) row[1]);
+        }
+        Map<Long, Set<Long>> requestedByUser = new HashMap<>();
+        for (Object[] row : accessRequestRepository.findUserModuleIdsByUsersAndStatus(userIds, RequestStatus.ACTIVE)) {
+            requestedByUser.computeIfAbsent((Long) row[0], id -> new HashSet<>()).add((Long) row[1]);
+        }
+
+        Map<Long, UserPermissionSnapshot> snapshots = new HashMap<>();
+        for (User user : users) {
+            snapshots.put(user.getId(), build(user,
+                    accessesByUser.getOrDefault(user.getId(), List.of()),
+                    Set.copyOf(requestedByUser.getOrDefault(user.getId(), Set.of()))));
+        }
+        return snapshots;
+    }
+
+    private UserPermissionSnapshot build(User user, List<Long> activeAccessModuleIds, Set<Long> activeRequestedModuleIds) {
+        return new UserPermissionSnapshot(
+                user.getId(),
+                user.getDepartment(),
+                Set.copyOf(activeAccessModuleIds),
+                activeRequestedModuleIds,
+                activeAccessModuleIds.size()
+        );
+    }
+}
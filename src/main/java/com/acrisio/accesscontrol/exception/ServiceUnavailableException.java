@@ -0,0 +1,16 @@
+package com.acrisio.accesscontrol.exception;
+
+
+import lombok.Getter;
+
+// Capacidade esgotada: o cliente deve tentar de novo após retryAfterSeconds (cabeçalho Retry-After)
+@Getter
+public class ServiceUnavailableException extends RuntimeException {
+
+    private final long retryAfterSeconds;
+
+    public ServiceUnavailableException(String message, long retryAfterSeconds) {
+        super(message);
+        this.retryAfterSeconds = retryAfterSeconds;
+    }
+}
@@ -0,0 +1,114 @@
+package com.acrisio.accesscontrol.infrastructure.catalog;
+
+import com.acrisio.accesscontrol.domain.repository.CatalogVersionRepository;
+import com.acrisio.accesscontrol.domain.repository.ModuleRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+/**
+ * Catálogo de módulos mantido em memória.
+ * A fotografia é carregada na primeira consulta e reconstruída por completo quando a versão
+ * em tb_catalog_version muda; a troca é atômica (referência volatile), então as regras nunca
+ * enxergam um catálogo parcialmente montado.
+ * O nó que altera um módulo incrementa a versão na mesma transação e recarrega após o commit;
+ * os demais nós verificam a versão a cada catalog.modules.pollMillis, de modo que todas as
+ * instâncias convergem em no máximo um intervalo (mais o tempo de uma recarga).
+ */
+@Slf4j
+@Component
+public class ModuleCatalog {
+
+    public static final String MODULES = "MODULES";
+
+    private final ModuleRepository moduleRepository;
+    private final CatalogVersionRepository versionRepository;
+    private final TransactionTemplate transaction;
+
+    private volatile ModuleCatalogSnapshot snapshot;
+
+    public ModuleCatalog(ModuleRepository moduleRepository,
+                         CatalogVersionRepository versionRepository,
+                         PlatformTransactionManager transactionManager) {
+        this.moduleRepository = moduleRepository;
+        this.versionRepository = versionRepository;
+        // Transação própria: a fotografia só contém dados confirmados, mesmo quando chamada
+        // de dentro da transação de outra operação
+        this.transaction = new TransactionTemplate(transactionManager);
+        this.transaction.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+        this.transaction.setReadOnly(true);
+    }
+
+    public ModuleCatalogSnapshot snapshot() {
+        ModuleCatalogSnapshot current = snapshot;
+        if (current == null) {
+            synchronized (this) {
+                current = snapshot;
+                if (current == null) {
+                    current = refresh();
+                }
+            }
+        }
+        return current;
+    }
+
+    // A versão é lida antes dos módulos: uma alteração concorrente só pode deixar a
+    // fotografia mais nova que a versão, o que causa no máximo uma recarga extra
+    public synchronized ModuleCatalogSnapshot refresh() {
+        ModuleCatalogSnapshot loaded = transaction.execute(status -> ModuleCatalogSnapshot.of(
+                versionRepository.findVersion(MODULES).orElse(0L),
+                moduleRepository.findAllForCatalog()));
+        snapshot = loaded;
+        log.debug("Module catalog version {} loaded with {} modules", loaded.version(), loaded.size());
+        return loaded;
+    }
+
+    // Chamado pelo ModuleService dentro da transação que alterou o módulo
+    public void moduleChanged() {
+        if (versionRepository.bump(MODULES) == 0) {
+            // Banco sem a linha semeada pela migração (H2 com ddl-auto)
+            versionRepository.create(MODULES);
+        }
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    refreshQuietly();
+                }
+            });
+        } else {
+            refreshQuietly();
+        }
+    }
+
+    // Uma leitura de uma linha por intervalo; recarrega somente quando outro nó alterou o catálogo
+    @Scheduled(fixedDelayString = "${catalog.modules.pollMillis:5000}")
+    public void poll() {
+        ModuleCatalogSnapshot current = snapshot;
+        if (current == null) {
+            return;
+        }
+        try {
+            Long version = transaction.execute(status -> versionRepository.findVersion(MODULES).orElse(0L));
+            if (version != null && version != current.version()) {
+                refresh();
+            }
+        } catch (RuntimeException ex) {
+            log.warn("Could not poll module catalog version", ex);
+        }
+    }
+
+    // Se a recarga falhar, a versão local continua antiga e a próxima verificação tenta de novo
+    private void refreshQuietly() {
+        try {
+            refresh();
+        } catch (RuntimeException ex) {
+            log.warn("Could not reload module catalog after change", ex);
+        }
+    }
+}
@@ -0,0 +1,53 @@
+package com.acrisio.accesscontrol.infrastructure.catalog;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.springframework.stereotype.Component;
+
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.HexFormat;
+
+/**
+ * Corpo de GET /modules já serializado.
+ * O JSON é gerado uma vez por fotografia do catálogo e o mesmo byte[] é entregue a todas
+ * as requisições até a próxima alteração. O ETag forte é o hash do conteúdo, portanto
+ * idêntico nas instâncias que tiverem o mesmo catálogo.
+ */
+@Component
+public class ModuleCatalogJson {
+
+    private final ModuleCatalog moduleCatalog;
+    private final ObjectMapper objectMapper;
+
+    private volatile Rendered rendered;
+
+    public ModuleCatalogJson(ModuleCatalog moduleCatalog, ObjectMapper objectMapper) {
+        this.moduleCatalog = moduleCatalog;
+        this.objectMapper = objectMapper;
+    }
+
+    public Rendered modules() {
+        ModuleCatalogSnapshot snapshot = moduleCatalog.snapshot();
+        Rendered current = rendered;
+        if (current == null || current.snapshot() != snapshot) {
+            current = render(snapshot);
+            rendered = current;
+        }
+        return current;
+    }
+
+    private Rendered render(ModuleCatalogSnapshot snapshot) {
+        try {
+            byte[] json = objectMapper.writeValueAsBytes(snapshot.dtos());
+            byte[] digest = MessageDigest.getInstance("SHA-256").digest(json);
+            return new Rendered(snapshot, json, "\"" + HexFormat.of().formatHex(digest, 0, 16) + "\"");
+        } catch (JsonProcessingException | NoSuchAlgorithmException ex) {
+            throw new IllegalStateException("Could not render module catalog", ex);
+        }
+    }
+
+    // json não deve ser alterado: é compartilhado entre as requisições
+    public record Rendered(ModuleCatalogSnapshot snapshot, byte[] json, String etag) {
+    }
+}
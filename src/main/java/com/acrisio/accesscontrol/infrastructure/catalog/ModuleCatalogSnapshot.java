@@ -0,0 +1,224 @@
+package com.acrisio.accesscontrol.infrastructure.catalog;
+
+import com.acrisio.accesscontrol.api.dto.ModuleDTO;
+import com.acrisio.accesscontrol.domain.enums.Department;
+import com.acrisio.accesscontrol.domain.model.Module;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+/**
+ * Fotografia imutável do catálogo de módulos.
+ * Cada módulo recebe uma posição densa (0..n-1); as permissões por departamento
+ * ficam em um bitset por departamento e as incompatibilidades em uma linha de bits
+ * por módulo, tornando cada verificação uma operação sobre long[] sem consultar o banco.
+ * Guarda também cópias desanexadas dos módulos (coleções imutáveis), usadas pelo
+ * AccessRequestService no lugar de buscar cada módulo solicitado, e os ModuleDTO já
+ * montados para GET /modules e para as respostas das solicitações.
+ * A versão é a de tb_catalog_version lida antes dos módulos.
+ */
+public final class ModuleCatalogSnapshot {
+
+    public static final int ABSENT = -1;
+
+    private static final Department[] DEPARTMENTS = Department.values();
+
+    private final long version;
+    private final Map<Long, Integer> positions;
+    private final String[] names;
+    private final Module[] modules;
+    private final ModuleDTO[] dtos;
+    private final List<ModuleDTO> dtosById;
+    private final long[][] departmentBits;
+    private final long[][] incompatibleBits;
+
+    private ModuleCatalogSnapshot(long version, Map<Long, Integer> positions, String[] names, Module[] modules,
+                                  long[][] departmentBits, long[][] incompatibleBits) {
+        this.version = version;
+        this.positions = positions;
+        this.names = names;
+        this.modules = modules;
+        this.dtos = Arrays.stream(modules).map(ModuleCatalogSnapshot::toDTO).toArray(ModuleDTO[]::new);
+        this.dtosById = Arrays.stream(dtos).sorted(Comparator.comparing(ModuleDTO::id)).toList();
+        this.departmentBits = departmentBits;
+        this.incompatibleBits = incompatibleBits;
+    }
+
+    public static ModuleCatalogSnapshot of(Collection<Module> modules) {
+        return of(0, modules);
+    }
+
+    public static ModuleCatalogSnapshot of(long version, Collection<Module> modules) {
+        Map<Long, Integer> positions = new HashMap<>();
+        for (Module module : modules) {
+            positions.putIfAbsent(module.getId(), positions.size());
+        }
+
+        int words = words(positions.size());
+        String[] names = new String[positions.size()];
+        Module[] copies = new Module[positions.size()];
+        long[][] departmentBits = new long[DEPARTMENTS.length][words];
+        long[][] incompatibleBits = new long[positions.size()][words];
+        for (Module module : modules) {
+            int position = positions.get(module.getId());
+            names[position] = module.getName();
+            copies[position] = detachedCopy(module);
+            if (module.getPermittedDepartments() != null) {
+                for (Department department : module.getPermittedDepartments()) {
+                    set(departmentBits[department.ordinal()], position);
+                }
+            }
+            if (module.getIncompatibleModules() != null) {
+                for (Module incompatible : module.getIncompatibleModules()) {
+                    Integer other = positions.get(incompatible.getId());
+                    if (other != null) {
+                        set(incompatibleBits[position], other);
+                    }
+                }
+            }
+        }
+        linkIncompatibilities(copies, incompatibleBits);
+        return new ModuleCatalogSnapshot(version, Map.copyOf(positions), names, copies, departmentBits, incompatibleBits);
+    }
+
+    public static ModuleCatalogSnapshot empty() {
+        return new ModuleCatalogSnapshot(0, Map.of(), new String[0], new Module[0],
+                new long[DEPARTMENTS.length][0], new long[0][0]);
+    }
+
+    public long version() {
+        return version;
+    }
+
+    public int size() {
+        return positions.size();
+    }
+
+    public int positionOf(Long moduleId) {
+        Integer position = moduleId == null ? null : positions.get(moduleId);
+        return position == null ? ABSENT : position;
+    }
+
+    public boolean contains(Long moduleId) {
+        return positionOf(moduleId) != ABSENT;
+    }
+
+    public String nameAt(int position) {
+        return names[position];
+    }
+
+    // Cópia somente leitura do módulo, ou null quando fora do catálogo
+    public Module moduleOf(Long moduleId) {
+        int position = positionOf(moduleId);
+        return position == ABSENT ? null : modules[position];
+    }
+
+    // DTO compartilhado entre as respostas, ou null quando fora do catálogo
+    public ModuleDTO dtoOf(Long moduleId) {
+        int position = positionOf(moduleId);
+        return position == ABSENT ? null : dtos[position];
+    }
+
+    // Todos os módulos ordenados por id (GET /modules)
+    public List<ModuleDTO> dtos() {
+        return dtosById;
+    }
+
+    public boolean isPermitted(Department department, int position) {
+        return (departmentBits[department.ordinal()][position >>> 6] & (1L << position)) != 0;
+    }
+
+    // Bitset com as posições dos módulos informados; módulos fora do catálogo são ignorados
+    public long[] bitsOf(Collection<Module> modules) {
+        long[] bits = new long[words(positions.size())];
+        for (Module module : modules) {
+            int position = positionOf(module.getId());
+            if (position != ABSENT) {
+                set(bits, position);
+            }
+        }
+        return bits;
+    }
+
+    public long[] bitsOfIds(Collection<Long> moduleIds) {
+        long[] bits = new long[words(positions.size())];
+        for (Long moduleId : moduleIds) {
+            int position = positionOf(moduleId);
+            if (position != ABSENT) {
+                set(bits, position);
+            }
+        }
+        return bits;
+    }
+
+    // Primeira posição de "modules" incompatível com o módulo da posição informada, ou ABSENT
+    public int firstIncompatible(int position, long[] modules) {
+        long[] row = incompatibleBits[position];
+        for (int word = 0; word < row.length; word++) {
+            long conflict = row[word] & modules[word];
+            if (conflict != 0) {
+                return (word << 6) + Long.numberOfTrailingZeros(conflict);
+            }
+        }
+        return ABSENT;
+    }
+
+    // Sem sessão nem PersistentSet: pode ser lida por várias threads e usada como referência em novas gravações
+    private static Module detachedCopy(Module module) {
+        return Module.builder()
+                .id(module.getId())
+                .name(module.getName())
+                .description(module.getDescription())
+                .active(module.getActive())
+                .permittedDepartments(module.getPermittedDepartments() == null
+                        ? Set.of() : Set.copyOf(module.getPermittedDepartments()))
+                .build();
+    }
+
+    private static void linkIncompatibilities(Module[] copies, long[][] incompatibleBits) {
+        for (int position = 0; position < copies.length; position++) {
+            List<Module> incompatible = new ArrayList<>();
+            long[] row = incompatibleBits[position];
+            for (int word = 0; word < row.length; word++) {
+                for (long bits = row[word]; bits != 0; bits &= bits - 1) {
+                    incompatible.add(copies[(word << 6) + Long.numberOfTrailingZeros(bits)]);
+                }
+            }
+            copies[position].setIncompatibleModules(Set.copyOf(incompatible));
+        }
+    }
+
+    // Conjuntos ordenados: o JSON (e o ETag de GET /modules) é o mesmo em todas as instâncias
+    private static ModuleDTO toDTO(Module m) {
+        return new ModuleDTO(
+                m.getId(),
+                m.getName(),
+                m.getDescription(),
+                m.getActive(),
+                sorted(m.getPermittedDepartments().stream().map(Enum::name)),
+                sorted(m.getIncompatibleModules().stream().map(Module::getName))
+        );
+    }
+
+    private static Set<String> sorted(Stream<String> values) {
+        return Collections.unmodifiableSortedSet(values.collect(Collectors.toCollection(TreeSet::new)));
+    }
+
+    private static void set(long[] bits, int position) {
+        bits[position >>> 6] |= 1L << position;
+    }
+
+    private static int words(int bits) {
+        return (bits + 63) >>> 6;
+    }
+}
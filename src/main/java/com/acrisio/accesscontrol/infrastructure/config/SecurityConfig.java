@@ -1,17 +1,21 @@
 package com.acrisio.accesscontrol.infrastructure.config;
 
 import com.acrisio.accesscontrol.infrastructure.security.JwtAuthenticationFilter;
+import com.acrisio.accesscontrol.infrastructure.security.TargetCostBCryptPasswordEncoder;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.security.authentication.AuthenticationManager;
 import org.springframework.security.config.annotation.authentication.configuration.AuthenticationConfiguration;
 import org.springframework.security.config.annotation.web.builders.HttpSecurity;
 import org.springframework.security.config.http.SessionCreationPolicy;
-import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+import org.springframework.security.crypto.password.DelegatingPasswordEncoder;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.security.web.SecurityFilterChain;
 import org.springframework.security.web.authentication.UsernamePasswordAuthenticationFilter;
 
+import java.util.Map;
+
 @Configuration
 public class SecurityConfig {
 
@@ -39,9 +43,14 @@ public class SecurityConfig {
         return http.build();
     }
 
+    // Novos hashes saem como {bcrypt}$2a$<custo>$...; hashes antigos sem prefixo continuam válidos
+    // e são regravados no próximo login, assim como os de custo diferente de bcryptStrength
     @Bean
-    public BCryptPasswordEncoder passwordEncoder() {
-        return new BCryptPasswordEncoder();
+    public PasswordEncoder passwordEncoder(@Value("${auth.password.bcryptStrength:10}") int strength) {
+        TargetCostBCryptPasswordEncoder bcrypt = new TargetCostBCryptPasswordEncoder(strength);
+        DelegatingPasswordEncoder encoder = new DelegatingPasswordEncoder("bcrypt", Map.of("bcrypt", bcrypt));
+        encoder.setDefaultPasswordEncoderForMatches(bcrypt);
+        return encoder;
     }
 
     @Bean
@@ -0,0 +1,240 @@
+package com.acrisio.accesscontrol.infrastructure.protocol;
+
+import com.acrisio.accesscontrol.domain.model.ProtocolFreeRange;
+import com.acrisio.accesscontrol.domain.model.ProtocolSequence;
+import com.acrisio.accesscontrol.domain.repository.ProtocolFreeRangeRepository;
+import com.acrisio.accesscontrol.domain.repository.ProtocolSequenceRepository;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.OffsetDateTime;
+import java.time.format.DateTimeFormatter;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.SortedSet;
+import java.util.TreeMap;
+import java.util.TreeSet;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Alocador de protocolos no formato SOL-yyyyMMdd-NNNN.
+ * Cada nó reserva blocos de números em tb_protocol_sequence (um round-trip por bloco)
+ * e os entrega a partir de um contador atômico em memória. Como a reserva é feita
+ * com um UPDATE incremental na linha do dia, dois nós nunca recebem o mesmo intervalo.
+ * <p>
+ * Números reservados e não usados não se perdem: a sobra do bloco (encerramento do nó ou
+ * virada do dia) vai para tb_protocol_free_range, que a reserva consome antes de incrementar
+ * o contador, e o número de uma transação que sofreu rollback volta para este nó e é o próximo
+ * a ser entregue. Consequências: a numeração não é crescente no tempo, e só se perdem números
+ * se o nó cair sem encerrar (a sobra em memória some) ou se a sobra for de um dia que já passou.
+ */
+@Slf4j
+@Component
+public class ProtocolAllocator {
+
+    private static final DateTimeFormatter DAY = DateTimeFormatter.ofPattern("yyyyMMdd");
+
+    private final ProtocolSequenceRepository repository;
+    private final ProtocolFreeRangeRepository freeRanges;
+    private final TransactionTemplate transaction;
+    private final int blockSize;
+
+    // Números devolvidos por rollback, entregues antes do bloco atual
+    private final ConcurrentLinkedQueue<Returned> returned = new ConcurrentLinkedQueue<>();
+
+    private volatile Block current;
+
+    public ProtocolAllocator(ProtocolSequenceRepository repository,
+                             ProtocolFreeRangeRepository freeRanges,
+                             PlatformTransactionManager transactionManager,
+                             @Value("${protocol.blockSize:50}") int blockSize) {
+        if (blockSize < 1) {
+            throw new IllegalArgumentException("protocol.blockSize must be positive");
+        }
+        this.repository = repository;
+        this.freeRanges = freeRanges;
+        this.blockSize = blockSize;
+        // A reserva roda em transação própria para liberar o lock da linha imediatamente
+        this.transaction = new TransactionTemplate(transactionManager);
+        this.transaction.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+    }
+
+    public String next() {
+        String today = OffsetDateTime.now().format(DAY);
+        int value = nextNumber(today);
+        returnOnRollback(today, List.of(value));
+        return format(today, value);
+    }
+
+    // Lote: reserva números exclusivos para os "count" itens em um único round-trip
+    public List<String> nextBatch(int count) {
+        if (count < 1) {
+            return List.of();
+        }
+        if (count == 1) {
+            return List.of(next());
+        }
+        String today = OffsetDateTime.now().format(DAY);
+        List<Integer> values = new ArrayList<>(count);
+        for (Range range : reserve(today, count, false)) {
+            for (int value = range.first(); value <= range.last(); value++) {
+                values.add(value);
+            }
+        }
+        returnOnRollback(today, values);
+        return values.stream().map(value -> format(today, value)).toList();
+    }
+
+    // Devolve a sobra do bloco atual e os números de rollback ao encerrar o nó
+    @PreDestroy
+    public synchronized void shutdown() {
+        Map<String, SortedSet<Integer>> unused = new TreeMap<>();
+        Block block = current;
+        current = null;
+        if (block != null) {
+            unused.put(block.date(), tail(block));
+        }
+        Returned number;
+        while ((number = returned.poll()) != null) {
+            unused.computeIfAbsent(number.date(), d -> new TreeSet<>()).add(number.value());
+        }
+        unused.forEach(this::release);
+    }
+
+    private int nextNumber(String today) {
+        Returned number;
+        while ((number = returned.poll()) != null) {
+            if (number.date().equals(today)) {
+                return number.value();
+            }
+            release(number.date(), new TreeSet<>(List.of(number.value())));
+        }
+        while (true) {
+            Block block = current;
+            if (block != null && block.date().equals(today)) {
+                int value = block.next().getAndIncrement();
+                if (value <= block.last()) {
+                    return value;
+                }
+            }
+            synchronized (this) {
+                if (current == block) {
+                    if (block != null && !block.date().equals(today)) {
+                        release(block.date(), tail(block));
+                    }
+                    Range range = reserve(today, blockSize, true).get(0);
+                    current = new Block(today, new AtomicInteger(range.first()), range.last());
+                }
+            }
+        }
+    }
+
+    // Se a transação do chamador sofrer rollback, os números voltam para este nó
+    private void returnOnRollback(String date, List<Integer> values) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCompletion(int status) {
+                if (status == STATUS_ROLLED_BACK) {
+                    values.forEach(value -> returned.add(new Returned(date, value)));
+                }
+            }
+        });
+    }
+
+    /**
+     * Consome primeiro os intervalos livres do dia; o contador só cresce pelo que faltar.
+     * Com singleRange (blocos do next()) basta um intervalo, mesmo que menor que "count".
+     */
+    private List<Range> reserve(String date, int count, boolean singleRange) {
+        List<Range> ranges = transaction.execute(status -> {
+            List<Range> reserved = new ArrayList<>();
+            int missing = count;
+            for (ProtocolFreeRange free : freeRanges.findTop10ByProtocolDateOrderByFirstNumber(date)) {
+                if (missing == 0 || (singleRange && !reserved.isEmpty())) {
+                    break;
+                }
+                if (freeRanges.claim(date, free.getFirstNumber()) == 0) {
+                    continue; // outro nó levou este intervalo
+                }
+                int first = free.getFirstNumber();
+                int last = Math.min(free.getLastNumber(), first + missing - 1);
+                if (last < free.getLastNumber()) {
+                    freeRanges.add(date, last + 1, free.getLastNumber());
+                }
+                reserved.add(new Range(first, last));
+                missing -= last - first + 1;
+            }
+            if (reserved.isEmpty() || (!singleRange && missing > 0)) {
+                int last = increment(date, missing);
+                reserved.add(new Range(last - missing + 1, last));
+            }
+            return reserved;
+        });
+        log.debug("Reserved protocol numbers {} {}", date, ranges);
+        return ranges;
+    }
+
+    private int increment(String date, int size) {
+        if (repository.reserve(date, size) == 0) {
+            repository.createIfAbsent(date);
+            repository.reserve(date, size);
+        }
+        return repository.findById(date)
+                .map(ProtocolSequence::getCounter)
+                .orElseThrow();
+    }
+
+    private static SortedSet<Integer> tail(Block block) {
+        SortedSet<Integer> unused = new TreeSet<>();
+        for (int value = block.next().getAndSet(block.last() + 1); value <= block.last(); value++) {
+            unused.add(value);
+        }
+        return unused;
+    }
+
+    private void release(String date, SortedSet<Integer> numbers) {
+        List<Range> ranges = new ArrayList<>();
+        for (int value : numbers) {
+            Range previous = ranges.isEmpty() ? null : ranges.get(ranges.size() - 1);
+            if (previous != null && previous.last() == value - 1) {
+                ranges.set(ranges.size() - 1, new Range(previous.first(), value));
+            } else {
+                ranges.add(new Range(value, value));
+            }
+        }
+        if (ranges.isEmpty()) {
+            return;
+        }
+        try {
+            transaction.executeWithoutResult(status ->
+                    ranges.forEach(range -> freeRanges.add(date, range.first(), range.last())));
+        } catch (RuntimeException ex) {
+            log.warn("Could not release protocol numbers {} {}", date, ranges, ex);
+        }
+    }
+
+    private static String format(String date, int value) {
+        return "SOL-" + date + "-" + String.format("%04d", value);
+    }
+
+    private record Block(String date, AtomicInteger next, int last) {
+    }
+
+    private record Range(int first, int last) {
+    }
+
+    private record Returned(String date, int value) {
+    }
+}
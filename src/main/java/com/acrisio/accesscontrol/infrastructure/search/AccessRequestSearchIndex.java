@@ -0,0 +1,94 @@
+package com.acrisio.accesscontrol.infrastructure.search;
+
+import com.acrisio.accesscontrol.domain.model.AccessRequest;
+import com.acrisio.accesscontrol.domain.repository.AccessRequestRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.jdbc.core.ConnectionCallback;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.List;
+
+/**
+ * Manutenção da coluna tb_access_request_search_text usada por filter.search.
+ * Na subida: cria o índice trigram (pg_trgm) quando o banco é Postgres e preenche as
+ * linhas antigas sem texto de busca. Em operação: recalcula as solicitações de um módulo
+ * renomeado. Inserções e cancelamentos são mantidos pela própria entidade.
+ */
+@Slf4j
+@Component
+public class AccessRequestSearchIndex {
+
+    private static final int BATCH = 500;
+
+    private final AccessRequestRepository accessRequestRepository;
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transaction;
+
+    public AccessRequestSearchIndex(AccessRequestRepository accessRequestRepository,
+                                    JdbcTemplate jdbcTemplate,
+                                    PlatformTransactionManager transactionManager) {
+        this.accessRequestRepository = accessRequestRepository;
+        this.jdbcTemplate = jdbcTemplate;
+        this.transaction = new TransactionTemplate(transactionManager);
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void initialize() {
+        if (isPostgres()) {
+            createTrigramIndex();
+        }
+        int filled = backfill();
+        if (filled > 0) {
+            log.info("Search text filled for {} access requests", filled);
+        }
+    }
+
+    // Chamado dentro da transação que renomeou o módulo
+    public void refreshForModule(Long moduleId) {
+        refresh(accessRequestRepository.findIdsByModuleId(moduleId));
+    }
+
+    int backfill() {
+        int total = 0;
+        while (true) {
+            Integer filled = transaction.execute(status -> {
+                List<Long> ids = accessRequestRepository.findIdsWithoutSearchText(PageRequest.of(0, BATCH));
+                refresh(ids);
+                return ids.size();
+            });
+            total += filled;
+            if (filled < BATCH) {
+                return total;
+            }
+        }
+    }
+
+    private void refresh(List<Long> ids) {
+        for (int from = 0; from < ids.size(); from += BATCH) {
+            List<Long> chunk = ids.subList(from, Math.min(from + BATCH, ids.size()));
+            accessRequestRepository.findAllWithModulesByIdIn(chunk).forEach(AccessRequest::refreshSearchText);
+        }
+    }
+
+    private boolean isPostgres() {
+        String product = jdbcTemplate.execute((ConnectionCallback<String>) c -> c.getMetaData().getDatabaseProductName());
+        return "PostgreSQL".equalsIgnoreCase(product);
+    }
+
+    // Sem a extensão (falta de permissão), a busca continua correta, apenas sem índice
+    private void createTrigramIndex() {
+        try {
+            jdbcTemplate.execute("create extension if not exists pg_trgm");
+            jdbcTemplate.execute("create index if not exists idx_access_request_search_trgm "
+                    + "on tb_access_request using gin (tb_access_request_search_text gin_trgm_ops)");
+        } catch (RuntimeException ex) {
+            log.warn("Could not create trigram index for access request search", ex);
+        }
+    }
+}
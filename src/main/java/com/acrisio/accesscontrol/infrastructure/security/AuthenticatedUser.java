@@ -0,0 +1,19 @@
+package com.acrisio.accesscontrol.infrastructure.security;
+
+import com.acrisio.accesscontrol.domain.enums.Department;
+
+import java.security.Principal;
+
+/**
+ * Usuário autenticado da requisição, montado pelo JwtAuthenticationFilter a partir das
+ * claims já verificadas do token (sem consultar tb_user). Fica no SecurityContext durante
+ * a requisição e é obtido por CurrentUserProvider em controllers e serviços.
+ */
+public record AuthenticatedUser(Long id, String email, Department department) implements Principal {
+
+    // Authentication.getName() continua sendo o e-mail
+    @Override
+    public String getName() {
+        return email;
+    }
+}
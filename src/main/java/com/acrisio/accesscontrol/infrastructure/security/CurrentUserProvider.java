@@ -1,23 +1,18 @@
 package com.acrisio.accesscontrol.infrastructure.security;
 
-import com.acrisio.accesscontrol.domain.model.User;
-import com.acrisio.accesscontrol.domain.repository.UserRepository;
 import org.springframework.security.core.Authentication;
 import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.stereotype.Component;
 
+// Usuário da requisição corrente, vindo das claims do token (sem consulta ao banco)
 @Component
 public class CurrentUserProvider {
 
-    private final UserRepository userRepository;
-
-    public CurrentUserProvider(UserRepository userRepository) {
-        this.userRepository = userRepository;
-    }
-
-    public User get() {
+    public AuthenticatedUser get() {
         Authentication auth = SecurityContextHolder.getContext().getAuthentication();
-        if (auth == null || auth.getName() == null) throw new IllegalStateException("Usuário não autenticado");
-        return userRepository.findByEmail(auth.getName()).orElseThrow(() -> new IllegalStateException("Usuário não encontrado"));
+        if (auth == null || !(auth.getPrincipal() instanceof AuthenticatedUser user)) {
+            throw new IllegalStateException("Usuário não autenticado");
+        }
+        return user;
     }
-}
\ No newline at end of file
+}
@@ -1,29 +1,34 @@
 package com.acrisio.accesscontrol.infrastructure.security;
 
+import com.acrisio.accesscontrol.domain.repository.UserRepository;
 import io.jsonwebtoken.Claims;
 import jakarta.servlet.FilterChain;
 import jakarta.servlet.ServletException;
 import jakarta.servlet.http.HttpServletRequest;
 import jakarta.servlet.http.HttpServletResponse;
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
 import org.springframework.security.core.context.SecurityContextHolder;
-import org.springframework.security.core.userdetails.UserDetails;
-import org.springframework.security.core.userdetails.UserDetailsService;
 import org.springframework.security.web.authentication.WebAuthenticationDetailsSource;
 import org.springframework.stereotype.Component;
 import org.springframework.web.filter.OncePerRequestFilter;
 
 import java.io.IOException;
+import java.util.List;
 
 @Component
 public class JwtAuthenticationFilter extends OncePerRequestFilter {
 
+    private static final List<SimpleGrantedAuthority> AUTHORITIES = List.of(new SimpleGrantedAuthority("ROLE_USER"));
+
     private final JwtTokenProvider tokenProvider;
-    private final UserDetailsService userDetailsService;
+    private final UserRepository userRepository;
+    private final TokenRevocationList revocationList;
 
-    public JwtAuthenticationFilter(JwtTokenProvider tokenProvider, UserDetailsService userDetailsService) {
+    public JwtAuthenticationFilter(JwtTokenProvider tokenProvider, UserRepository userRepository, TokenRevocationList revocationList) {
         this.tokenProvider = tokenProvider;
-        this.userDetailsService = userDetailsService;
+        this.userRepository = userRepository;
+        this.revocationList = revocationList;
     }
 
     @Override
@@ -33,13 +38,23 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
             String token = header.substring(7);
             try {
                 Claims claims = tokenProvider.parseClaims(token);
-                String email = claims.get("email", String.class);
-                UserDetails details = userDetailsService.loadUserByUsername(email);
-                UsernamePasswordAuthenticationToken auth = new UsernamePasswordAuthenticationToken(details, null, details.getAuthorities());
+                if (revocationList.isRevoked(claims.getId())) {
+                    // Token revogado (logout): segue sem autenticação e o endpoint protegido responde 401
+                    filterChain.doFilter(request, response);
+                    return;
+                }
+                AuthenticatedUser principal = tokenProvider.toPrincipal(claims);
+                if (principal == null) {
+                    // Token anterior à claim "department": uma consulta até o usuário fazer login de novo
+                    principal = userRepository.findByEmail(claims.get("email", String.class))
+                            .map(u -> new AuthenticatedUser(u.getId(), u.getEmail(), u.getDepartment()))
+                            .orElseThrow();
+                }
+                UsernamePasswordAuthenticationToken auth = new UsernamePasswordAuthenticationToken(principal, null, AUTHORITIES);
                 auth.setDetails(new WebAuthenticationDetailsSource().buildDetails(request));
                 SecurityContextHolder.getContext().setAuthentication(auth);
             } catch (Exception ignored) {}
         }
         filterChain.doFilter(request, response);
     }
-}
\ No newline at end of file
+}
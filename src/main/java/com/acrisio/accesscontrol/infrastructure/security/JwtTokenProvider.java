@@ -1,48 +1,69 @@
 package com.acrisio.accesscontrol.infrastructure.security;
 
+import com.acrisio.accesscontrol.domain.enums.Department;
 import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.JwtParser;
 import io.jsonwebtoken.Jwts;
 import io.jsonwebtoken.SignatureAlgorithm;
 import io.jsonwebtoken.security.Keys;
+import io.micrometer.core.instrument.MeterRegistry;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Component;
 
 import javax.crypto.SecretKey;
 import java.time.OffsetDateTime;
 import java.util.Date;
+import java.util.UUID;
 
 @Component
 public class JwtTokenProvider {
 
     private final SecretKey key;
     private final long expirationMillis;
+    // Imutável e thread-safe: montado uma vez em vez de a cada requisição
+    private final JwtParser parser;
+    private final VerifiedClaimsCache claimsCache;
 
     public JwtTokenProvider(
             @Value("${jwt.secret:dev-secret}") String secret,
-            @Value("${jwt.expirationMillis:7200000}") long expirationMillis
+            @Value("${jwt.expirationMillis:7200000}") long expirationMillis,
+            @Value("${jwt.cache.maxEntries:10000}") int cacheEntries,
+            MeterRegistry meterRegistry
     ) {
         this.key = Keys.hmacShaKeyFor(secret.getBytes());
         this.expirationMillis = expirationMillis;
+        this.parser = Jwts.parser().verifyWith(key).build();
+        this.claimsCache = new VerifiedClaimsCache(cacheEntries, meterRegistry, System::currentTimeMillis);
     }
 
-    public String generateToken(Long userId, String email) {
+    // jti identifica o token para revogação (logout); o departamento vai no token para que a requisição autenticada não precise consultar o usuário
+    public String generateToken(Long userId, String email, Department department) {
         Date now = new Date();
         Date exp = new Date(now.getTime() + expirationMillis);
         return Jwts.builder()
+                .id(UUID.randomUUID().toString())
                 .subject(String.valueOf(userId))
                 .claim("email", email)
+                .claim("department", department.name())
                 .issuedAt(now)
                 .expiration(exp)
                 .signWith(key, SignatureAlgorithm.HS256)
                 .compact();
     }
 
+    // O mesmo token é reapresentado a cada requisição da UI: assinatura e JSON são verificados uma vez até o exp
     public Claims parseClaims(String token) {
-        return Jwts.parser()
-                .verifyWith(key)
-                .build()
-                .parseSignedClaims(token)
-                .getPayload();
+        return claimsCache.get(token, t -> parser.parseSignedClaims(t).getPayload());
+    }
+
+    // Principal a partir das claims verificadas; null para tokens emitidos antes da claim "department"
+    public AuthenticatedUser toPrincipal(Claims claims) {
+        String department = claims.get("department", String.class);
+        if (department == null || claims.getSubject() == null) {
+            return null;
+        }
+        return new AuthenticatedUser(Long.valueOf(claims.getSubject()), claims.get("email", String.class),
+                Department.valueOf(department));
     }
 
     public OffsetDateTime expirationFromNow() {
@@ -0,0 +1,121 @@
+package com.acrisio.accesscontrol.infrastructure.security;
+
+import com.acrisio.accesscontrol.exception.ServiceUnavailableException;
+import com.acrisio.accesscontrol.infrastructure.util.InternationalizationUtil;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.stereotype.Component;
+
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Verificação de senha (BCrypt) fora do pool do Tomcat, em um executor de tamanho fixo com fila limitada.
+ * Em uma rajada de logins, no máximo auth.password.threads verificações rodam ao mesmo tempo e até
+ * auth.password.queue esperam; as demais falham na hora com 503 + Retry-After, de modo que os
+ * workers do Tomcat presos em login ficam limitados a threads + fila e o resto da API segue atendendo.
+ * Métricas: auth.password.verify (espera na fila + hash, com percentis), auth.password.queue,
+ * auth.password.active, auth.password.rejected e auth.password.rehashed.
+ */
+@Slf4j
+@Component
+public class PasswordVerifier {
+
+    private final PasswordEncoder passwordEncoder;
+    private final InternationalizationUtil message;
+    private final ThreadPoolExecutor executor;
+    private final long retryAfterSeconds;
+    private final Timer latency;
+    private final Counter rejected;
+    private final Counter rehashed;
+
+    public PasswordVerifier(PasswordEncoder passwordEncoder,
+                            InternationalizationUtil message,
+                            @Value("${auth.password.threads:0}") int threads,
+                            @Value("${auth.password.queue:64}") int queueCapacity,
+                            @Value("${auth.password.retryAfterSeconds:1}") long retryAfterSeconds,
+                            MeterRegistry meterRegistry) {
+        this.passwordEncoder = passwordEncoder;
+        this.message = message;
+        this.retryAfterSeconds = retryAfterSeconds;
+
+        // BCrypt é CPU puro: por padrão, uma thread por núcleo
+        int poolSize = threads > 0 ? threads : Runtime.getRuntime().availableProcessors();
+        AtomicInteger sequence = new AtomicInteger();
+        this.executor = new ThreadPoolExecutor(poolSize, poolSize, 0L, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(queueCapacity),
+                runnable -> {
+                    Thread thread = new Thread(runnable, "password-verify-" + sequence.incrementAndGet());
+                    thread.setDaemon(true);
+                    return thread;
+                },
+                new ThreadPoolExecutor.AbortPolicy());
+
+        this.latency = Timer.builder("auth.password.verify")
+                .publishPercentiles(0.5, 0.95, 0.99)
+                .register(meterRegistry);
+        this.rejected = Counter.builder("auth.password.rejected").register(meterRegistry);
+        this.rehashed = Counter.builder("auth.password.rehashed").register(meterRegistry);
+        meterRegistry.gauge("auth.password.queue", executor, e -> e.getQueue().size());
+        meterRegistry.gauge("auth.password.active", executor, ThreadPoolExecutor::getActiveCount);
+    }
+
+    public boolean matches(String rawPassword, String encodedPassword) {
+        long start = System.nanoTime();
+        Future<Boolean> result;
+        try {
+            result = executor.submit(() -> passwordEncoder.matches(rawPassword, encodedPassword));
+        } catch (RejectedExecutionException ex) {
+            rejected.increment();
+            log.warn("Password verification rejected: {} running, {} queued", executor.getActiveCount(), executor.getQueue().size());
+            throw new ServiceUnavailableException(message.getMessage("Auth.busy"), retryAfterSeconds);
+        }
+        try {
+            return result.get();
+        } catch (InterruptedException ex) {
+            result.cancel(true);
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Password verification interrupted", ex);
+        } catch (ExecutionException ex) {
+            throw ex.getCause() instanceof RuntimeException runtime ? runtime : new IllegalStateException(ex.getCause());
+        } finally {
+            latency.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+        }
+    }
+
+    // Novo hash no custo/formato atual, ou null se o gravado já está em dia.
+    // Chamado só após a senha conferir; sem vaga no executor, a atualização fica para o próximo login.
+    public String rehash(String rawPassword, String encodedPassword) {
+        if (!passwordEncoder.upgradeEncoding(encodedPassword)) {
+            return null;
+        }
+        try {
+            String upgraded = executor.submit(() -> passwordEncoder.encode(rawPassword)).get();
+            rehashed.increment();
+            return upgraded;
+        } catch (RejectedExecutionException ex) {
+            return null;
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+            return null;
+        } catch (ExecutionException ex) {
+            log.warn("Could not rehash password", ex.getCause());
+            return null;
+        }
+    }
+
+    @PreDestroy
+    void shutdown() {
+        executor.shutdownNow();
+    }
+}
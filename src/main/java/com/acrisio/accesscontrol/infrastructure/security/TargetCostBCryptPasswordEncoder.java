@@ -0,0 +1,43 @@
+package com.acrisio.accesscontrol.infrastructure.security;
+
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * BCrypt com custo alvo: qualquer hash com custo diferente do alvo (maior ou menor) pede atualização,
+ * de modo que o operador pode subir ou baixar auth.password.bcryptStrength e os hashes convergem
+ * no próximo login de cada usuário, sem reset em massa.
+ */
+public class TargetCostBCryptPasswordEncoder extends BCryptPasswordEncoder {
+
+    private static final Pattern HASH = Pattern.compile("^\\$2[aby]?\\$(\\d\\d)\\$[./0-9A-Za-z]{53}$");
+
+    private final int strength;
+
+    public TargetCostBCryptPasswordEncoder(int strength) {
+        super(strength);
+        this.strength = strength;
+    }
+
+    // O BCryptPasswordEncoder só atualiza hashes mais fracos que o alvo
+    @Override
+    public boolean upgradeEncoding(String encodedPassword) {
+        int cost = costOf(encodedPassword);
+        return cost > 0 && cost != strength;
+    }
+
+    public int strength() {
+        return strength;
+    }
+
+    // Custo gravado no hash ($2a$10$...); 0 quando não é um hash BCrypt
+    public static int costOf(String encodedPassword) {
+        if (encodedPassword == null) {
+            return 0;
+        }
+        Matcher matcher = HASH.matcher(encodedPassword);
+        return matcher.matches() ? Integer.parseInt(matcher.group(1)) : 0;
+    }
+}
@@ -0,0 +1,160 @@
+package com.acrisio.accesscontrol.infrastructure.security;
+
+import com.acrisio.accesscontrol.domain.model.RevokedToken;
+import com.acrisio.accesscontrol.domain.repository.RevokedTokenRepository;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.time.OffsetDateTime;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Tokens revogados antes do exp (jti), mantidos em memória em cada nó.
+ * A consulta por requisição passa primeiro por um filtro de Bloom: no caso comum (token não revogado)
+ * custa alguns hashes e nenhuma consulta ao banco; um positivo é confirmado no mapa exato.
+ * As revogações são gravadas em tb_revoked_token e os demais nós leem as novas linhas a cada
+ * auth.revocation.pollMillis pela data de revogação, com uma sobreposição (auth.revocation.overlapMillis)
+ * que cobre transações ainda não confirmadas e diferença de relógio entre os nós.
+ * Entradas cujo exp já passou saem da memória na verificação seguinte (o filtro é recriado sem elas)
+ * e do banco a cada auth.revocation.purgeMillis.
+ */
+@Slf4j
+@Component
+public class TokenRevocationList {
+
+    private static final double FALSE_POSITIVE_RATE = 0.01;
+
+    private final RevokedTokenRepository repository;
+    private final TransactionTemplate readTransaction;
+    private final TransactionTemplate writeTransaction;
+    private final int expectedEntries;
+    private final Duration overlap;
+
+    // jti -> exp (epoch millis)
+    private final Map<String, Long> revoked = new ConcurrentHashMap<>();
+    private volatile BloomFilter filter;
+    private volatile OffsetDateTime watermark;
+    // Quantidade para a qual o filtro atual foi dimensionado (alterada só sob o lock)
+    private int capacity;
+
+    public TokenRevocationList(RevokedTokenRepository repository,
+                               PlatformTransactionManager transactionManager,
+                               MeterRegistry meterRegistry,
+                               @Value("${auth.revocation.expectedEntries:10000}") int expectedEntries,
+                               @Value("${auth.revocation.overlapMillis:30000}") long overlapMillis) {
+        this.repository = repository;
+        this.readTransaction = new TransactionTemplate(transactionManager);
+        this.readTransaction.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+        this.readTransaction.setReadOnly(true);
+        this.writeTransaction = new TransactionTemplate(transactionManager);
+        this.writeTransaction.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+        this.expectedEntries = expectedEntries;
+        this.overlap = Duration.ofMillis(overlapMillis);
+        meterRegistry.gauge("auth.revocation.size", revoked, Map::size);
+    }
+
+    // Chamado pelo filtro JWT em toda requisição autenticada; tokens sem jti não são revogáveis
+    public boolean isRevoked(String jti) {
+        if (jti == null) {
+            return false;
+        }
+        BloomFilter current = filter;
+        if (current == null) {
+            current = load();
+        }
+        return current.mightContain(jti) && revoked.containsKey(jti);
+    }
+
+    public void revoke(String jti, OffsetDateTime expiresAt) {
+        writeTransaction.executeWithoutResult(status ->
+                repository.save(new RevokedToken(jti, expiresAt, OffsetDateTime.now())));
+        if (filter == null) {
+            load();
+        }
+        remember(jti, expiresAt.toInstant().toEpochMilli());
+    }
+
+    // Uma consulta indexada por intervalo com as revogações novas de qualquer nó
+    @Scheduled(fixedDelayString = "${auth.revocation.pollMillis:5000}")
+    public void poll() {
+        OffsetDateTime since = watermark;
+        if (since == null) {
+            return;
+        }
+        try {
+            OffsetDateTime now = OffsetDateTime.now();
+            List<RevokedToken> rows = readTransaction.execute(status ->
+                    repository.findRevokedSince(since.minus(overlap), now));
+            for (RevokedToken row : rows) {
+                remember(row.getJti(), row.getExpiresAt().toInstant().toEpochMilli());
+            }
+            watermark = now;
+            prune(now.toInstant().toEpochMilli());
+        } catch (RuntimeException ex) {
+            log.warn("Could not poll revoked tokens", ex);
+        }
+    }
+
+    @Scheduled(fixedDelayString = "${auth.revocation.purgeMillis:600000}")
+    public void purgeExpired() {
+        try {
+            Integer deleted = writeTransaction.execute(status -> repository.deleteExpired(OffsetDateTime.now()));
+            log.debug("Purged {} expired revoked tokens", deleted);
+        } catch (RuntimeException ex) {
+            log.warn("Could not purge expired revoked tokens", ex);
+        }
+    }
+
+    public int size() {
+        return revoked.size();
+    }
+
+    private synchronized BloomFilter load() {
+        if (filter != null) {
+            return filter;
+        }
+        OffsetDateTime now = OffsetDateTime.now();
+        List<RevokedToken> rows = readTransaction.execute(status -> repository.findByExpiresAtAfter(now));
+        for (RevokedToken row : rows) {
+            revoked.put(row.getJti(), row.getExpiresAt().toInstant().toEpochMilli());
+        }
+        watermark = now;
+        rebuild();
+        log.debug("Loaded {} revoked tokens", revoked.size());
+        return filter;
+    }
+
+    // Sincronizado com rebuild: uma revogação nunca fica fora do filtro que está sendo trocado
+    private synchronized void remember(String jti, long expiresAtMillis) {
+        if (revoked.put(jti, expiresAtMillis) == null) {
+            if (revoked.size() > capacity) {
+                rebuild();
+            } else {
+                filter.add(jti);
+            }
+        }
+    }
+
+    private synchronized void prune(long nowMillis) {
+        if (revoked.values().removeIf(exp -> exp <= nowMillis)) {
+            rebuild();
+        }
+    }
+
+    // Filtros de Bloom não removem elementos: recria do mapa exato, com folga para crescer
+    private void rebuild() {
+        capacity = Math.max(expectedEntries, revoked.size() * 2);
+        BloomFilter rebuilt = new BloomFilter(capacity, FALSE_POSITIVE_RATE);
+        revoked.keySet().forEach(rebuilt::add);
+        filter = rebuilt;
+    }
+}
@@ -0,0 +1,84 @@
+package com.acrisio.accesscontrol.infrastructure.security;
+
+import io.jsonwebtoken.Claims;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.HexFormat;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Function;
+import java.util.function.LongSupplier;
+
+/**
+ * Claims já verificadas, indexadas pelo SHA-256 do token (o token em si não fica em memória).
+ * Cada entrada vale até o exp do token; ao atingir o limite, as expiradas são descartadas e,
+ * se ainda não houver espaço, o token é verificado normalmente sem ser guardado.
+ * Métricas: jwt.claims.cache{result=hit|miss} e jwt.claims.cache.size.
+ */
+public class VerifiedClaimsCache {
+
+    private record Entry(Claims claims, long expiresAtMillis) {}
+
+    private final Map<String, Entry> entries = new ConcurrentHashMap<>();
+    private final int maxEntries;
+    private final LongSupplier clock;
+    private final Counter hits;
+    private final Counter misses;
+
+    public VerifiedClaimsCache(int maxEntries, MeterRegistry registry, LongSupplier clock) {
+        this.maxEntries = maxEntries;
+        this.clock = clock;
+        this.hits = Counter.builder("jwt.claims.cache").tag("result", "hit").register(registry);
+        this.misses = Counter.builder("jwt.claims.cache").tag("result", "miss").register(registry);
+        registry.gauge("jwt.claims.cache.size", entries, Map::size);
+    }
+
+    // verifier só é chamado na falta; exceções de verificação (assinatura, expiração) propagam sem cachear
+    public Claims get(String token, Function<String, Claims> verifier) {
+        String key = digest(token);
+        long now = clock.getAsLong();
+
+        Entry entry = entries.get(key);
+        if (entry != null) {
+            if (entry.expiresAtMillis() > now) {
+                hits.increment();
+                return entry.claims();
+            }
+            entries.remove(key, entry);
+        }
+
+        misses.increment();
+        Claims claims = verifier.apply(token);
+        if (claims.getExpiration() != null && maxEntries > 0) {
+            put(key, new Entry(claims, claims.getExpiration().getTime()), now);
+        }
+        return claims;
+    }
+
+    public int size() {
+        return entries.size();
+    }
+
+    private void put(String key, Entry entry, long now) {
+        if (entries.size() >= maxEntries) {
+            entries.values().removeIf(e -> e.expiresAtMillis() <= now);
+            if (entries.size() >= maxEntries) {
+                return;
+            }
+        }
+        entries.put(key, entry);
+    }
+
+    private static String digest(String token) {
+        try {
+            MessageDigest sha = MessageDigest.getInstance("SHA-256");
+            return HexFormat.of().formatHex(sha.digest(token.getBytes(StandardCharsets.UTF_8)));
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+}
@@ -0,0 +1,121 @@
+package com.acrisio.accesscontrol.infrastructure.text;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.List;
+import java.util.Queue;
+
+/**
+ * Autômato Aho-Corasick imutável sobre o alfabeto ASCII.
+ * As transições de falha são resolvidas na construção (tabela densa de 128 colunas),
+ * então a busca percorre o texto uma única vez, com uma leitura de tabela por caractere,
+ * independentemente da quantidade de padrões.
+ */
+public final class AhoCorasickMatcher {
+
+    private static final int ALPHABET = 128;
+    private static final int ROOT = 0;
+
+    private final int[][] transitions;
+    private final boolean[] terminal;
+    private final int patterns;
+
+    private AhoCorasickMatcher(int[][] transitions, boolean[] terminal, int patterns) {
+        this.transitions = transitions;
+        this.terminal = terminal;
+        this.patterns = patterns;
+    }
+
+    // Padrões vazios ou com caracteres fora do ASCII são ignorados
+    public static AhoCorasickMatcher of(Collection<String> words) {
+        List<int[]> trie = new ArrayList<>();
+        List<Boolean> ends = new ArrayList<>();
+        trie.add(newState());
+        ends.add(false);
+
+        int patterns = 0;
+        for (String word : words) {
+            if (word == null || word.isEmpty() || !isAscii(word)) {
+                continue;
+            }
+            int state = ROOT;
+            for (int i = 0; i < word.length(); i++) {
+                char c = word.charAt(i);
+                if (trie.get(state)[c] < 0) {
+                    trie.get(state)[c] = trie.size();
+                    trie.add(newState());
+                    ends.add(false);
+                }
+                state = trie.get(state)[c];
+            }
+            ends.set(state, true);
+            patterns++;
+        }
+
+        int[][] transitions = trie.toArray(new int[0][]);
+        boolean[] terminal = new boolean[transitions.length];
+        for (int i = 0; i < terminal.length; i++) {
+            terminal[i] = ends.get(i);
+        }
+
+        // BFS: completa as transições ausentes com as do estado de falha
+        int[] failure = new int[transitions.length];
+        Queue<Integer> queue = new ArrayDeque<>();
+        for (int c = 0; c < ALPHABET; c++) {
+            int child = transitions[ROOT][c];
+            if (child < 0) {
+                transitions[ROOT][c] = ROOT;
+            } else {
+                failure[child] = ROOT;
+                queue.add(child);
+            }
+        }
+        while (!queue.isEmpty()) {
+            int state = queue.poll();
+            terminal[state] |= terminal[failure[state]];
+            for (int c = 0; c < ALPHABET; c++) {
+                int child = transitions[state][c];
+                if (child < 0) {
+                    transitions[state][c] = transitions[failure[state]][c];
+                } else {
+                    failure[child] = transitions[failure[state]][c];
+                    queue.add(child);
+                }
+            }
+        }
+        return new AhoCorasickMatcher(transitions, terminal, patterns);
+    }
+
+    public boolean containsAny(CharSequence text) {
+        int state = ROOT;
+        for (int i = 0; i < text.length(); i++) {
+            char c = text.charAt(i);
+            state = c < ALPHABET ? transitions[state][c] : ROOT;
+            if (terminal[state]) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    public int size() {
+        return patterns;
+    }
+
+    private static int[] newState() {
+        int[] state = new int[ALPHABET];
+        Arrays.fill(state, -1);
+        return state;
+    }
+
+    private static boolean isAscii(String word) {
+        for (int i = 0; i < word.length(); i++) {
+            if (word.charAt(i) >= ALPHABET) {
+                return false;
+            }
+        }
+        return true;
+    }
+}
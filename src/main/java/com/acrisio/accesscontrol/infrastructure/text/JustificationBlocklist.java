@@ -0,0 +1,84 @@
+package com.acrisio.accesscontrol.infrastructure.text;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Collection;
+import java.util.List;
+
+/**
+ * Lista negra de termos genéricos usada pela JustificationRule.
+ * Fonte, em ordem de prioridade: arquivo (justification.blocklist.file, um termo por linha,
+ * "#" para comentários), lista da configuração (justification.blocklist.words) ou a lista padrão.
+ * O arquivo é verificado periodicamente e, quando alterado, o autômato é reconstruído e trocado
+ * de forma atômica; se a leitura falhar, a lista anterior continua valendo.
+ */
+@Slf4j
+@Component
+public class JustificationBlocklist {
+
+    public static final List<String> DEFAULT_WORDS = List.of(
+            "teste", "testando", "aaa", "aaaa", "aaaaa", "preciso", "favor liberar",
+            "ok", "libera", "liberação", "kkk", "kkkk", "kkkkkk"
+    );
+
+    private final List<String> words;
+    private final Path file;
+
+    private volatile AhoCorasickMatcher matcher;
+    private volatile long fileModified = Long.MIN_VALUE;
+
+    public JustificationBlocklist(@Value("${justification.blocklist.words:}") List<String> words,
+                                  @Value("${justification.blocklist.file:}") String file) {
+        this.words = words == null || words.isEmpty() ? DEFAULT_WORDS : List.copyOf(words);
+        this.file = file == null || file.isBlank() ? null : Path.of(file);
+        this.matcher = compile(this.words);
+        reload();
+    }
+
+    public static JustificationBlocklist defaults() {
+        return new JustificationBlocklist(DEFAULT_WORDS, null);
+    }
+
+    // O texto deve estar normalizado (TextNormalizer)
+    public boolean matches(CharSequence normalized) {
+        return matcher.containsAny(normalized);
+    }
+
+    public int size() {
+        return matcher.size();
+    }
+
+    @Scheduled(fixedDelayString = "${justification.blocklist.reloadMillis:30000}")
+    public void reload() {
+        if (file == null) {
+            return;
+        }
+        try {
+            long modified = Files.getLastModifiedTime(file).toMillis();
+            if (modified == fileModified) {
+                return;
+            }
+            List<String> loaded = Files.readAllLines(file, StandardCharsets.UTF_8).stream()
+                    .map(String::trim)
+                    .filter(line -> !line.isEmpty() && !line.startsWith("#"))
+                    .toList();
+            matcher = compile(loaded);
+            fileModified = modified;
+            log.info("Justification blocklist loaded from {} with {} terms", file, matcher.size());
+        } catch (IOException ex) {
+            log.warn("Could not load justification blocklist from {}; keeping {} terms", file, matcher.size(), ex);
+        }
+    }
+
+    // Os termos passam pela mesma normalização do texto avaliado
+    private static AhoCorasickMatcher compile(Collection<String> terms) {
+        return AhoCorasickMatcher.of(terms.stream().map(TextNormalizer::normalize).toList());
+    }
+}
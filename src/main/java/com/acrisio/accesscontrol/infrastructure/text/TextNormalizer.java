@@ -0,0 +1,63 @@
+package com.acrisio.accesscontrol.infrastructure.text;
+
+import java.text.Normalizer;
+
+/**
+ * Normalização de texto livre em uma única passada: remove acentos (mantendo apenas
+ * a parte ASCII da decomposição NFD), converte para minúsculas e remove espaços nas pontas.
+ * Produz o mesmo resultado de Normalizer.normalize(NFD) + replaceAll("[^\\p{ASCII}]", "")
+ * + trim() + toLowerCase(), sem compilar regex nem criar strings intermediárias.
+ */
+public final class TextNormalizer {
+
+    // Faixa Latin-1 + Latin Extended A/B: cobre praticamente todo texto em português/inglês
+    private static final int FOLDED_RANGE = 0x0250;
+    private static final String[] FOLDED = new String[FOLDED_RANGE];
+
+    static {
+        for (char c = 0x80; c < FOLDED_RANGE; c++) {
+            FOLDED[c] = fold(c);
+        }
+    }
+
+    private TextNormalizer() {
+    }
+
+    public static String normalize(String text) {
+        StringBuilder out = new StringBuilder(text.length());
+        for (int i = 0; i < text.length(); i++) {
+            char c = text.charAt(i);
+            if (c < 0x80) {
+                out.append(lower(c));
+            } else {
+                out.append(c < FOLDED_RANGE ? FOLDED[c] : fold(c));
+            }
+        }
+
+        int start = 0;
+        int end = out.length();
+        while (start < end && out.charAt(start) <= ' ') {
+            start++;
+        }
+        while (end > start && out.charAt(end - 1) <= ' ') {
+            end--;
+        }
+        return out.substring(start, end);
+    }
+
+    private static String fold(char c) {
+        String decomposed = Normalizer.normalize(String.valueOf(c), Normalizer.Form.NFD);
+        StringBuilder ascii = new StringBuilder(decomposed.length());
+        for (int i = 0; i < decomposed.length(); i++) {
+            char d = decomposed.charAt(i);
+            if (d < 0x80) {
+                ascii.append(lower(d));
+            }
+        }
+        return ascii.toString();
+    }
+
+    private static char lower(char c) {
+        return c >= 'A' && c <= 'Z' ? (char) (c + ('a' - 'A')) : c;
+    }
+}
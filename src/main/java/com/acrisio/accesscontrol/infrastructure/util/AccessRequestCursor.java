@@ -0,0 +1,49 @@
+package com.acrisio.accesscontrol.infrastructure.util;
+
+import com.acrisio.accesscontrol.domain.model.AccessRequest;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+import java.time.OffsetDateTime;
+import java.time.ZoneOffset;
+import java.util.Base64;
+
+/**
+ * Posição da paginação por chave (keyset) em GET /request/filter/cursor.
+ * Guarda a chave (createdAt, id) do último item entregue; o cliente recebe apenas
+ * o token opaco (Base64 URL-safe) e o devolve para buscar a página seguinte.
+ */
+public record AccessRequestCursor(OffsetDateTime createdAt, Long id) {
+
+    private static final Base64.Encoder ENCODER = Base64.getUrlEncoder().withoutPadding();
+    private static final Base64.Decoder DECODER = Base64.getUrlDecoder();
+
+    public static AccessRequestCursor of(AccessRequest request) {
+        return new AccessRequestCursor(request.getCreatedAt(), request.getId());
+    }
+
+    public String encode() {
+        Instant instant = createdAt.toInstant();
+        String raw = instant.getEpochSecond() + ":" + instant.getNano() + ":" + id;
+        return ENCODER.encodeToString(raw.getBytes(StandardCharsets.US_ASCII));
+    }
+
+    // Retorna null para tokens malformados; o chamador decide a mensagem de erro
+    public static AccessRequestCursor decode(String token) {
+        try {
+            String[] parts = new String(DECODER.decode(token), StandardCharsets.US_ASCII).split(":");
+            if (parts.length != 3) {
+                return null;
+            }
+            long nanos = Long.parseLong(parts[1]);
+            // Fora desse intervalo o ajuste de segundos em Instant.ofEpochSecond pode estourar (ArithmeticException)
+            if (nanos < 0 || nanos > 999_999_999) {
+                return null;
+            }
+            Instant instant = Instant.ofEpochSecond(Long.parseLong(parts[0]), nanos);
+            return new AccessRequestCursor(instant.atOffset(ZoneOffset.UTC), Long.parseLong(parts[2]));
+        } catch (IllegalArgumentException | java.time.DateTimeException ex) {
+            return null;
+        }
+    }
+}
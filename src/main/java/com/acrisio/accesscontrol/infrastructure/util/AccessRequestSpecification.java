@@ -2,46 +2,45 @@ package com.acrisio.accesscontrol.infrastructure.util;
 
 import com.acrisio.accesscontrol.api.dto.AccessRequestFilterDTO;
 import com.acrisio.accesscontrol.domain.model.AccessRequest;
-import com.acrisio.accesscontrol.domain.model.Module;
-import jakarta.persistence.criteria.Join;
+import com.acrisio.accesscontrol.infrastructure.text.TextNormalizer;
+import jakarta.persistence.criteria.Predicate;
 import org.springframework.data.jpa.domain.Specification;
 
 import java.time.OffsetDateTime;
+import java.util.ArrayList;
+import java.util.List;
 
 public class AccessRequestSpecification {
 
     public static Specification<AccessRequest> filter(AccessRequestFilterDTO f) {
         return (root, query, cb) -> {
 
-            // JOIN para módulos (módulo contém nome e descrição)
-            Join<AccessRequest, Module> moduleJoin = root.join("modules", jakarta.persistence.criteria.JoinType.LEFT);
-
-            var predicates = cb.conjunction();
+            // conjunction().getExpressions() devolve uma cópia no Hibernate 6: os filtros são combinados com cb.and
+            List<Predicate> predicates = new ArrayList<>();
 
             if (f.search() != null && !f.search().isBlank()) {
-                String like = "%" + f.search().toLowerCase() + "%";
-                predicates.getExpressions().add(
-                        cb.or(
-                                cb.like(cb.lower(root.get("protocol")), like),
-                                cb.like(cb.lower(moduleJoin.get("name")), like)
-                        )
+                // Coluna desnormalizada (protocolo, módulos e justificativa): sem JOIN nem distinct;
+                // no Postgres o índice trigram atende o LIKE com curinga inicial
+                String like = "%" + TextNormalizer.normalize(f.search()) + "%";
+                predicates.add(
+                        cb.like(root.get("searchText"), like)
                 );
             }
 
             if (f.status() != null) {
-                predicates.getExpressions().add(
+                predicates.add(
                         cb.equal(root.get("status"), f.status())
                 );
             }
 
             if (f.urgent() != null) {
-                predicates.getExpressions().add(
+                predicates.add(
                         cb.equal(root.get("urgent"), f.urgent())
                 );
             }
 
             if (f.startDate() != null) {
-                predicates.getExpressions().add(
+                predicates.add(
                         cb.greaterThanOrEqualTo(
                                 root.get("createdAt"),
                                 f.startDate().atStartOfDay().atOffset(OffsetDateTime.now().getOffset())
@@ -50,7 +49,7 @@ public class AccessRequestSpecification {
             }
 
             if (f.endDate() != null) {
-                predicates.getExpressions().add(
+                predicates.add(
                         cb.lessThanOrEqualTo(
                                 root.get("createdAt"),
                                 f.endDate().plusDays(1).atStartOfDay().atOffset(OffsetDateTime.now().getOffset())
@@ -58,7 +57,23 @@ public class AccessRequestSpecification {
                 );
             }
 
-            return predicates;
+            return predicates.isEmpty() ? cb.conjunction() : cb.and(predicates.toArray(Predicate[]::new));
         };
     }
+
+    // Filtra pela FK, sem carregar o usuário
+    public static Specification<AccessRequest> ofUser(Long userId) {
+        return (root, query, cb) -> cb.equal(root.get("user").get("id"), userId);
+    }
+
+    // Keyset: itens estritamente depois do cursor na ordem (createdAt desc, id desc)
+    public static Specification<AccessRequest> after(AccessRequestCursor cursor) {
+        return (root, query, cb) -> cb.or(
+                cb.lessThan(root.get("createdAt"), cursor.createdAt()),
+                cb.and(
+                        cb.equal(root.get("createdAt"), cursor.createdAt()),
+                        cb.lessThan(root.get("id"), cursor.id())
+                )
+        );
+    }
 }
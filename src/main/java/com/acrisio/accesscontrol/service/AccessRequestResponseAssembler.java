@@ -0,0 +1,130 @@
+package com.acrisio.accesscontrol.service;
+
+import com.acrisio.accesscontrol.api.dto.AccessRequestResponseDTO;
+import com.acrisio.accesscontrol.api.dto.ModuleDTO;
+import com.acrisio.accesscontrol.api.dto.RequestHistoryDTO;
+import com.acrisio.accesscontrol.domain.enums.HistoryAction;
+import com.acrisio.accesscontrol.domain.model.AccessRequest;
+import com.acrisio.accesscontrol.domain.model.Module;
+import com.acrisio.accesscontrol.domain.repository.AccessRequestRepository;
+import com.acrisio.accesscontrol.domain.repository.ModuleRepository;
+import com.acrisio.accesscontrol.domain.repository.RequestHistoryRepository;
+import com.acrisio.accesscontrol.infrastructure.catalog.ModuleCatalog;
+import com.acrisio.accesscontrol.infrastructure.catalog.ModuleCatalogSnapshot;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+
+import java.time.OffsetDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * Caminho de leitura das listagens de solicitações.
+ * Em vez de navegar módulos, departamentos, incompatibilidades e histórico de cada solicitação
+ * (N+1), busca os vínculos solicitação-módulo e o histórico em duas consultas IN por página,
+ * independentemente da quantidade de itens. Os módulos vêm do catálogo em memória; só os
+ * ausentes dele custam uma terceira consulta.
+ */
+@Component
+@RequiredArgsConstructor
+public class AccessRequestResponseAssembler {
+
+    // Mantém cada IN bem abaixo do limite de parâmetros dos bancos
+    static final int IN_CHUNK = 500;
+
+    private final AccessRequestRepository accessRequestRepository;
+    private final ModuleRepository moduleRepository;
+    private final RequestHistoryRepository requestHistoryRepository;
+    private final ModuleCatalog moduleCatalog;
+
+    public List<AccessRequestResponseDTO> assemble(List<AccessRequest> requests) {
+        if (requests.isEmpty()) {
+            return List.of();
+        }
+        List<Long> requestIds = requests.stream().map(AccessRequest::getId).filter(Objects::nonNull).toList();
+
+        Map<Long, List<Long>> moduleIdsByRequest = new HashMap<>();
+        for (Object[] row : inChunks(requestIds, accessRequestRepository::findModuleIdsByRequestIds)) {
+            moduleIdsByRequest.computeIfAbsent((Long) row[0], id -> new ArrayList<>()).add((Long) row[1]);
+        }
+
+        ModuleCatalogSnapshot catalog = moduleCatalog.snapshot();
+        Map<Long, ModuleDTO> modules = new HashMap<>();
+        Set<Long> outside = new LinkedHashSet<>();
+        moduleIdsByRequest.values().stream().flatMap(List::stream).forEach(id -> {
+            ModuleDTO cached = catalog.dtoOf(id);
+            if (cached != null) {
+                modules.put(id, cached);
+            } else {
+                outside.add(id);
+            }
+        });
+        for (Module module : inChunks(outside, moduleRepository::findAllWithDetailsByIdIn)) {
+            modules.putIfAbsent(module.getId(), toModuleDTO(module));
+        }
+
+        Map<Long, List<RequestHistoryDTO>> historyByRequest = new HashMap<>();
+        for (Object[] row : inChunks(requestIds, requestHistoryRepository::findByRequestIds)) {
+            historyByRequest.computeIfAbsent((Long) row[0], id -> new ArrayList<>())
+                    .add(new RequestHistoryDTO((HistoryAction) row[1], (String) row[2], (OffsetDateTime) row[3]));
+        }
+
+        List<AccessRequestResponseDTO> result = new ArrayList<>(requests.size());
+        for (AccessRequest request : requests) {
+            List<ModuleDTO> requestModules = moduleIdsByRequest.getOrDefault(request.getId(), List.of()).stream()
+                    .map(modules::get)
+                    .toList();
+            result.add(new AccessRequestResponseDTO(
+                    request.getId(),
+                    request.getProtocol(),
+                    request.getStatus(),
+                    request.getJustification(),
+                    request.getUrgent(),
+                    request.getCreatedAt(),
+                    request.getExpiresAt(),
+                    request.getDeniedReason(),
+                    requestModules,
+                    historyByRequest.getOrDefault(request.getId(), List.of())
+            ));
+        }
+        return result;
+    }
+
+    private ModuleDTO toModuleDTO(Module m) {
+        return new ModuleDTO(
+                m.getId(),
+                m.getName(),
+                m.getDescription(),
+                m.getActive(),
+                m.getPermittedDepartments().stream()
+                        .map(Enum::name)
+                        .collect(Collectors.toSet()),
+                m.getIncompatibleModules().stream()
+                        .map(Module::getName)
+                        .collect(Collectors.toSet())
+        );
+    }
+
+    private static <T> List<T> inChunks(Collection<Long> ids, Function<Collection<Long>, List<T>> query) {
+        if (ids.isEmpty()) {
+            return List.of();
+        }
+        List<Long> all = List.copyOf(ids);
+        if (all.size() <= IN_CHUNK) {
+            return query.apply(all);
+        }
+        List<T> rows = new ArrayList<>();
+        for (int from = 0; from < all.size(); from += IN_CHUNK) {
+            rows.addAll(query.apply(all.subList(from, Math.min(from + IN_CHUNK, all.size()))));
+        }
+        return rows;
+    }
+}
@@ -1,9 +1,13 @@
 package com.acrisio.accesscontrol.service;
 
 import java.time.OffsetDateTime;
-import java.time.format.DateTimeFormatter;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
 import java.util.HashSet;
+import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.Map;
 import java.util.Set;
 import java.util.stream.Collectors;
 
@@ -11,22 +15,36 @@ import com.acrisio.accesscontrol.domain.enums.HistoryAction;
 import com.acrisio.accesscontrol.domain.model.*;
 import com.acrisio.accesscontrol.domain.model.Module;
 import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import com.acrisio.accesscontrol.api.dto.AccessRequestBatchItemDTO;
 import com.acrisio.accesscontrol.api.dto.AccessRequestCreateDTO;
+import com.acrisio.accesscontrol.api.dto.AccessRequestCursorPageDTO;
+import com.acrisio.accesscontrol.api.dto.AccessRequestEvaluationDTO;
 import com.acrisio.accesscontrol.api.dto.AccessRequestFilterDTO;
 import com.acrisio.accesscontrol.api.dto.AccessRequestResponseDTO;
 import com.acrisio.accesscontrol.api.dto.ModuleDTO;
+import com.acrisio.accesscontrol.api.dto.ModuleVerdictDTO;
 import com.acrisio.accesscontrol.domain.enums.RequestStatus;
 import com.acrisio.accesscontrol.domain.repository.AccessRepositoy;
 import com.acrisio.accesscontrol.domain.repository.AccessRequestRepository;
 import com.acrisio.accesscontrol.domain.repository.ModuleRepository;
-import com.acrisio.accesscontrol.domain.repository.ProtocolSequenceRepository;
 import com.acrisio.accesscontrol.domain.repository.UserRepository;
-import com.acrisio.accesscontrol.domain.rules.AccessRequestRule;
+import com.acrisio.accesscontrol.domain.rules.AccessRequestRuleEngine;
+import com.acrisio.accesscontrol.domain.rules.RuleEvaluation;
+import com.acrisio.accesscontrol.domain.rules.RuleViolation;
+import com.acrisio.accesscontrol.domain.rules.UserPermissionSnapshot;
+import com.acrisio.accesscontrol.domain.rules.UserPermissionSnapshotFactory;
 import com.acrisio.accesscontrol.exception.EntityNotFoundException;
+import com.acrisio.accesscontrol.exception.UnprocessableEntityException;
+import com.acrisio.accesscontrol.infrastructure.catalog.ModuleCatalog;
+import com.acrisio.accesscontrol.infrastructure.catalog.ModuleCatalogSnapshot;
+import com.acrisio.accesscontrol.infrastructure.protocol.ProtocolAllocator;
+import com.acrisio.accesscontrol.infrastructure.util.AccessRequestCursor;
 import com.acrisio.accesscontrol.infrastructure.util.AccessRequestSpecification;
 import com.acrisio.accesscontrol.infrastructure.util.InternationalizationUtil;
 
@@ -38,31 +56,30 @@ public class AccessRequestService {
 
     private final UserRepository userRepository;
     private final ModuleRepository moduleRepository;
-    private final ProtocolSequenceRepository protocolSequenceRepository;
+    private final ModuleCatalog moduleCatalog;
+    private final ProtocolAllocator protocolAllocator;
     private final AccessRepositoy accessRepository;
     private final AccessRequestRepository accessRequestRepository;
-    private final List<AccessRequestRule> rules;
+    private final AccessRequestRuleEngine ruleEngine;
+    private final UserPermissionSnapshotFactory snapshotFactory;
+    private final AccessRequestResponseAssembler responseAssembler;
     private final InternationalizationUtil message;
     private final com.acrisio.accesscontrol.domain.repository.RequestHistoryRepository requestHistoryRepository;
 
+    private static final int MAX_CURSOR_PAGE_SIZE = 100;
+    private static final Sort KEYSET_ORDER = Sort.by(Sort.Order.desc("createdAt"), Sort.Order.desc("id"));
+
     @Transactional
     public AccessRequestResponseDTO createRequest(AccessRequestCreateDTO dto) {
 
         User user = userRepository.findById(dto.userId())
                 .orElseThrow(() -> new EntityNotFoundException(message.getMessage("User.notfound")));
 
-        Set<Module> modules = loadModules(new HashSet<>(dto.moduleIds()));
+        Set<Module> modules = loadModules(dto.moduleIds());
 
-        boolean approved = true;
-        String denial = null;
-        try {
-            for (AccessRequestRule rule : rules) {
-                rule.validate(user, modules, dto);
-            }
-        } catch (RuntimeException ex) {
-            approved = false;
-            denial = ex.getMessage();
-        }
+        UserPermissionSnapshot snapshot = snapshotFactory.create(user);
+
+        RuleEvaluation evaluation = ruleEngine.evaluate(snapshot, modules, dto);
 
         AccessRequest request = new AccessRequest();
         request.setUser(user);
@@ -72,23 +89,132 @@ public class AccessRequestService {
         request.setCreatedAt(OffsetDateTime.now());
         request.setProtocol(generateProtocol());
 
-        if (approved) {
+        if (evaluation.approved()) {
             request.setStatus(RequestStatus.ACTIVE);
             request.setExpiresAt(OffsetDateTime.now().plusDays(180));
             createAccesses(user, modules);
         } else {
             request.setStatus(RequestStatus.DENIED);
-            request.setDeniedReason(denial);
+            request.setDeniedReason(evaluation.deniedReason());
         }
         accessRequestRepository.save(request);
         return toResponseDTO(request);
     }
 
-    public List<AccessRequestResponseDTO> findAll() {
-        return accessRequestRepository.findAll()
-                .stream()
-                .map(this::toResponseDTO)
+    // Lote (ondas de onboarding): usuários e módulos em consultas IN, snapshots compartilhados,
+    // um único bloco de protocolos e gravação com saveAll
+    @Transactional
+    public List<AccessRequestBatchItemDTO> createBatch(List<AccessRequestCreateDTO> dtos) {
+
+        Set<Long> userIds = dtos.stream().map(AccessRequestCreateDTO::userId).collect(Collectors.toSet());
+        Set<Long> moduleIds = dtos.stream().flatMap(d -> d.moduleIds().stream()).collect(Collectors.toSet());
+
+        Map<Long, User> users = userRepository.findAllById(userIds).stream()
+                .collect(Collectors.toMap(User::getId, u -> u));
+        Map<Long, Module> modules = resolveModules(moduleIds);
+        Map<Long, UserPermissionSnapshot> snapshots = new HashMap<>(snapshotFactory.createAll(users.values()));
+
+        // Itens com usuário ou módulo inexistente são rejeitados sem consumir protocolo
+        AccessRequestBatchItemDTO[] results = new AccessRequestBatchItemDTO[dtos.size()];
+        List<Integer> accepted = new ArrayList<>();
+        for (int i = 0; i < dtos.size(); i++) {
+            AccessRequestCreateDTO dto = dtos.get(i);
+            Long missingModule = dto.moduleIds().stream().filter(id -> !modules.containsKey(id)).findFirst().orElse(null);
+            if (!users.containsKey(dto.userId())) {
+                results[i] = new AccessRequestBatchItemDTO(i, dto.userId(), null, null, null, message.getMessage("User.notfound"));
+            } else if (missingModule != null) {
+                results[i] = new AccessRequestBatchItemDTO(i, dto.userId(), null, null, null,
+                        message.getMessage("Module.notfound") + " ID = " + missingModule);
+            } else {
+                accepted.add(i);
+            }
+        }
+
+        List<String> protocols = protocolAllocator.nextBatch(accepted.size());
+        OffsetDateTime now = OffsetDateTime.now();
+        List<AccessRequest> requests = new ArrayList<>(accepted.size());
+        List<Access> accesses = new ArrayList<>();
+
+        for (int k = 0; k < accepted.size(); k++) {
+            AccessRequestCreateDTO dto = dtos.get(accepted.get(k));
+            User user = users.get(dto.userId());
+            Set<Module> requested = dto.moduleIds().stream()
+                    .map(modules::get)
+                    .collect(Collectors.toCollection(LinkedHashSet::new));
+
+            UserPermissionSnapshot snapshot = snapshots.get(user.getId());
+            RuleEvaluation evaluation = ruleEngine.evaluate(snapshot, requested, dto);
+
+            AccessRequest request = new AccessRequest();
+            request.setUser(user);
+            request.setModules(requested);
+            request.setJustification(dto.justification());
+            request.setUrgent(dto.urgent());
+            request.setCreatedAt(now);
+            request.setProtocol(protocols.get(k));
+
+            if (evaluation.approved()) {
+                request.setStatus(RequestStatus.ACTIVE);
+                request.setExpiresAt(now.plusDays(180));
+                for (Module m : requested) {
+                    accesses.add(buildAccess(user, m, now));
+                }
+                // O mesmo usuário pode aparecer de novo no lote
+                snapshots.put(user.getId(), snapshot.withApproved(
+                        requested.stream().map(Module::getId).collect(Collectors.toSet())));
+            } else {
+                request.setStatus(RequestStatus.DENIED);
+                request.setDeniedReason(evaluation.deniedReason());
+            }
+            requests.add(request);
+        }
+
+        accessRequestRepository.saveAll(requests);
+        accessRepository.saveAll(accesses);
+
+        for (int k = 0; k < accepted.size(); k++) {
+            AccessRequest request = requests.get(k);
+            int index = accepted.get(k);
+            results[index] = new AccessRequestBatchItemDTO(index, request.getUser().getId(), request.getId(),
+                    request.getProtocol(), request.getStatus(), request.getDeniedReason());
+        }
+        return List.of(results);
+    }
+
+    // Simulação: executa as mesmas regras do createRequest sem alocar protocolo nem gravar nada
+    @Transactional(readOnly = true)
+    public AccessRequestEvaluationDTO evaluate(AccessRequestCreateDTO dto) {
+
+        User user = userRepository.findById(dto.userId())
+                .orElseThrow(() -> new EntityNotFoundException(message.getMessage("User.notfound")));
+
+        Set<Module> modules = loadModules(dto.moduleIds());
+
+        RuleEvaluation evaluation = ruleEngine.evaluate(snapshotFactory.create(user), modules, dto);
+
+        Map<Long, List<String>> reasonsByModule = new HashMap<>();
+        List<String> reasons = new ArrayList<>();
+        for (RuleViolation violation : evaluation.violations()) {
+            if (violation.moduleId() == null) {
+                reasons.add(violation.message());
+            } else {
+                reasonsByModule.computeIfAbsent(violation.moduleId(), id -> new ArrayList<>()).add(violation.message());
+            }
+        }
+
+        List<ModuleVerdictDTO> verdicts = modules.stream()
+                .map(m -> {
+                    List<String> moduleReasons = reasonsByModule.getOrDefault(m.getId(), List.of());
+                    return new ModuleVerdictDTO(m.getId(), m.getName(), moduleReasons.isEmpty(), moduleReasons);
+                })
                 .toList();
+
+        return new AccessRequestEvaluationDTO(evaluation.approved(), verdicts, reasons);
+    }
+
+    @Transactional(readOnly = true)
+    public List<AccessRequestResponseDTO> findAll() {
+        return responseAssembler.assemble(accessRequestRepository.findAll());
     }
 
     public AccessRequestResponseDTO findById(Long requestId, Long currentUserId) {
@@ -104,15 +230,11 @@ public class AccessRequestService {
     }
 
 
+    // O id vem do token já verificado: consulta direto pela FK, sem carregar o usuário
+    @Transactional(readOnly = true)
     public List<AccessRequestResponseDTO> listByUser(Long userId) {
 
-        User user = userRepository.findById(userId)
-                .orElseThrow(() -> new IllegalArgumentException(message.getMessage("User.notfound")));
-
-        return accessRequestRepository.findByUser(user)
-                .stream()
-                .map(this::toResponseDTO)
-                .toList();
+        return responseAssembler.assemble(accessRequestRepository.findByUserId(userId));
     }
 
     @Transactional
@@ -137,33 +259,33 @@ public class AccessRequestService {
             throw new IllegalArgumentException(message.getMessage("AccessRequst.reason"));
         }
 
+        // Revogar acessos vinculados: um DELETE por usuário + módulos, antes das alterações pendentes,
+        // para que a atualização da solicitação e o histórico saiam juntos no mesmo flush
+        OffsetDateTime now = OffsetDateTime.now();
+        List<Long> moduleIds = req.getModules().stream().map(Module::getId).toList();
+        if (!moduleIds.isEmpty()) {
+            accessRepository.revokeActive(req.getUser().getId(), moduleIds, now);
+        }
+
         // Atualizar a solicitação para CANCELADA
         req.setStatus(RequestStatus.CANCELED);
         req.setDeniedReason(reason);
         req.setExpiresAt(null);
-
-        // Revogar acessos vinculados
-        User user = req.getUser();
-        Set<Module> modules = req.getModules();
-
-        for (Access access : user.getActiveAccesses()) {
-            if (modules.contains(access.getModule())) {
-                accessRepository.delete(access);
-            }
-        }
+        req.refreshSearchText();
 
         // Registrar histórico
         RequestHistory history = RequestHistory.builder()
                 .accessRequest(req)
                 .action(HistoryAction.CANCELED)
                 .description(reason)
-                .date(OffsetDateTime.now())
+                .date(now)
                 .build();
 
         requestHistoryRepository.save(history);
         accessRequestRepository.save(req);
 
-        return toResponseDTO(req);
+        // Resposta montada em consultas fixas, independentemente da quantidade de módulos
+        return responseAssembler.assemble(List.of(req)).get(0);
     }
 
 
@@ -175,50 +297,65 @@ public class AccessRequestService {
         accessRequestRepository.delete(req);
     }
 
-    private Set<Module> loadModules(Set<Long> moduleIds) {
-        return moduleIds.stream()
-                .map(id -> moduleRepository.findById(id)
-                .orElseThrow(() -> new EntityNotFoundException(message.getMessage("Module.notfound") + " ID = " + id)))
-                .collect(Collectors.toSet());
+    // Módulos na ordem solicitada; todos os IDs inexistentes são informados juntos
+    private Set<Module> loadModules(Collection<Long> moduleIds) {
+        Map<Long, Module> found = resolveModules(moduleIds);
+        List<Long> missing = moduleIds.stream().filter(id -> !found.containsKey(id)).distinct().toList();
+        if (!missing.isEmpty()) {
+            throw new EntityNotFoundException(message.getMessage("Module.notfound") + " ID = "
+                    + missing.stream().map(String::valueOf).collect(Collectors.joining(", ")));
+        }
+        return moduleIds.stream().map(found::get).collect(Collectors.toCollection(LinkedHashSet::new));
+    }
+
+    // Servidos pelo catálogo em memória; só os IDs fora dele (ex.: módulo criado em outro nó)
+    // vão ao banco, em uma única consulta já com departamentos e incompatibilidades
+    private Map<Long, Module> resolveModules(Collection<Long> moduleIds) {
+        ModuleCatalogSnapshot catalog = moduleCatalog.snapshot();
+        Map<Long, Module> found = new HashMap<>();
+        Set<Long> outside = new HashSet<>();
+        for (Long id : moduleIds) {
+            Module module = catalog.moduleOf(id);
+            if (module != null) {
+                found.put(id, module);
+            } else if (id != null) {
+                outside.add(id);
+            }
+        }
+        if (!outside.isEmpty()) {
+            moduleRepository.findAllWithDetailsByIdIn(outside).forEach(m -> found.put(m.getId(), m));
+        }
+        return found;
     }
 
     private void createAccesses(User user, Set<Module> modules) {
+        OffsetDateTime now = OffsetDateTime.now();
+        List<Access> accesses = new ArrayList<>(modules.size());
         for (Module m : modules) {
-            Access access = Access.builder()
-                    .user(user)
-                    .module(m)
-                    .grantedAt(OffsetDateTime.now())
-                    .expiresAt(OffsetDateTime.now().plusDays(180))
-                    .build();
-
-            accessRepository.save(access);
+            accesses.add(buildAccess(user, m, now));
         }
+        accessRepository.saveAll(accesses);
+    }
+
+    private Access buildAccess(User user, Module module, OffsetDateTime now) {
+        return Access.builder()
+                .user(user)
+                .module(module)
+                .grantedAt(now)
+                .expiresAt(now.plusDays(180))
+                .build();
     }
 
     private boolean approve(User user, Set<Module> modules) {
         return true; // Se nenhuma regra lançar exceção → aprovado
     }
 
-    @Transactional
     public String generateProtocol() {
-
-        String today = OffsetDateTime.now().format(DateTimeFormatter.ofPattern("yyyyMMdd"));
-
-        ProtocolSequence seq = protocolSequenceRepository
-                .findById(today)
-                .orElseGet(() -> new ProtocolSequence(today, 0));
-
-        int next = seq.getCounter() + 1;
-        seq.setCounter(next);
-
-        protocolSequenceRepository.save(seq);
-
-        String sequence = String.format("%04d", next);
-
-        return "SOL-" + today + "-" + sequence;
+        return protocolAllocator.next();
     }
 
     private AccessRequestResponseDTO toResponseDTO(AccessRequest request) {
+        ModuleCatalogSnapshot catalog = moduleCatalog.snapshot();
         return new AccessRequestResponseDTO(
                 request.getId(),
                 request.getProtocol(),
@@ -230,18 +367,20 @@ public class AccessRequestService {
                 request.getDeniedReason(),
                 request.getModules()
                         .stream()
-                        .map(m -> new ModuleDTO(
-                        m.getId(),
-                        m.getName(),
-                        m.getDescription(),
-                        m.getActive(),
-                        m.getPermittedDepartments().stream()
-                                .map(Enum::name)
-                                .collect(Collectors.toSet()),
-                        m.getIncompatibleModules().stream()
-                                .map(Module::getName)
-                                .collect(Collectors.toSet())
-                ))
+                        .map(m -> {
+                            ModuleDTO cached = catalog.dtoOf(m.getId());
+                            return cached != null ? cached : new ModuleDTO(
+                                    m.getId(),
+                                    m.getName(),
+                                    m.getDescription(),
+                                    m.getActive(),
+                                    m.getPermittedDepartments().stream()
+                                            .map(Enum::name)
+                                            .collect(Collectors.toSet()),
+                                    m.getIncompatibleModules().stream()
+                                            .map(Module::getName)
+                                            .collect(Collectors.toSet()));
+                        })
                         .toList(),
                 request.getHistory() == null ? java.util.List.of() : request.getHistory().stream()
                         .map(h -> new com.acrisio.accesscontrol.api.dto.RequestHistoryDTO(
@@ -297,8 +436,10 @@ public class AccessRequestService {
                 false
         );
 
-        for (AccessRequestRule rule : rules) {
-            rule.validate(user, modules, dto);
+        UserPermissionSnapshot snapshot = snapshotFactory.create(user);
+        RuleEvaluation evaluation = ruleEngine.evaluate(snapshot, modules, dto);
+        if (!evaluation.approved()) {
+            throw new IllegalArgumentException(evaluation.deniedReason());
         }
 
         // Se passou nas regras — aprovado
@@ -309,26 +450,52 @@ public class AccessRequestService {
         accessRequestRepository.save(newRequest);
 
         // Extende o acesso existente +180 dias
-        for (Access access : user.getActiveAccesses()) {
-            if (modules.contains(access.getModule())) {
-                access.setExpiresAt(OffsetDateTime.now().plusDays(180));
-                accessRepository.save(access);
-            }
-        }
+        OffsetDateTime now = OffsetDateTime.now();
+        accessRepository.extendActive(user.getId(), dto.moduleIds(), now, now.plusDays(180));
 
         return toResponseDTO(newRequest);
     }
 
+    @Transactional(readOnly = true)
     public Page<AccessRequestResponseDTO> filter(Long userId, AccessRequestFilterDTO filter, Pageable pageable) {
 
-        User user = userRepository.findById(userId)
-                .orElseThrow(() -> new EntityNotFoundException(message.getMessage("User.notfound")));
+        var spec = AccessRequestSpecification.filter(filter)
+                .and(AccessRequestSpecification.ofUser(userId));
 
+        Page<AccessRequest> page = accessRequestRepository.findAll(spec, pageable);
+        return new PageImpl<>(responseAssembler.assemble(page.getContent()), page.getPageable(), page.getTotalElements());
+    }
+
+    // Paginação por chave (createdAt, id): sem count(*) e com custo constante em páginas profundas
+    @Transactional(readOnly = true)
+    public AccessRequestCursorPageDTO filterByCursor(Long userId, AccessRequestFilterDTO filter, String cursor, int size) {
+
+        int limit = Math.max(1, Math.min(size, MAX_CURSOR_PAGE_SIZE));
         var spec = AccessRequestSpecification.filter(filter)
-                .and((root, query, cb) -> cb.equal(root.get("user"), user));
+                .and(AccessRequestSpecification.ofUser(userId));
+
+        if (cursor != null && !cursor.isBlank()) {
+            AccessRequestCursor position = AccessRequestCursor.decode(cursor);
+            if (position == null) {
+                throw new UnprocessableEntityException(message.getMessage("AccessRequest.cursor.invalid"));
+            }
+            spec = spec.and(AccessRequestSpecification.after(position));
+        }
+
+        // Busca um item a mais apenas para saber se existe próxima página
+        List<AccessRequest> rows = accessRequestRepository.findBy(spec, q -> q
+                .sortBy(KEYSET_ORDER)
+                .limit(limit + 1)
+                .all());
+
+        boolean hasNext = rows.size() > limit;
+        List<AccessRequest> page = hasNext ? rows.subList(0, limit) : rows;
+        String nextCursor = hasNext ? AccessRequestCursor.of(page.get(page.size() - 1)).encode() : null;
 
-        return accessRequestRepository.findAll(spec, pageable)
-                .map(this::toResponseDTO);
+        return new AccessRequestCursorPageDTO(
+                responseAssembler.assemble(page),
+                nextCursor,
+                hasNext);
     }
 
 }
@@ -12,7 +12,10 @@ import com.acrisio.accesscontrol.domain.repository.AccessRepositoy;
 import com.acrisio.accesscontrol.domain.repository.AccessRequestRepository;
 import com.acrisio.accesscontrol.domain.repository.RequestHistoryRepository;
 import com.acrisio.accesscontrol.domain.repository.UserRepository;
-import com.acrisio.accesscontrol.domain.rules.AccessRequestRule;
+import com.acrisio.accesscontrol.domain.rules.AccessRequestRuleEngine;
+import com.acrisio.accesscontrol.domain.rules.RuleEvaluation;
+import com.acrisio.accesscontrol.domain.rules.UserPermissionSnapshot;
+import com.acrisio.accesscontrol.domain.rules.UserPermissionSnapshotFactory;
 import com.acrisio.accesscontrol.exception.EntityNotFoundException;
 import com.acrisio.accesscontrol.infrastructure.util.InternationalizationUtil;
 import jakarta.transaction.Transactional;
@@ -33,7 +36,8 @@ public class AccessService {
     private final UserRepository userRepository;
     private final InternationalizationUtil message;
     private final AccessRequestService accessRequestService;
-    private final List<AccessRequestRule> rules;
+    private final AccessRequestRuleEngine ruleEngine;
+    private final UserPermissionSnapshotFactory snapshotFactory;
 
     @Transactional
     public AccessResponseDTO revoke(Long id) {
@@ -82,24 +86,15 @@ public class AccessService {
 
         //Reaplicar Regras de Negócio
 
-        boolean approved = true;
-        String denial = null;
-
-        try {
-            AccessRequestCreateDTO dto = new AccessRequestCreateDTO(
-                    access.getUser().getId(),
-                    List.of(access.getModule().getId()),
-                    newReq.getJustification(),
-                    false);
-
-            for (AccessRequestRule rule : rules) {
-                rule.validate(access.getUser(), Set.of(access.getModule()), dto);
-            }
+        UserPermissionSnapshot snapshot = snapshotFactory.create(access.getUser());
+        AccessRequestCreateDTO dto = new AccessRequestCreateDTO(
+                access.getUser().getId(),
+                List.of(access.getModule().getId()),
+                newReq.getJustification(),
+                false);
 
-        } catch (RuntimeException ex) {
-            approved = false;
-            denial = ex.getMessage();
-        }
+        RuleEvaluation evaluation = ruleEngine.evaluate(snapshot, Set.of(access.getModule()), dto);
+        boolean approved = evaluation.approved();
 
         if (approved) {
             // Solicitação aprovada
@@ -112,7 +107,7 @@ public class AccessService {
 
         } else {
             newReq.setStatus(RequestStatus.DENIED);
-            newReq.setDeniedReason(denial);
+            newReq.setDeniedReason(evaluation.deniedReason());
         }
 
         accessRequestRepository.save(newReq);
@@ -5,31 +5,58 @@ import com.acrisio.accesscontrol.api.dto.AuthResponseDTO;
 import com.acrisio.accesscontrol.domain.model.User;
 import com.acrisio.accesscontrol.domain.repository.UserRepository;
 import com.acrisio.accesscontrol.infrastructure.security.JwtTokenProvider;
+import com.acrisio.accesscontrol.infrastructure.security.PasswordVerifier;
+import com.acrisio.accesscontrol.infrastructure.security.TokenRevocationList;
 import com.acrisio.accesscontrol.infrastructure.util.InternationalizationUtil;
-import org.springframework.security.crypto.password.PasswordEncoder;
+import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.JwtException;
 import org.springframework.stereotype.Service;
 
+import java.time.ZoneOffset;
+
 @Service
 public class AuthService {
 
     private final UserRepository userRepository;
-    private final PasswordEncoder passwordEncoder;
+    private final PasswordVerifier passwordVerifier;
     private final JwtTokenProvider jwtTokenProvider;
     private final InternationalizationUtil message;
+    private final TokenRevocationList revocationList;
 
-    public AuthService(UserRepository userRepository, PasswordEncoder passwordEncoder, JwtTokenProvider jwtTokenProvider, InternationalizationUtil message) {
+    public AuthService(UserRepository userRepository, PasswordVerifier passwordVerifier, JwtTokenProvider jwtTokenProvider, InternationalizationUtil message, TokenRevocationList revocationList) {
         this.userRepository = userRepository;
-        this.passwordEncoder = passwordEncoder;
+        this.passwordVerifier = passwordVerifier;
         this.jwtTokenProvider = jwtTokenProvider;
         this.message = message;
+        this.revocationList = revocationList;
     }
 
     public AuthResponseDTO login(AuthLoginRequest req) {
         User user = userRepository.findByEmail(req.email()).orElseThrow(() -> new IllegalArgumentException(message.getMessage("Auth.invalid")));
-        if (!passwordEncoder.matches(req.password(), user.getPasswordHash())) {
+        if (!passwordVerifier.matches(req.password(), user.getPasswordHash())) {
             throw new IllegalArgumentException(message.getMessage("Auth.invalid"));
         }
-        String token = jwtTokenProvider.generateToken(user.getId(), user.getEmail());
+        // Hash gravado com outro custo (ou sem o prefixo {bcrypt}): regrava com a configuração atual
+        String upgradedHash = passwordVerifier.rehash(req.password(), user.getPasswordHash());
+        if (upgradedHash != null) {
+            user.setPasswordHash(upgradedHash);
+            userRepository.save(user);
+        }
+        String token = jwtTokenProvider.generateToken(user.getId(), user.getEmail(), user.getDepartment());
         return new AuthResponseDTO(token, jwtTokenProvider.expirationFromNow(), user.getId(), user.getName(), user.getEmail(), user.getDepartment().name());
     }
+
+    // Revoga o token apresentado até o seu exp; vale para todos os nós após a próxima verificação
+    public void logout(String token) {
+        Claims claims;
+        try {
+            claims = jwtTokenProvider.parseClaims(token);
+        } catch (JwtException | IllegalArgumentException ex) {
+            throw new IllegalArgumentException(message.getMessage("Auth.invalid"));
+        }
+        if (claims.getId() == null || revocationList.isRevoked(claims.getId())) {
+            throw new IllegalArgumentException(message.getMessage("Auth.invalid"));
+        }
+        revocationList.revoke(claims.getId(), claims.getExpiration().toInstant().atOffset(ZoneOffset.UTC));
+    }
 }
\ No newline at end of file
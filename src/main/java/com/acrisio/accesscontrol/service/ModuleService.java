@@ -6,9 +6,12 @@ import com.acrisio.accesscontrol.domain.model.Module;
 import com.acrisio.accesscontrol.domain.repository.ModuleRepository;
 import com.acrisio.accesscontrol.exception.EntityNotFoundException;
 import com.acrisio.accesscontrol.exception.UnprocessableEntityException;
+import com.acrisio.accesscontrol.infrastructure.catalog.ModuleCatalog;
+import com.acrisio.accesscontrol.infrastructure.search.AccessRequestSearchIndex;
 import com.acrisio.accesscontrol.infrastructure.util.InternationalizationUtil;
 import lombok.RequiredArgsConstructor;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
 import java.util.List;
 import java.util.Set;
@@ -20,7 +23,10 @@ public class ModuleService {
 
     private final ModuleRepository moduleRepository;
     private final InternationalizationUtil message;
+    private final ModuleCatalog moduleCatalog;
+    private final AccessRequestSearchIndex searchIndex;
 
+    @Transactional
     public ModuleDTO create(ModuleDTO dto) {
 
         if (dto.name().isBlank()) {
@@ -51,22 +57,28 @@ public class ModuleService {
         module.setIncompatibleModules(Set.of());
 
         moduleRepository.save(module);
+        moduleCatalog.moduleChanged();
 
         return toDTO(module);
     }
 
+    // Leituras servidas pelo catálogo em memória (DTOs já montados e imutáveis)
     public List<ModuleDTO> findAll() {
-        return moduleRepository.findAll().stream()
-                .map(this::toDTO)
-                .toList();
+        return moduleCatalog.snapshot().dtos();
     }
 
     public ModuleDTO findById(Long id) {
+        ModuleDTO cached = moduleCatalog.snapshot().dtoOf(id);
+        if (cached != null) {
+            return cached;
+        }
+        // Criado em outro nó e ainda não visto pela verificação de versão
         Module module = moduleRepository.findById(id)
                 .orElseThrow(() -> new EntityNotFoundException(message.getMessage("Module.notfound")));
         return toDTO(module);
     }
 
+    @Transactional
     public ModuleDTO update(ModuleDTO dto) {
         Module module = moduleRepository.findById(dto.id())
                 .orElseThrow(() -> new EntityNotFoundException(message.getMessage("Module.notfound")));
@@ -83,6 +95,7 @@ public class ModuleService {
             throw new UnprocessableEntityException(message.getMessage("Department.User"));
         }
 
+        boolean renamed = !dto.name().equals(module.getName());
         module.setName(dto.name());
         module.setDescription(dto.description());
         module.setActive(dto.active());
@@ -94,15 +107,21 @@ public class ModuleService {
         );
 
         moduleRepository.save(module);
+        if (renamed) {
+            searchIndex.refreshForModule(module.getId());
+        }
+        moduleCatalog.moduleChanged();
         return toDTO(module);
     }
 
 
+    @Transactional
     public void delete(Long id) {
         if (!moduleRepository.existsById(id)) {
             throw new EntityNotFoundException(message.getMessage("Module.notfound"));
         }
         moduleRepository.deleteById(id);
+        moduleCatalog.moduleChanged();
     }
 
     private ModuleDTO toDTO(Module m) {
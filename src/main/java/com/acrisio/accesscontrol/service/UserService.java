@@ -9,7 +9,7 @@ import com.acrisio.accesscontrol.exception.NameUniqueViolationException;
 import com.acrisio.accesscontrol.exception.UnprocessableEntityException;
 import com.acrisio.accesscontrol.infrastructure.util.InternationalizationUtil;
 import lombok.RequiredArgsConstructor;
-import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
@@ -21,7 +21,7 @@ public class UserService {
 
     private final UserRepository userRepository;
     private final InternationalizationUtil message;
-    private final BCryptPasswordEncoder passwordEncoder;
+    private final PasswordEncoder passwordEncoder;
 
     @Transactional
     public UserDTO create(UserCreateDTO dto) {
@@ -0,0 +1,88 @@
+-- Esquema inicial (equivalente ao que o ddl-auto=update criava).
+-- Bancos já existentes entram por baseline (spring.flyway.baseline-on-migrate) e pulam esta versão.
+
+create table tb_user (
+    id_tb_user bigint not null,
+    tb_user_name varchar(255) not null,
+    tb_user_email varchar(255) not null,
+    tb_user_password_hash varchar(255) not null,
+    tb_user_department varchar(255) not null check (tb_user_department in ('TI','FINANCE','RH','OPERATIONS','OTHER')),
+    constraint pk_tb_user primary key (id_tb_user),
+    -- Também atende findByEmail (login e usuário corrente)
+    constraint uk_tb_user_email unique (tb_user_email)
+);
+
+create table tb_module (
+    id_tb_module bigint not null,
+    tb_module_name varchar(255) not null,
+    tb_module_description varchar(255),
+    tb_module_active boolean not null,
+    constraint pk_tb_module primary key (id_tb_module)
+);
+
+create table tb_module_departments (
+    id_tb_module bigint not null,
+    department varchar(255) check (department in ('TI','FINANCE','RH','OPERATIONS','OTHER')),
+    constraint fk_module_departments_module foreign key (id_tb_module) references tb_module
+);
+
+create table tb_module_incompatibilities (
+    id_module bigint not null,
+    id_incompatible_module bigint not null,
+    constraint pk_tb_module_incompatibilities primary key (id_incompatible_module, id_module),
+    constraint fk_module_incompatibilities_module foreign key (id_module) references tb_module,
+    constraint fk_module_incompatibilities_incompatible foreign key (id_incompatible_module) references tb_module
+);
+
+create table tb_access (
+    id_tb_access bigint not null,
+    id_tb_user bigint not null,
+    id_tb_module bigint not null,
+    tb_access_granted_at timestamp(6) with time zone not null,
+    tb_access_expires_at timestamp(6) with time zone not null,
+    constraint pk_tb_access primary key (id_tb_access),
+    constraint fk_access_user foreign key (id_tb_user) references tb_user,
+    constraint fk_access_module foreign key (id_tb_module) references tb_module
+);
+
+create table tb_access_request (
+    id_tb_access_request bigint not null,
+    id_tb_user bigint not null,
+    id_origin_request bigint,
+    tb_access_request_justification varchar(500) not null,
+    tb_access_request_urgent boolean not null,
+    tb_access_request_status varchar(255) not null check (tb_access_request_status in ('ACTIVE','DENIED','CANCELED')),
+    tb_access_request_protocol varchar(255) not null,
+    tb_access_request_created_at timestamp(6) with time zone not null,
+    tb_access_request_expires_at timestamp(6) with time zone,
+    tb_access_request_denied_reason varchar(1000),
+    tb_access_request_search_text varchar(2000),
+    constraint pk_tb_access_request primary key (id_tb_access_request),
+    constraint uk_tb_access_request_protocol unique (tb_access_request_protocol),
+    constraint fk_access_request_user foreign key (id_tb_user) references tb_user,
+    constraint fk_access_request_origin foreign key (id_origin_request) references tb_access_request
+);
+
+create table tb_access_request_modules (
+    id_tb_access_request bigint not null,
+    id_tb_module bigint not null,
+    constraint pk_tb_access_request_modules primary key (id_tb_access_request, id_tb_module),
+    constraint fk_access_request_modules_request foreign key (id_tb_access_request) references tb_access_request,
+    constraint fk_access_request_modules_module foreign key (id_tb_module) references tb_module
+);
+
+create table tb_request_history (
+    id_tb_request_history bigint not null,
+    id_tb_access_request bigint not null,
+    tb_history_action varchar(255) not null check (tb_history_action in ('CREATED','AUTO_APPROVED','AUTO_DENIED','CANCELED','RENEWED')),
+    tb_history_description varchar(255),
+    tb_history_timestamp timestamp(6) with time zone not null,
+    constraint pk_tb_request_history primary key (id_tb_request_history),
+    constraint fk_request_history_request foreign key (id_tb_access_request) references tb_access_request
+);
+
+create table tb_protocol_sequence (
+    protocol_date varchar(255) not null,
+    counter integer,
+    constraint pk_tb_protocol_sequence primary key (protocol_date)
+);
@@ -0,0 +1,17 @@
+-- IDs por sequência (allocationSize=50, otimizador pooled-lo): o valor da sequência é o início do bloco.
+-- Em bancos vindos do ddl-auto (colunas IDENTITY), as sequências começam depois do maior id existente.
+
+alter table tb_access_request add column if not exists tb_access_request_denied_reason varchar(1000);
+alter table tb_access_request add column if not exists tb_access_request_search_text varchar(2000);
+
+create sequence if not exists seq_tb_user start with 1 increment by 50;
+create sequence if not exists seq_tb_module start with 1 increment by 50;
+create sequence if not exists seq_tb_access start with 1 increment by 50;
+create sequence if not exists seq_tb_access_request start with 1 increment by 50;
+create sequence if not exists seq_tb_request_history start with 1 increment by 50;
+
+select setval('seq_tb_user', coalesce(max(id_tb_user), 0) + 1, false) from tb_user;
+select setval('seq_tb_module', coalesce(max(id_tb_module), 0) + 1, false) from tb_module;
+select setval('seq_tb_access', coalesce(max(id_tb_access), 0) + 1, false) from tb_access;
+select setval('seq_tb_access_request', coalesce(max(id_tb_access_request), 0) + 1, false) from tb_access_request;
+select setval('seq_tb_request_history', coalesce(max(id_tb_request_history), 0) + 1, false) from tb_request_history;
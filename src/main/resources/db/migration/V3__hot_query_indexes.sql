@@ -0,0 +1,38 @@
+-- Índices compostos alinhados às consultas dos repositórios (espelhados nas anotações @Index das entidades).
+-- O índice trigram de tb_access_request_search_text depende da extensão pg_trgm e é criado por AccessRequestSearchIndex.
+
+-- AccessRequestRepository.findByUser, existsByUserAndStatusAndModulesContaining,
+-- findModuleIdsByUserAndStatus / findUserModuleIdsByUsersAndStatus (usuário + status) e listagem por data
+create index if not exists idx_access_request_user_status_created
+    on tb_access_request (id_tb_user, tb_access_request_status, tb_access_request_created_at);
+
+-- Paginação por cursor do usuário: (createdAt desc, id desc)
+create index if not exists idx_access_request_user_created
+    on tb_access_request (id_tb_user, tb_access_request_created_at, id_tb_access_request);
+
+-- /request/filter ordenado por createdAt sem filtro de usuário
+create index if not exists idx_access_request_created
+    on tb_access_request (tb_access_request_created_at, id_tb_access_request);
+
+-- Renovações apontam para a solicitação de origem
+create index if not exists idx_access_request_origin
+    on tb_access_request (id_origin_request);
+
+-- A PK começa pela solicitação; findIdsByModuleId e "modules contains" partem do módulo
+create index if not exists idx_access_request_modules_module
+    on tb_access_request_modules (id_tb_module, id_tb_access_request);
+
+-- AccessRepositoy.findByUser, snapshot das regras e checagem de vigência
+create index if not exists idx_access_user_expires
+    on tb_access (id_tb_user, tb_access_expires_at);
+
+create index if not exists idx_access_module
+    on tb_access (id_tb_module);
+
+-- RequestHistoryRepository.findByRequestIds (order by id)
+create index if not exists idx_request_history_request
+    on tb_request_history (id_tb_access_request, id_tb_request_history);
+
+-- Carga do catálogo de módulos (join fetch de departamentos)
+create index if not exists idx_module_departments_module
+    on tb_module_departments (id_tb_module);
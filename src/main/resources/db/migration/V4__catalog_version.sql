@@ -0,0 +1,10 @@
+-- Versão do catálogo de módulos: incrementada a cada alteração pelo ModuleService
+-- e consultada periodicamente pelos nós para recarregar o catálogo em memória.
+
+create table tb_catalog_version (
+    tb_catalog_name varchar(255) not null,
+    tb_catalog_version bigint not null,
+    constraint pk_tb_catalog_version primary key (tb_catalog_name)
+);
+
+insert into tb_catalog_version (tb_catalog_name, tb_catalog_version) values ('MODULES', 1);
@@ -0,0 +1,15 @@
+-- Tokens revogados antes do exp (logout). Cada nó carrega as linhas vigentes em memória
+-- e lê as novas pela data de revogação; linhas expiradas são apagadas periodicamente.
+
+create table tb_revoked_token (
+    tb_revoked_token_jti varchar(64) not null,
+    tb_revoked_token_expires_at timestamp(6) with time zone not null,
+    tb_revoked_token_revoked_at timestamp(6) with time zone not null,
+    constraint pk_tb_revoked_token primary key (tb_revoked_token_jti)
+);
+
+create index if not exists idx_revoked_token_revoked_at
+    on tb_revoked_token (tb_revoked_token_revoked_at);
+
+create index if not exists idx_revoked_token_expires_at
+    on tb_revoked_token (tb_revoked_token_expires_at);
@@ -0,0 +1,9 @@
+-- Sobras de blocos de protocolo devolvidas pelos nós (encerramento, virada do dia, rollback).
+-- A reserva consome estes intervalos antes de incrementar tb_protocol_sequence.
+
+create table tb_protocol_free_range (
+    protocol_date varchar(255) not null,
+    first_number integer not null,
+    last_number integer,
+    constraint pk_tb_protocol_free_range primary key (protocol_date, first_number)
+);
@@ -0,0 +1,5 @@
+-- Bancos vindos do ddl-auto=update têm tb_access_request_denied_reason varchar(255); o motivo
+-- agora junta todas as violações das regras (até 1000 caracteres). Nem o ddl-auto nem o
+-- "add column if not exists" da V2 alargam uma coluna existente.
+
+alter table tb_access_request alter column tb_access_request_denied_reason type varchar(1000);
@@ -2,22 +2,31 @@ package com.acrisio.accesscontrol.api.controller;
 
 import com.acrisio.accesscontrol.api.dto.AccessRequestCancelDTO;
 import com.acrisio.accesscontrol.api.dto.AccessRequestCreateInput;
+import com.acrisio.accesscontrol.api.dto.AccessRequestEvaluateInput;
 import com.acrisio.accesscontrol.api.dto.AccessRequestIdDTO;
 import com.acrisio.accesscontrol.api.dto.AuthLoginRequest;
+import com.acrisio.accesscontrol.domain.model.User;
 import com.fasterxml.jackson.databind.JsonNode;
 import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
 import org.springframework.boot.test.context.SpringBootTest;
 import org.springframework.http.MediaType;
+import org.springframework.jdbc.core.JdbcTemplate;
 import org.springframework.test.context.ActiveProfiles;
 import org.springframework.test.web.servlet.MockMvc;
 import org.springframework.test.web.servlet.MvcResult;
 
+import java.util.ArrayList;
+import java.util.HashSet;
 import java.util.List;
 
+import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.delete;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
@@ -33,6 +42,10 @@ class AccessRequestControllerTests {
     MockMvc mockMvc;
     @Autowired
     ObjectMapper objectMapper;
+    @Autowired
+    JdbcTemplate jdbcTemplate;
+    @Autowired
+    EntityManagerFactory entityManagerFactory;
 
     String token;
 
@@ -117,6 +130,27 @@ class AccessRequestControllerTests {
                 .andExpect(jsonPath("$.message").value("Campo(s) inválido(s)"));
     }
 
+    // TESTES DE SIMULAÇÃO (POST /request/evaluate)
+
+    @Test
+    void simularSolicitacao_RetornaVeredictoSemGravar() throws Exception {
+        Integer requestsBefore = jdbcTemplate.queryForObject("select count(*) from tb_access_request", Integer.class);
+        Integer sequencesBefore = jdbcTemplate.queryForObject("select coalesce(sum(counter), 0) from tb_protocol_sequence", Integer.class);
+
+        var dto = new AccessRequestEvaluateInput(List.of(MODULE_ID), null, null);
+        mockMvc.perform(post("/request/evaluate")
+                        .header("Authorization", "Bearer " + token)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(dto)))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.modules[0].moduleId").value(MODULE_ID))
+                .andExpect(jsonPath("$.modules[0].approved").exists())
+                .andExpect(jsonPath("$.reasons").isNotEmpty());
+
+        assertEquals(requestsBefore, jdbcTemplate.queryForObject("select count(*) from tb_access_request", Integer.class));
+        assertEquals(sequencesBefore, jdbcTemplate.queryForObject("select coalesce(sum(counter), 0) from tb_protocol_sequence", Integer.class));
+    }
+
     //TESTES DE CANCELAMENTO (POST /request/cancel)
 
     @Test
@@ -222,6 +256,83 @@ class AccessRequestControllerTests {
     }
 
 
+    @Test
+    void filtrarSolicitacoesPorCursor_PercorreTodasAsPaginasSemRepetir() throws Exception {
+        List<Long> created = List.of(createDeniedRequestAndGetId(), createDeniedRequestAndGetId(), createDeniedRequestAndGetId());
+
+        List<Long> seen = new ArrayList<>();
+        String cursor = null;
+        do {
+            var request = get("/request/filter/cursor")
+                    .param("status", "DENIED")
+                    .param("size", "2")
+                    .header("Authorization", "Bearer " + token);
+            if (cursor != null) {
+                request.param("cursor", cursor);
+            }
+            JsonNode page = objectMapper.readTree(mockMvc.perform(request)
+                    .andExpect(status().isOk())
+                    .andExpect(jsonPath("$.totalElements").doesNotExist())
+                    .andReturn().getResponse().getContentAsString());
+            page.get("content").forEach(item -> seen.add(item.get("id").asLong()));
+            cursor = page.get("hasNext").asBoolean() ? page.get("nextCursor").asText() : null;
+        } while (cursor != null);
+
+        assertEquals(seen.size(), new HashSet<>(seen).size());
+        // Mais recentes primeiro
+        assertEquals(List.of(created.get(2), created.get(1), created.get(0)),
+                seen.stream().filter(created::contains).toList());
+    }
+
+    // O lote usa o usuário do token: um userId de outro usuário no corpo é ignorado
+    @Test
+    void criarLote_UserIdDeOutroUsuario_CriaSomenteParaOUsuarioDoToken() throws Exception {
+        Integer before = jdbcTemplate.queryForObject("select count(*) from tb_access_request where id_tb_user = 2", Integer.class);
+        String body = "{\"requests\":[{\"userId\":2,\"moduleIds\":[1],"
+                + "\"justification\":\"Onboarding do time financeiro em lote\",\"urgent\":false}]}";
+
+        mockMvc.perform(post("/request/batch")
+                        .header("Authorization", "Bearer " + token)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(body))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$[0].userId").value(1));
+
+        assertEquals(before, jdbcTemplate.queryForObject("select count(*) from tb_access_request where id_tb_user = 2", Integer.class));
+
+        // Limpeza
+        String ids = "select id_tb_access_request from tb_access_request where tb_access_request_justification = 'Onboarding do time financeiro em lote'";
+        jdbcTemplate.update("delete from tb_access where id_tb_user = 1 and id_tb_module = 1");
+        jdbcTemplate.update("delete from tb_request_history where id_tb_access_request in (" + ids + ")");
+        jdbcTemplate.update("delete from tb_access_request_modules where id_tb_access_request in (" + ids + ")");
+        jdbcTemplate.update("delete from tb_access_request where id_tb_access_request in (" + ids + ")");
+    }
+
+    // O usuário vem das claims do token: nem o filtro JWT, nem o controller, nem o serviço consultam tb_user
+    @Test
+    void buscarTodasAsSolicitacoesDoUsuario_NaoConsultaUsuario() throws Exception {
+        Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.setStatisticsEnabled(true);
+        statistics.clear();
+
+        mockMvc.perform(get("/request/find")
+                        .header("Authorization", "Bearer " + token))
+                .andExpect(status().isOk());
+
+        long userLoads = statistics.getEntityStatistics(User.class.getName()).getLoadCount()
+                + statistics.getEntityStatistics(User.class.getName()).getFetchCount();
+        statistics.setStatisticsEnabled(false);
+        assertEquals(0, userLoads);
+    }
+
+    @Test
+    void filtrarSolicitacoesPorCursor_CursorInvalido_Retorna422() throws Exception {
+        mockMvc.perform(get("/request/filter/cursor")
+                        .param("cursor", "nao-e-um-cursor")
+                        .header("Authorization", "Bearer " + token))
+                .andExpect(status().isUnprocessableEntity());
+    }
+
     //TESTES DE DELEÇÃO (DELETE /request)
 
     @Test
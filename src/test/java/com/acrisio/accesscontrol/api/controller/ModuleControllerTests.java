@@ -15,6 +15,9 @@ import org.springframework.test.web.servlet.MockMvc;
 import java.util.Set;
 
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
 
@@ -59,7 +62,43 @@ class ModuleControllerTests {
         mockMvc.perform(get("/modules").header("Authorization", "Bearer " + token))
                 .andExpect(status().isOk())
                 .andExpect(jsonPath("$").isArray())
-                .andExpect(jsonPath("$[0].id").value(EXISTING_MODULE_ID));
+                .andExpect(jsonPath("$[0].id").value(EXISTING_MODULE_ID))
+                .andExpect(header().exists("ETag"));
+    }
+
+    @Test
+    void listaModulosComEtagAtualRetorna304SemCorpo() throws Exception {
+        String etag = mockMvc.perform(get("/modules").header("Authorization", "Bearer " + token))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getHeader("ETag");
+
+        mockMvc.perform(get("/modules")
+                        .header("Authorization", "Bearer " + token)
+                        .header("If-None-Match", etag))
+                .andExpect(status().isNotModified())
+                .andExpect(header().string("ETag", etag))
+                .andExpect(content().string(""));
+    }
+
+    @Test
+    void listaModulosAposAlteracaoRetornaNovoEtag() throws Exception {
+        String etag = mockMvc.perform(get("/modules").header("Authorization", "Bearer " + token))
+                .andReturn().getResponse().getHeader("ETag");
+        String uniqueName = "MODULO_ETAG_" + java.util.UUID.randomUUID();
+        mockMvc.perform(post("/modules")
+                        .header("Authorization", "Bearer " + token)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(
+                                new ModuleDTO(null, uniqueName, "Altera o catálogo", true, Set.of("TI"), Set.of()))))
+                .andExpect(status().isOk());
+
+        String newEtag = mockMvc.perform(get("/modules")
+                        .header("Authorization", "Bearer " + token)
+                        .header("If-None-Match", etag))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$[?(@.name == '" + uniqueName + "')]").exists())
+                .andReturn().getResponse().getHeader("ETag");
+        assertNotEquals(etag, newEtag);
     }
 
     //TESTES DE CRIAÇÃO (POST /modules)
@@ -0,0 +1,108 @@
+package com.acrisio.accesscontrol.domain.repository;
+
+import com.acrisio.accesscontrol.domain.enums.Department;
+import com.acrisio.accesscontrol.domain.model.Access;
+import com.acrisio.accesscontrol.domain.model.Module;
+import com.acrisio.accesscontrol.domain.model.User;
+import jakarta.persistence.EntityManager;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.OffsetDateTime;
+import java.util.List;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@SpringBootTest
+@ActiveProfiles("test")
+@Transactional
+class AccessRepositoyTests {
+
+    @Autowired
+    AccessRepositoy accessRepository;
+    @Autowired
+    ModuleRepository moduleRepository;
+    @Autowired
+    UserRepository userRepository;
+    @Autowired
+    EntityManager entityManager;
+
+    private User user;
+    private List<Module> modules;
+    private OffsetDateTime now;
+
+    @BeforeEach
+    void setUp() {
+        User created = new User();
+        created.setName("Long Tenure");
+        created.setEmail("tenure-" + System.nanoTime() + "@corp.com");
+        created.setPasswordHash("x");
+        created.setDepartment(Department.TI);
+        user = userRepository.save(created);
+        modules = moduleRepository.findAll().subList(0, 3);
+        now = OffsetDateTime.now();
+
+        // Anos de acessos expirados e dois vigentes
+        for (int i = 0; i < 20; i++) {
+            accessRepository.save(access(modules.get(i % 3), now.minusYears(3), now.minusDays(i + 1)));
+        }
+        accessRepository.save(access(modules.get(0), now.minusDays(5), now.plusDays(30)));
+        accessRepository.save(access(modules.get(1), now.minusDays(5), now.plusDays(60)));
+        entityManager.flush();
+        entityManager.clear();
+    }
+
+    @Test
+    void findActiveModuleIdsByUserId_ReturnsOnlyUnexpiredModuleIds() {
+        List<Long> ids = accessRepository.findActiveModuleIdsByUserId(user.getId(), now);
+
+        assertEquals(2, ids.size());
+        assertEquals(Set.of(modules.get(0).getId(), modules.get(1).getId()), Set.copyOf(ids));
+    }
+
+    @Test
+    void findActiveModuleIdsByUserIds_ReturnsUserModuleRows() {
+        List<Object[]> rows = accessRepository.findActiveModuleIdsByUserIds(List.of(user.getId()), now);
+
+        assertEquals(2, rows.size());
+        assertTrue(rows.stream().allMatch(r -> user.getId().equals(r[0])));
+    }
+
+    @Test
+    void extendActive_UpdatesOnlyActiveAccessesOfListedModules() {
+        OffsetDateTime extended = now.plusDays(180);
+
+        int updated = accessRepository.extendActive(user.getId(), List.of(modules.get(0).getId(), modules.get(2).getId()), now, extended);
+        entityManager.clear();
+
+        assertEquals(1, updated);
+        List<Access> active = accessRepository.findByUser(user).stream()
+                .filter(a -> a.getExpiresAt().isAfter(now))
+                .toList();
+        assertEquals(2, active.size());
+        for (Access access : active) {
+            boolean listed = access.getModule().getId().equals(modules.get(0).getId());
+            assertEquals(listed, access.getExpiresAt().isAfter(now.plusDays(179)));
+        }
+    }
+
+    @Test
+    void revokeActive_DeletesOnlyActiveAccessesOfListedModules() {
+        int revoked = accessRepository.revokeActive(user.getId(), List.of(modules.get(0).getId(), modules.get(2).getId()), now);
+        entityManager.clear();
+
+        assertEquals(1, revoked);
+        assertEquals(List.of(modules.get(1).getId()), accessRepository.findActiveModuleIdsByUserId(user.getId(), now));
+        // Histórico expirado permanece
+        assertEquals(21, accessRepository.findByUser(user).size());
+    }
+
+    private Access access(Module module, OffsetDateTime grantedAt, OffsetDateTime expiresAt) {
+        return Access.builder().user(user).module(module).grantedAt(grantedAt).expiresAt(expiresAt).build();
+    }
+}
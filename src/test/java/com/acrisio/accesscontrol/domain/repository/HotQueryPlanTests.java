@@ -0,0 +1,162 @@
+package com.acrisio.accesscontrol.domain.repository;
+
+import com.acrisio.accesscontrol.AccessRequestServiceApplication;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.Banner;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertFalse;
+
+/**
+ * Planos de execução das consultas quentes no Postgres.
+ * Sobe a aplicação no perfil postgres em um schema dedicado (Flyway + ddl-auto=validate),
+ * popula um volume grande com generate_series, roda ANALYZE e falha se alguma consulta
+ * dos repositórios voltar a fazer Seq Scan nas tabelas grandes.
+ *
+ * Executar com: mvn -Pschema test
+ * Parâmetros (-D): schema.db.url, schema.db.user, schema.db.pass (padrão: Postgres do Compose).
+ */
+@Tag("schema")
+class HotQueryPlanTests {
+
+    private static final String DB_URL = System.getProperty("schema.db.url", "jdbc:postgresql://localhost:5432/access_db");
+    private static final String DB_USER = System.getProperty("schema.db.user", "postgres");
+    private static final String DB_PASS = System.getProperty("schema.db.pass", "postgres");
+    private static final String SCHEMA = "hot_query_plan";
+
+    private static final int USERS = 20_000;
+    private static final int MODULES = 500;
+    private static final int REQUESTS = 200_000;
+
+    private static final List<String> LARGE_TABLES = List.of(
+            "tb_user", "tb_access", "tb_access_request", "tb_access_request_modules", "tb_request_history");
+
+    private static ConfigurableApplicationContext context;
+    private static JdbcTemplate jdbc;
+
+    @BeforeAll
+    static void migrateAndSeed() {
+        String url = DB_URL + (DB_URL.contains("?") ? "&" : "?") + "currentSchema=" + SCHEMA;
+        context = new SpringApplicationBuilder(AccessRequestServiceApplication.class)
+                .bannerMode(Banner.Mode.OFF)
+                .run("--spring.profiles.active=postgres",
+                        "--server.port=0",
+                        "--logging.level.root=WARN",
+                        "--spring.jpa.show-sql=false",
+                        "--spring.datasource.url=" + url,
+                        "--spring.datasource.username=" + DB_USER,
+                        "--spring.datasource.password=" + DB_PASS,
+                        "--spring.flyway.schemas=" + SCHEMA);
+        jdbc = context.getBean(JdbcTemplate.class);
+
+        jdbc.update("insert into tb_user (id_tb_user, tb_user_name, tb_user_email, tb_user_password_hash, tb_user_department) "
+                + "select i, 'User ' || i, 'user' || i || '@corp.com', 'x', 'TI' from generate_series(1, ?) i", USERS);
+        jdbc.update("insert into tb_module (id_tb_module, tb_module_name, tb_module_description, tb_module_active) "
+                + "select i, 'MODULE_' || i, 'Módulo ' || i, true from generate_series(1, ?) i", MODULES);
+        jdbc.update("insert into tb_module_departments (id_tb_module, department) select i, 'TI' from generate_series(1, ?) i", MODULES);
+        jdbc.update("insert into tb_access_request (id_tb_access_request, id_tb_user, tb_access_request_justification, "
+                + "tb_access_request_urgent, tb_access_request_status, tb_access_request_protocol, tb_access_request_created_at) "
+                + "select i, i % ? + 1, 'Justificativa ' || i, i % 7 = 0, (array['ACTIVE','DENIED','CANCELED'])[i % 3 + 1], "
+                + "'SOL-PLAN-' || i, now() - i * interval '1 minute' from generate_series(1, ?) i", USERS, REQUESTS);
+        jdbc.update("insert into tb_access_request_modules (id_tb_access_request, id_tb_module) "
+                + "select i, i % ? + 1 from generate_series(1, ?) i "
+                + "union all select i, (i + 1) % ? + 1 from generate_series(1, ?) i", MODULES, REQUESTS, MODULES, REQUESTS);
+        jdbc.update("insert into tb_access (id_tb_access, id_tb_user, id_tb_module, tb_access_granted_at, tb_access_expires_at) "
+                + "select i, i % ? + 1, i % ? + 1, now(), now() + interval '180 days' from generate_series(1, ?) i",
+                USERS, MODULES, USERS * 3);
+        jdbc.update("insert into tb_request_history (id_tb_request_history, id_tb_access_request, tb_history_action, "
+                + "tb_history_description, tb_history_timestamp) "
+                + "select i, (i + 1) / 2, 'CREATED', 'Criada', now() from generate_series(1, ?) i", REQUESTS * 2);
+        jdbc.execute("analyze");
+    }
+
+    @AfterAll
+    static void dropSchema() {
+        if (jdbc != null) {
+            jdbc.execute("drop schema if exists " + SCHEMA + " cascade");
+        }
+        if (context != null) {
+            context.close();
+        }
+    }
+
+    // AccessRequestRepository.findByUser / listByUser
+    @Test
+    void findRequestsByUser_UsesIndex() {
+        assertNoSeqScan("select * from tb_access_request ar1_0 where ar1_0.id_tb_user = 4242");
+    }
+
+    // AccessRequestRepository.existsByUserAndStatusAndModulesContaining
+    @Test
+    void existsByUserStatusAndModule_UsesIndex() {
+        assertNoSeqScan("select ar1_0.id_tb_access_request from tb_access_request ar1_0 "
+                + "where ar1_0.id_tb_user = 4242 and ar1_0.tb_access_request_status = 'ACTIVE' "
+                + "and 7 in (select m1_0.id_tb_module from tb_access_request_modules m1_0 "
+                + "where ar1_0.id_tb_access_request = m1_0.id_tb_access_request) fetch first 1 rows only");
+    }
+
+    // AccessRequestRepository.findModuleIdsByUserAndStatus (snapshot das regras)
+    @Test
+    void moduleIdsByUserAndStatus_UsesIndex() {
+        assertNoSeqScan("select distinct m1_0.id_tb_module from tb_access_request ar1_0 "
+                + "join tb_access_request_modules m1_0 on ar1_0.id_tb_access_request = m1_0.id_tb_access_request "
+                + "where ar1_0.id_tb_user = 4242 and ar1_0.tb_access_request_status = 'ACTIVE'");
+    }
+
+    // AccessRequestRepository.findIdsByModuleId (renomeação de módulo)
+    @Test
+    void requestIdsByModule_UsesIndex() {
+        assertNoSeqScan("select ar1_0.id_tb_access_request from tb_access_request ar1_0 "
+                + "join tb_access_request_modules m1_0 on ar1_0.id_tb_access_request = m1_0.id_tb_access_request "
+                + "where m1_0.id_tb_module = 7");
+    }
+
+    // UserRepository.findByEmail (login)
+    @Test
+    void findUserByEmail_UsesIndex() {
+        assertNoSeqScan("select * from tb_user u1_0 where u1_0.tb_user_email = 'user4242@corp.com'");
+    }
+
+    // AccessRepositoy.findByUser
+    @Test
+    void findAccessesByUser_UsesIndex() {
+        assertNoSeqScan("select * from tb_access a1_0 where a1_0.id_tb_user = 4242");
+    }
+
+    // RequestHistoryRepository.findByRequestIds e AccessRequestRepository.findModuleIdsByRequestIds (listagens)
+    @Test
+    void historyAndModuleLinksOfPage_UseIndex() {
+        assertNoSeqScan("select rh1_0.id_tb_access_request, rh1_0.tb_history_action from tb_request_history rh1_0 "
+                + "where rh1_0.id_tb_access_request in (1000, 2000, 3000) order by rh1_0.id_tb_request_history");
+        assertNoSeqScan("select ar1_0.id_tb_access_request, m1_0.id_tb_module from tb_access_request ar1_0 "
+                + "join tb_access_request_modules m1_0 on ar1_0.id_tb_access_request = m1_0.id_tb_access_request "
+                + "where ar1_0.id_tb_access_request in (1000, 2000, 3000) order by ar1_0.id_tb_access_request, m1_0.id_tb_module");
+    }
+
+    // GET /request/filter (ordenado por createdAt desc) e GET /request/filter/cursor
+    @Test
+    void filterPages_UseIndex() {
+        assertNoSeqScan("select * from tb_access_request ar1_0 "
+                + "order by ar1_0.tb_access_request_created_at desc offset 0 rows fetch first 10 rows only");
+        assertNoSeqScan("select * from tb_access_request ar1_0 where ar1_0.tb_access_request_status = 'DENIED' "
+                + "order by ar1_0.tb_access_request_created_at desc offset 0 rows fetch first 10 rows only");
+        assertNoSeqScan("select * from tb_access_request ar1_0 where ar1_0.id_tb_user = 4242 "
+                + "and (ar1_0.tb_access_request_created_at < now() - interval '1 day' "
+                + "or (ar1_0.tb_access_request_created_at = now() - interval '1 day' and ar1_0.id_tb_access_request < 150000)) "
+                + "order by ar1_0.tb_access_request_created_at desc, ar1_0.id_tb_access_request desc fetch first 21 rows only");
+    }
+
+    private static void assertNoSeqScan(String sql) {
+        String plan = String.join("\n", jdbc.queryForList("explain " + sql, String.class));
+        for (String table : LARGE_TABLES) {
+            assertFalse(plan.contains("Seq Scan on " + table + " "), () -> "Seq Scan on " + table + ":\n" + sql + "\n" + plan);
+        }
+    }
+}
@@ -0,0 +1,82 @@
+package com.acrisio.accesscontrol.domain.repository;
+
+import com.acrisio.accesscontrol.AccessRequestServiceApplication;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.Banner;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.core.io.ClassPathResource;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+import org.springframework.jdbc.datasource.init.ResourceDatabasePopulator;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+/**
+ * Migração de um banco criado pelo ddl-auto=update antes do Flyway.
+ * Monta o schema como o baseline o deixou (tb_access_request_denied_reason varchar(255)),
+ * sobe a aplicação no perfil postgres (baseline na versão 1 + migrações) e confere a coluna.
+ *
+ * Executar com: mvn -Pschema test
+ * Parâmetros (-D): schema.db.url, schema.db.user, schema.db.pass (padrão: Postgres do Compose).
+ */
+@Tag("schema")
+class LegacySchemaMigrationTests {
+
+    private static final String DB_URL = System.getProperty("schema.db.url", "jdbc:postgresql://localhost:5432/access_db");
+    private static final String DB_USER = System.getProperty("schema.db.user", "postgres");
+    private static final String DB_PASS = System.getProperty("schema.db.pass", "postgres");
+    private static final String SCHEMA = "legacy_schema_migration";
+
+    private ConfigurableApplicationContext context;
+    private JdbcTemplate jdbc;
+
+    @BeforeEach
+    void createLegacySchema() {
+        String url = DB_URL + (DB_URL.contains("?") ? "&" : "?") + "currentSchema=" + SCHEMA;
+        DriverManagerDataSource dataSource = new DriverManagerDataSource(url, DB_USER, DB_PASS);
+        jdbc = new JdbcTemplate(dataSource);
+        jdbc.execute("drop schema if exists " + SCHEMA + " cascade");
+        jdbc.execute("create schema " + SCHEMA);
+        new ResourceDatabasePopulator(new ClassPathResource("db/migration/V1__initial_schema.sql")).execute(dataSource);
+        jdbc.execute("alter table tb_access_request alter column tb_access_request_denied_reason type varchar(255)");
+
+        context = new SpringApplicationBuilder(AccessRequestServiceApplication.class)
+                .bannerMode(Banner.Mode.OFF)
+                .run("--spring.profiles.active=postgres",
+                        "--server.port=0",
+                        "--logging.level.root=WARN",
+                        "--spring.datasource.url=" + url,
+                        "--spring.datasource.username=" + DB_USER,
+                        "--spring.datasource.password=" + DB_PASS,
+                        "--spring.flyway.schemas=" + SCHEMA);
+    }
+
+    @AfterEach
+    void dropSchema() {
+        if (context != null) {
+            context.close();
+        }
+        jdbc.execute("drop schema if exists " + SCHEMA + " cascade");
+    }
+
+    @Test
+    void migrate_LegacyDeniedReasonColumn_IsWidenedTo1000() {
+        Integer length = jdbc.queryForObject("select character_maximum_length from information_schema.columns "
+                + "where table_schema = ? and table_name = 'tb_access_request' "
+                + "and column_name = 'tb_access_request_denied_reason'", Integer.class, SCHEMA);
+        assertEquals(1000, length);
+
+        jdbc.update("insert into tb_user (id_tb_user, tb_user_name, tb_user_email, tb_user_password_hash, tb_user_department) "
+                + "values (1, 'Legacy User', 'legacy@corp.com', 'x', 'TI')");
+        jdbc.update("insert into tb_access_request (id_tb_access_request, id_tb_user, tb_access_request_justification, "
+                + "tb_access_request_urgent, tb_access_request_status, tb_access_request_protocol, "
+                + "tb_access_request_created_at, tb_access_request_denied_reason) "
+                + "values (1, 1, 'Justificativa', false, 'DENIED', 'SOL-LEGACY-1', now(), ?)", "x".repeat(1000));
+        assertEquals(1000, jdbc.queryForObject(
+                "select length(tb_access_request_denied_reason) from tb_access_request where id_tb_access_request = 1", Integer.class));
+    }
+}
@@ -0,0 +1,95 @@
+package com.acrisio.accesscontrol.domain.rules;
+
+import com.acrisio.accesscontrol.api.dto.AccessRequestCreateDTO;
+import com.acrisio.accesscontrol.domain.enums.Department;
+import com.acrisio.accesscontrol.domain.model.Module;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class AccessRequestRuleEngineUnitTests {
+
+    private SimpleMeterRegistry registry;
+    private UserPermissionSnapshot user;
+    private AccessRequestCreateDTO dto;
+    private Set<Module> modules;
+
+    @BeforeEach
+    void setUp() {
+        registry = new SimpleMeterRegistry();
+        user = new UserPermissionSnapshot(1L, Department.FINANCE, Set.of(), Set.of(), 0);
+        dto = new AccessRequestCreateDTO(1L, List.of(1L, 2L), "Justificativa válida com mais de vinte caracteres.", false);
+        modules = Set.of(Module.builder().id(1L).name("PORTAL").build(), Module.builder().id(2L).name("RELATORIOS").build());
+    }
+
+    @Test
+    void evaluate_AllRulesApprove_ReturnsApproved() {
+        AccessRequestRuleEngine engine = new AccessRequestRuleEngine(List.of(approving(), approving()), registry);
+
+        RuleEvaluation evaluation = engine.evaluate(user, modules, dto);
+
+        assertTrue(evaluation.approved());
+        assertNull(evaluation.deniedReason());
+    }
+
+    @Test
+    void evaluate_SeveralRulesDeny_CollectsEveryViolation() {
+        List<String> executed = new ArrayList<>();
+        AccessRequestRule first = (u, m, d) -> {
+            executed.add("first");
+            return RuleResult.ok();
+        };
+        AccessRequestRule second = new AccessRequestRule() {
+            @Override
+            public RuleResult validate(UserPermissionSnapshot u, Set<Module> m, AccessRequestCreateDTO d) {
+                executed.add("second");
+                return RuleResult.deny(this, 1L, "Módulo 1 negado").and(RuleResult.deny(this, 2L, "Módulo 2 negado"));
+            }
+        };
+        AccessRequestRule third = new AccessRequestRule() {
+            @Override
+            public RuleResult validate(UserPermissionSnapshot u, Set<Module> m, AccessRequestCreateDTO d) {
+                executed.add("third");
+                return RuleResult.deny(this, "Justificativa negada");
+            }
+        };
+        AccessRequestRuleEngine engine = new AccessRequestRuleEngine(List.of(first, second, third), registry);
+
+        RuleEvaluation evaluation = engine.evaluate(user, modules, dto);
+
+        assertEquals(List.of("first", "second", "third"), executed);
+        assertFalse(evaluation.approved());
+        assertEquals(3, evaluation.violations().size());
+        assertEquals("Módulo 1 negado; Módulo 2 negado; Justificativa negada", evaluation.deniedReason());
+        assertNull(evaluation.violations().get(2).moduleId());
+    }
+
+    @Test
+    void evaluate_RecordsTimePerRule() {
+        ModuleActiveRule moduleActiveRule = new ModuleActiveRule(null);
+        AccessRequestRuleEngine engine = new AccessRequestRuleEngine(List.of(moduleActiveRule), registry);
+        Set<Module> active = Set.of(Module.builder().id(1L).name("PORTAL").active(true).build());
+
+        engine.evaluate(user, active, dto);
+        engine.evaluate(user, active, dto);
+
+        assertEquals(2, registry.get("access.request.rule").tag("rule", "ModuleActiveRule").timer().count());
+    }
+
+    @Test
+    void deniedReason_LongerThanColumn_IsTruncated() {
+        RuleEvaluation evaluation = new RuleEvaluation(List.of(new RuleViolation("rule", null, "x".repeat(1500))));
+
+        assertEquals(RuleEvaluation.MAX_DENIED_REASON, evaluation.deniedReason().length());
+    }
+
+    private static AccessRequestRule approving() {
+        return (u, m, d) -> RuleResult.ok();
+    }
+}
@@ -1,9 +1,8 @@
 package com.acrisio.accesscontrol.domain.rules;
 
 import com.acrisio.accesscontrol.api.dto.AccessRequestCreateDTO;
-import com.acrisio.accesscontrol.domain.model.Access;
+import com.acrisio.accesscontrol.domain.enums.Department;
 import com.acrisio.accesscontrol.domain.model.Module;
-import com.acrisio.accesscontrol.domain.model.User;
 import com.acrisio.accesscontrol.infrastructure.util.InternationalizationUtil;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
@@ -12,8 +11,6 @@ import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
 
-import java.time.OffsetDateTime;
-import java.util.ArrayList;
 import java.util.List;
 import java.util.Set;
 
@@ -29,7 +26,6 @@ class DuplicateActiveAccessRuleUnitTests {
     @InjectMocks
     private DuplicateActiveAccessRule rule;
 
-    private User user;
     private Module requestedModule;
     private AccessRequestCreateDTO dto;
     private static final Long USER_ID = 1L;
@@ -39,7 +35,6 @@ class DuplicateActiveAccessRuleUnitTests {
 
     @BeforeEach
     void setUp() {
-        user = User.builder().id(USER_ID).accesses(new ArrayList<>()).build();
         requestedModule = Module.builder().id(MODULE_ID).name(MODULE_NAME).build();
         dto = new AccessRequestCreateDTO(USER_ID, List.of(MODULE_ID), "Valid justification.", true);
 
@@ -48,41 +43,28 @@ class DuplicateActiveAccessRuleUnitTests {
 
     @Test
     void validate_NoActiveAccess_Success() {
-        // user.accesses está vazio
-        assertDoesNotThrow(() -> rule.validate(user, Set.of(requestedModule), dto));
+        assertTrue(rule.validate(snapshotWithActiveModules(Set.of()), Set.of(requestedModule), dto).isApproved());
     }
 
     @Test
-    void validate_ExpiredAccessForSameModule_Success() {
-
-        Module expiredModule = Module.builder().id(MODULE_ID).name(MODULE_NAME).build();
-        Access expiredAccess = Access.builder()
-                .module(expiredModule)
-                .expiresAt(OffsetDateTime.now().minusDays(1))
-                .build();
-
-        // Adiciona o acesso expirado, que será filtrado por getActiveAccesses()
-        user.getAccesses().add(expiredAccess);
-
-        assertDoesNotThrow(() -> rule.validate(user, Set.of(requestedModule), dto));
+    void validate_ActiveAccessForOtherModule_Success() {
+        assertTrue(rule.validate(snapshotWithActiveModules(Set.of(99L)), Set.of(requestedModule), dto).isApproved());
     }
 
     @Test
-    void validate_ActiveAccessForSameModule_ThrowsIllegalArgumentException() {
-        Module activeModule = Module.builder().id(MODULE_ID).name(MODULE_NAME).build();
-        Access activeAccess = Access.builder()
-                .module(activeModule)
-                .expiresAt(OffsetDateTime.now().plusDays(10))
-                .build();
+    void validate_ActiveAccessForSameModule_Denied() {
+        UserPermissionSnapshot user = snapshotWithActiveModules(Set.of(MODULE_ID));
 
-        user.getAccesses().add(activeAccess);
-
-        IllegalArgumentException exception = assertThrows(IllegalArgumentException.class, () ->
-                rule.validate(user, Set.of(requestedModule), dto));
+        RuleResult result = rule.validate(user, Set.of(requestedModule), dto);
+        assertFalse(result.isApproved());
 
         String expectedMessage = "The user already has active access to the module. " + MODULE_NAME;
-        assertEquals(expectedMessage, exception.getMessage());
+        assertEquals(expectedMessage, result.violations().get(0).message());
 
         verify(message, times(1)).getMessage(eq(MESSAGE_KEY));
     }
-}
\ No newline at end of file
+
+    private static UserPermissionSnapshot snapshotWithActiveModules(Set<Long> moduleIds) {
+        return new UserPermissionSnapshot(USER_ID, Department.TI, moduleIds, Set.of(), moduleIds.size());
+    }
+}
@@ -1,11 +1,8 @@
 package com.acrisio.accesscontrol.domain.rules;
 
 import com.acrisio.accesscontrol.api.dto.AccessRequestCreateDTO;
-import com.acrisio.accesscontrol.domain.enums.RequestStatus;
-import com.acrisio.accesscontrol.domain.model.AccessRequest;
+import com.acrisio.accesscontrol.domain.enums.Department;
 import com.acrisio.accesscontrol.domain.model.Module;
-import com.acrisio.accesscontrol.domain.model.User;
-import com.acrisio.accesscontrol.domain.repository.AccessRequestRepository;
 import com.acrisio.accesscontrol.infrastructure.util.InternationalizationUtil;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
@@ -23,16 +20,12 @@ import static org.mockito.Mockito.*;
 @ExtendWith(MockitoExtension.class)
 class DuplicateActiveRequestRuleUnitTests {
 
-    @Mock
-    private AccessRequestRepository accessRequestRepository;
-
     @Mock
     private InternationalizationUtil message;
 
     @InjectMocks
     private DuplicateActiveRequestRule rule;
 
-    private User user;
     private Module requestedModule;
     private AccessRequestCreateDTO dto;
     private static final Long USER_ID = 1L;
@@ -42,7 +35,6 @@ class DuplicateActiveRequestRuleUnitTests {
 
     @BeforeEach
     void setUp() {
-        user = User.builder().id(USER_ID).email("test@user.com").build();
         requestedModule = Module.builder().id(MODULE_ID).name(MODULE_NAME).build();
         dto = new AccessRequestCreateDTO(USER_ID, List.of(MODULE_ID), "Valid justification.", true);
         lenient().when(message.getMessage(eq(MESSAGE_KEY))).thenReturn("User already has an active request for the module:");
@@ -50,27 +42,24 @@ class DuplicateActiveRequestRuleUnitTests {
 
     @Test
     void validate_NoActiveRequest_Success() {
-        when(accessRequestRepository.findByUser(eq(user))).thenReturn(List.of());
-        assertDoesNotThrow(() -> rule.validate(user, Set.of(requestedModule), dto));
-        verify(accessRequestRepository, times(1)).findByUser(eq(user));
+        UserPermissionSnapshot user = snapshotWithRequestedModules(Set.of());
+        assertTrue(rule.validate(user, Set.of(requestedModule), dto).isApproved());
     }
 
     @Test
-    void validate_ExistingActiveRequestForSameModule_ThrowsIllegalArgumentException() {
-        AccessRequest activeReq = AccessRequest.builder()
-                .status(RequestStatus.ACTIVE)
-                .modules(Set.of(requestedModule))
-                .build();
-
-        when(accessRequestRepository.findByUser(eq(user))).thenReturn(List.of(activeReq));
+    void validate_ExistingActiveRequestForSameModule_Denied() {
+        UserPermissionSnapshot user = snapshotWithRequestedModules(Set.of(MODULE_ID));
 
-        IllegalArgumentException exception = assertThrows(IllegalArgumentException.class, () ->
-                rule.validate(user, Set.of(requestedModule), dto));
+        RuleResult result = rule.validate(user, Set.of(requestedModule), dto);
+        assertFalse(result.isApproved());
 
         String expectedMessage = "User already has an active request for the module: " + MODULE_NAME;
-        assertEquals(expectedMessage, exception.getMessage());
+        assertEquals(expectedMessage, result.violations().get(0).message());
 
-        verify(accessRequestRepository, times(1)).findByUser(eq(user));
         verify(message, times(1)).getMessage(eq(MESSAGE_KEY));
     }
-}
\ No newline at end of file
+
+    private static UserPermissionSnapshot snapshotWithRequestedModules(Set<Long> moduleIds) {
+        return new UserPermissionSnapshot(USER_ID, Department.TI, Set.of(), moduleIds, 0);
+    }
+}
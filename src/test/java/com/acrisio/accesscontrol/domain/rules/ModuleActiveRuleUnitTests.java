@@ -2,7 +2,7 @@ package com.acrisio.accesscontrol.domain.rules;
 
 import com.acrisio.accesscontrol.api.dto.AccessRequestCreateDTO;
 import com.acrisio.accesscontrol.domain.model.Module;
-import com.acrisio.accesscontrol.domain.model.User;
+import com.acrisio.accesscontrol.domain.enums.Department;
 import com.acrisio.accesscontrol.infrastructure.util.InternationalizationUtil;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
@@ -14,9 +14,9 @@ import org.mockito.junit.jupiter.MockitoExtension;
 import java.util.List;
 import java.util.Set;
 
-import static org.junit.jupiter.api.Assertions.assertDoesNotThrow;
 import static org.junit.jupiter.api.Assertions.assertEquals;
-import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
 import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.lenient;
 import static org.mockito.Mockito.verify;
@@ -31,13 +31,13 @@ class ModuleActiveRuleUnitTests {
     @InjectMocks
     private ModuleActiveRule rule;
 
-    private User user;
+    private UserPermissionSnapshot user;
     private AccessRequestCreateDTO validDto;
     private static final String MESSAGE_KEY = "rule.moduleActiveRule.info";
 
     @BeforeEach
     void setUp() {
-        user = User.builder().id(1L).build();
+        user = new UserPermissionSnapshot(1L, Department.TI, Set.of(), Set.of(), 0);
         validDto = new AccessRequestCreateDTO(1L, List.of(1L), "Justificativa longa e válida para teste de regra de módulo.", true);
 
         lenient().when(message.getMessage(eq(MESSAGE_KEY))).thenReturn("O módulo está inativo e não pode ser solicitado:");
@@ -46,19 +46,19 @@ class ModuleActiveRuleUnitTests {
     @Test
     void validate_ModuleIsActive_Success() {
         Module activeModule = Module.builder().id(1L).name("ActiveModule").active(true).build();
-        assertDoesNotThrow(() -> rule.validate(user, Set.of(activeModule), validDto));
+        assertTrue(rule.validate(user, Set.of(activeModule), validDto).isApproved());
     }
 
     @Test
-    void validate_ModuleIsInactive_ThrowsIllegalArgumentException() {
+    void validate_ModuleIsInactive_Denied() {
         String moduleName = "InactiveModule";
         Module inactiveModule = Module.builder().id(2L).name(moduleName).active(false).build();
 
-        IllegalArgumentException exception = assertThrows(IllegalArgumentException.class, () ->
-                rule.validate(user, Set.of(inactiveModule), validDto));
+        RuleResult result = rule.validate(user, Set.of(inactiveModule), validDto);
+        assertFalse(result.isApproved());
 
         String expectedMessage = "O módulo está inativo e não pode ser solicitado: " + moduleName;
-        assertEquals(expectedMessage, exception.getMessage());
+        assertEquals(expectedMessage, result.violations().get(0).message());
 
         // Verifica a chamada específica da mensagem
         verify(message, times(1)).getMessage(eq(MESSAGE_KEY));
@@ -2,9 +2,10 @@ package com.acrisio.accesscontrol.domain.rules;
 
 import com.acrisio.accesscontrol.api.dto.AccessRequestCreateDTO;
 import com.acrisio.accesscontrol.domain.enums.Department;
-import com.acrisio.accesscontrol.domain.model.Access;
 import com.acrisio.accesscontrol.domain.model.Module;
-import com.acrisio.accesscontrol.domain.model.User;
+import com.acrisio.accesscontrol.infrastructure.catalog.ModuleCatalog;
+import com.acrisio.accesscontrol.infrastructure.catalog.ModuleCatalogSnapshot;
+import com.acrisio.accesscontrol.infrastructure.text.JustificationBlocklist;
 import com.acrisio.accesscontrol.infrastructure.util.InternationalizationUtil;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
@@ -13,13 +14,11 @@ import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
 
-import java.time.OffsetDateTime;
-import java.util.ArrayList;
 import java.util.Collections;
 import java.util.List;
 import java.util.Set;
 import java.util.stream.Collectors;
-import java.util.stream.IntStream;
+import java.util.stream.LongStream;
 
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.Mockito.*;
@@ -29,6 +28,8 @@ class BusinessRulesUnitTests {
 
     @Mock
     private InternationalizationUtil message;
+    @Mock
+    private ModuleCatalog moduleCatalog;
 
     // Injeta o mock 'message' nas regras de negócio
     @InjectMocks
@@ -37,15 +38,14 @@ class BusinessRulesUnitTests {
     private ModuleLimitRule moduleLimitRule;
     @InjectMocks
     private ModuleCompatibilityRule moduleCompatibilityRule;
-    @InjectMocks
     private JustificationRule justificationRule;
 
     // Test data
     private AccessRequestCreateDTO validDto;
     private Module portalModule;
-    private User tiUser;
-    private User financeUser;
-    private User rhUser;
+    private UserPermissionSnapshot tiUser;
+    private UserPermissionSnapshot financeUser;
+    private UserPermissionSnapshot rhUser;
 
     @BeforeEach
     void setUp() {
@@ -54,19 +54,22 @@ class BusinessRulesUnitTests {
         lenient().when(message.getMessage(eq("rule.moduleLimitRule.infoII"))).thenReturn("Max allowed is:");
         lenient().when(message.getMessage(eq("rule.moduleCompatibilityRule.infoI"))).thenReturn("Requested incompatible:");
         lenient().when(message.getMessage(eq("rule.moduleCompatibilityRule.infoII"))).thenReturn("with active:");
+        lenient().when(message.getMessage(eq("rule.moduleCompatibilityRule.infoIII"))).thenReturn("with requested:");
         lenient().when(message.getMessage(eq("rule.justificationRule.info"))).thenReturn("Justification required.");
         lenient().when(message.getMessage(eq("rule.justificationRule.infoII"))).thenReturn("Length invalid.");
         lenient().when(message.getMessage(eq("rule.justificationRule.infoIII"))).thenReturn("Generic or repetitive content.");
 
+        justificationRule = new JustificationRule(message, JustificationBlocklist.defaults());
+
         validDto = new AccessRequestCreateDTO(1L, List.of(1L), "Justificativa válida com mais de vinte caracteres e específica.", false);
 
         // Setup Modules
         portalModule = Module.builder().id(1L).name("PORTAL").build();
 
-        // Setup Users (usando mock de lista vazia para 'accesses' para evitar NPE se a regra não verificar nulos)
-        tiUser = User.builder().id(10L).department(Department.TI).accesses(new ArrayList<>()).build();
-        financeUser = User.builder().id(20L).department(Department.FINANCE).accesses(new ArrayList<>()).build();
-        rhUser = User.builder().id(30L).department(Department.RH).accesses(new ArrayList<>()).build();
+        // Setup Users (snapshots sem acessos nem solicitações ativas)
+        tiUser = snapshot(10L, Department.TI, Set.of());
+        financeUser = snapshot(20L, Department.FINANCE, Set.of());
+        rhUser = snapshot(30L, Department.RH, Set.of());
     }
 
     //  DepartmentPermissionRule Tests
@@ -74,79 +77,82 @@ class BusinessRulesUnitTests {
     @Test
     void departmentPermissionRule_TISuccess() {
         // TI pode acessar todos os módulos
-        Module auditModule = Module.builder().id(10L).name("AUDITORIA").build();
-        assertDoesNotThrow(() -> departmentPermissionRule.validate(tiUser, Set.of(auditModule), validDto));
+        Module auditModule = Module.builder().id(10L).name("AUDITORIA").permittedDepartments(Set.of(Department.TI)).build();
+        when(moduleCatalog.snapshot()).thenReturn(ModuleCatalogSnapshot.of(List.of(auditModule)));
+        assertTrue(departmentPermissionRule.validate(tiUser, Set.of(auditModule), validDto).isApproved());
     }
 
     @Test
     void departmentPermissionRule_FinanceDeniedForRHModule() {
         // Financeiro tentando acessar módulo exclusivo de RH
-        Module adminRH = Module.builder().id(6L).name("ADMINISTRADOR_RH").build();
-        assertThrows(IllegalArgumentException.class, () ->
-                departmentPermissionRule.validate(financeUser, Set.of(adminRH), validDto));
+        Module adminRH = Module.builder().id(6L).name("ADMINISTRADOR_RH").permittedDepartments(Set.of(Department.TI, Department.RH)).build();
+        when(moduleCatalog.snapshot()).thenReturn(ModuleCatalogSnapshot.of(List.of(adminRH)));
+        assertFalse(departmentPermissionRule.validate(financeUser, Set.of(adminRH), validDto).isApproved());
     }
 
     @Test
     void departmentPermissionRule_RHDeniedForEstoqueModule() {
         // RH tentando acessar módulo exclusivo de Operações
-        Module estoque = Module.builder().id(8L).name("ESTOQUE").build();
-        assertThrows(IllegalArgumentException.class, () ->
-                departmentPermissionRule.validate(rhUser, Set.of(estoque), validDto));
+        Module estoque = Module.builder().id(8L).name("ESTOQUE").permittedDepartments(Set.of(Department.TI, Department.OPERATIONS)).build();
+        when(moduleCatalog.snapshot()).thenReturn(ModuleCatalogSnapshot.of(List.of(estoque)));
+        assertFalse(departmentPermissionRule.validate(rhUser, Set.of(estoque), validDto).isApproved());
     }
 
     @Test
     void departmentPermissionRule_FinanceSuccessForFinanceModule() {
         // Financeiro solicitando módulo permitido (GESTAO_FINANCEIRA)
-        Module finance = Module.builder().id(3L).name("GESTAO_FINANCEIRA").build();
-        assertDoesNotThrow(() -> departmentPermissionRule.validate(financeUser, Set.of(finance), validDto));
+        Module finance = Module.builder().id(3L).name("GESTAO_FINANCEIRA").permittedDepartments(Set.of(Department.TI, Department.FINANCE)).build();
+        when(moduleCatalog.snapshot()).thenReturn(ModuleCatalogSnapshot.of(List.of(finance)));
+        assertTrue(departmentPermissionRule.validate(financeUser, Set.of(finance), validDto).isApproved());
+    }
+
+    @Test
+    void departmentPermissionRule_ModuleOutsideCatalog_UsesEntityDepartments() {
+        // Módulo criado depois do último snapshot: a regra consulta a própria entidade
+        Module novo = Module.builder().id(42L).name("NOVO_MODULO").permittedDepartments(Set.of(Department.RH)).build();
+        when(moduleCatalog.snapshot()).thenReturn(ModuleCatalogSnapshot.empty());
+        assertTrue(departmentPermissionRule.validate(rhUser, Set.of(novo), validDto).isApproved());
+        assertFalse(departmentPermissionRule.validate(financeUser, Set.of(novo), validDto).isApproved());
     }
 
     // ModuleLimitRule Tests
 
     @Test
-    void moduleLimitRule_NonTILimitExceeded_ThrowsException() {
+    void moduleLimitRule_NonTILimitExceeded_Denied() {
 
         // Limite para não-TI é 5. Adiciona 5 acessos ativos. Tenta solicitar mais 1.
-        List<Access> activeAccesses = IntStream.range(1, 6)
-                .mapToObj(i -> Access.builder().expiresAt(OffsetDateTime.now().plusDays(180)).module(Module.builder().id((long) i).build()).build())
-                .collect(Collectors.toList());
-        financeUser.setAccesses(activeAccesses); // Set acessos para o usuário
+        financeUser = snapshot(20L, Department.FINANCE, LongStream.range(1, 6).boxed().collect(Collectors.toSet()));
 
         Module extraModule = Module.builder().id(99L).build();
 
-        assertThrows(IllegalArgumentException.class, () ->
-                moduleLimitRule.validate(financeUser, Set.of(extraModule), validDto));
+        assertFalse(moduleLimitRule.validate(financeUser, Set.of(extraModule), validDto).isApproved());
     }
 
     @Test
     void moduleLimitRule_TILimitNotExceeded_Success() {
         // Limite para TI é 10. Adiciona 9 acessos ativos. Tenta solicitar mais 1.
-        List<Access> activeAccesses = IntStream.range(1, 10)
-                .mapToObj(i -> Access.builder().expiresAt(OffsetDateTime.now().plusDays(180)).module(Module.builder().id((long) i).build()).build())
-                .collect(Collectors.toList());
-        tiUser.setAccesses(activeAccesses); // Set acessos para o usuário
+        tiUser = snapshot(10L, Department.TI, LongStream.range(1, 10).boxed().collect(Collectors.toSet()));
 
         Module extraModule = Module.builder().id(99L).build();
 
-        assertDoesNotThrow(() -> moduleLimitRule.validate(tiUser, Set.of(extraModule), validDto));
+        assertTrue(moduleLimitRule.validate(tiUser, Set.of(extraModule), validDto).isApproved());
     }
 
 
     // ModuleCompatibilityRule Tests
 
     @Test
-    void moduleCompatibilityRule_IncompatibilityFound_ThrowsException() {
+    void moduleCompatibilityRule_IncompatibilityFound_Denied() {
         // Módulos: Aprovador (4) e Solicitante (5) são incompatíveis (simulado).
         Module aprovador = Module.builder().id(4L).name("APROVADOR").build();
         Module solicitante = Module.builder().id(5L).name("SOLICITANTE").incompatibleModules(Set.of(aprovador)).build();
+        when(moduleCatalog.snapshot()).thenReturn(ModuleCatalogSnapshot.of(List.of(aprovador, solicitante)));
 
-        // Spy no usuário para simular getActiveModules e setar os módulos ativos.
-        User spyUser = spy(financeUser);
-        when(spyUser.getActiveModules()).thenReturn(Set.of(aprovador)); // Mock retorna o módulo ativo
+        // Usuário com o módulo APROVADOR ativo
+        UserPermissionSnapshot activeUser = snapshot(20L, Department.FINANCE, Set.of(aprovador.getId()));
 
         // Tentar solicitar SOLICITANTE
-        assertThrows(IllegalArgumentException.class, () ->
-                moduleCompatibilityRule.validate(spyUser, Set.of(solicitante), validDto));
+        assertFalse(moduleCompatibilityRule.validate(activeUser, Set.of(solicitante), validDto).isApproved());
     }
 
     @Test
@@ -154,45 +160,78 @@ class BusinessRulesUnitTests {
         // Módulos: Aprovador (4) e Relatórios (2) são compatíveis.
         Module aprovador = Module.builder().id(4L).name("APROVADOR").build();
         Module relatorios = Module.builder().id(2L).name("RELATORIOS").incompatibleModules(Collections.emptySet()).build();
+        when(moduleCatalog.snapshot()).thenReturn(ModuleCatalogSnapshot.of(List.of(aprovador, relatorios)));
 
-        User spyUser = spy(financeUser);
-        when(spyUser.getActiveModules()).thenReturn(Set.of(aprovador));
+        UserPermissionSnapshot activeUser = snapshot(20L, Department.FINANCE, Set.of(aprovador.getId()));
 
         // Tentar solicitar RELATORIOS
-        assertDoesNotThrow(() -> moduleCompatibilityRule.validate(spyUser, Set.of(relatorios), validDto));
+        assertTrue(moduleCompatibilityRule.validate(activeUser, Set.of(relatorios), validDto).isApproved());
+    }
+
+    @Test
+    void moduleCompatibilityRule_IncompatibleModulesRequestedTogether_Denied() {
+        // Aprovador e Solicitante na mesma solicitação, sem nenhum acesso ativo
+        Module aprovador = Module.builder().id(4L).name("APROVADOR").build();
+        Module solicitante = Module.builder().id(5L).name("SOLICITANTE").incompatibleModules(Set.of(aprovador)).build();
+        when(moduleCatalog.snapshot()).thenReturn(ModuleCatalogSnapshot.of(List.of(aprovador, solicitante)));
+
+        RuleResult result = moduleCompatibilityRule.validate(financeUser, Set.of(aprovador, solicitante), validDto);
+        assertFalse(result.isApproved());
+        assertEquals(1, result.violations().size());
+        assertEquals(5L, result.violations().get(0).moduleId());
+        assertTrue(result.violations().get(0).message().contains("with requested:"));
+    }
+
+    @Test
+    void moduleCompatibilityRule_ModuleOutsideCatalog_UsesEntityIncompatibilities() {
+        Module aprovador = Module.builder().id(4L).name("APROVADOR").build();
+        Module novo = Module.builder().id(42L).name("NOVO_MODULO").incompatibleModules(Set.of(aprovador)).build();
+        when(moduleCatalog.snapshot()).thenReturn(ModuleCatalogSnapshot.empty());
+
+        UserPermissionSnapshot activeUser = snapshot(20L, Department.FINANCE, Set.of(aprovador.getId()));
+
+        assertFalse(moduleCompatibilityRule.validate(activeUser, Set.of(novo), validDto).isApproved());
     }
 
 
     // JustificationRule Tests
 
     @Test
-    void justificationRule_ShortJustification_ThrowsException() {
+    void justificationRule_ShortJustification_Denied() {
         // Justificativa muito curta (< 20 caracteres)
         AccessRequestCreateDTO dto = new AccessRequestCreateDTO(1L, List.of(1L), "teste", false);
-        assertThrows(IllegalArgumentException.class, () ->
-                justificationRule.validate(tiUser, Set.of(portalModule), dto));
+        assertFalse(justificationRule.validate(tiUser, Set.of(portalModule), dto).isApproved());
     }
 
     @Test
-    void justificationRule_GenericJustification_ThrowsException() {
+    void justificationRule_GenericJustification_Denied() {
         // Justificativa com palavra genérica da lista negra ("preciso")
         AccessRequestCreateDTO dto = new AccessRequestCreateDTO(1L, List.of(1L), "Preciso de acesso urgente para o novo projeto.", false);
-        assertThrows(IllegalArgumentException.class, () ->
-                justificationRule.validate(tiUser, Set.of(portalModule), dto));
+        assertFalse(justificationRule.validate(tiUser, Set.of(portalModule), dto).isApproved());
     }
 
     @Test
-    void justificationRule_RepetitiveCharacters_ThrowsException() {
+    void justificationRule_RepetitiveCharacters_Denied() {
         // Justificativa com repetição exagerada de caracteres ("aaaaa")
         AccessRequestCreateDTO dto = new AccessRequestCreateDTO(1L, List.of(1L), "aaaaa Teste de repetição de caracteres.", false);
-        assertThrows(IllegalArgumentException.class, () ->
-                justificationRule.validate(tiUser, Set.of(portalModule), dto));
+        assertFalse(justificationRule.validate(tiUser, Set.of(portalModule), dto).isApproved());
     }
 
     @Test
     void justificationRule_ValidJustification_Success() {
         // Justificativa com comprimento e conteúdo válidos
         AccessRequestCreateDTO dto = new AccessRequestCreateDTO(1L, List.of(1L), "Solicitação de acesso necessária para o cumprimento integral da demanda operacional do mês de novembro.", false);
-        assertDoesNotThrow(() -> justificationRule.validate(tiUser, Set.of(portalModule), dto));
+        assertTrue(justificationRule.validate(tiUser, Set.of(portalModule), dto).isApproved());
+    }
+
+    @Test
+    void justificationRule_AccentedBlocklistTerm_Denied() {
+        // "liberação" é normalizada junto com o texto e passa a ser reconhecida
+        AccessRequestCreateDTO dto = new AccessRequestCreateDTO(1L, List.of(1L), "Pedido de LIBERAÇÃO do módulo para o time.", false);
+        assertFalse(justificationRule.validate(tiUser, Set.of(portalModule), dto).isApproved());
+    }
+
+    private static UserPermissionSnapshot snapshot(Long id, Department department, Set<Long> activeModuleIds) {
+        return new UserPermissionSnapshot(id, department, activeModuleIds, Set.of(), activeModuleIds.size());
     }
-}
\ No newline at end of file
+}
@@ -0,0 +1,94 @@
+package com.acrisio.accesscontrol.domain.rules;
+
+import com.acrisio.accesscontrol.domain.enums.Department;
+import com.acrisio.accesscontrol.domain.enums.RequestStatus;
+import com.acrisio.accesscontrol.domain.model.User;
+import com.acrisio.accesscontrol.domain.repository.AccessRepositoy;
+import com.acrisio.accesscontrol.domain.repository.AccessRequestRepository;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.time.OffsetDateTime;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class UserPermissionSnapshotFactoryUnitTests {
+
+    @Mock
+    private AccessRequestRepository accessRequestRepository;
+    @Mock
+    private AccessRepositoy accessRepository;
+
+    @InjectMocks
+    private UserPermissionSnapshotFactory factory;
+
+    @Test
+    void create_UsesActiveAccessAndRequestProjectionsWithoutLoadingAccesses() {
+        User user = mock(User.class);
+        when(user.getId()).thenReturn(1L);
+        when(user.getDepartment()).thenReturn(Department.FINANCE);
+        when(accessRepository.findActiveModuleIdsByUserId(eq(1L), any(OffsetDateTime.class))).thenReturn(List.of(3L));
+        when(accessRequestRepository.findModuleIdsByUserAndStatus(eq(1L), eq(RequestStatus.ACTIVE))).thenReturn(List.of(3L, 7L));
+
+        UserPermissionSnapshot snapshot = factory.create(user);
+
+        assertEquals(1L, snapshot.userId());
+        assertEquals(Department.FINANCE, snapshot.department());
+        assertEquals(Set.of(3L), snapshot.activeModuleIds());
+        assertEquals(1, snapshot.activeAccessCount());
+        assertEquals(Set.of(3L, 7L), snapshot.activeRequestedModuleIds());
+        verify(accessRequestRepository, never()).findByUser(any());
+        verify(user, never()).getAccesses();
+    }
+
+    @Test
+    void create_SameModuleInTwoAccesses_CountsBothAccesses() {
+        User user = User.builder().id(3L).department(Department.TI).build();
+        when(accessRepository.findActiveModuleIdsByUserId(eq(3L), any(OffsetDateTime.class))).thenReturn(List.of(3L, 3L, 4L));
+        when(accessRequestRepository.findModuleIdsByUserAndStatus(eq(3L), eq(RequestStatus.ACTIVE))).thenReturn(List.of());
+
+        UserPermissionSnapshot snapshot = factory.create(user);
+
+        assertEquals(Set.of(3L, 4L), snapshot.activeModuleIds());
+        assertEquals(3, snapshot.activeAccessCount());
+    }
+
+    @Test
+    void createAll_GroupsProjectionRowsByUser() {
+        User first = User.builder().id(1L).department(Department.TI).build();
+        User second = User.builder().id(2L).department(Department.RH).build();
+        when(accessRepository.findActiveModuleIdsByUserIds(eq(List.of(1L, 2L)), any(OffsetDateTime.class)))
+                .thenReturn(List.of(new Object[]{1L, 3L}, new Object[]{1L, 4L}));
+        when(accessRequestRepository.findUserModuleIdsByUsersAndStatus(eq(List.of(1L, 2L)), eq(RequestStatus.ACTIVE)))
+                .thenReturn(List.<Object[]>of(new Object[]{2L, 9L}));
+
+        Map<Long, UserPermissionSnapshot> snapshots = factory.createAll(List.of(first, second));
+
+        assertEquals(Set.of(3L, 4L), snapshots.get(1L).activeModuleIds());
+        assertEquals(2, snapshots.get(1L).activeAccessCount());
+        assertTrue(snapshots.get(1L).activeRequestedModuleIds().isEmpty());
+        assertTrue(snapshots.get(2L).activeModuleIds().isEmpty());
+        assertEquals(Set.of(9L), snapshots.get(2L).activeRequestedModuleIds());
+    }
+
+    @Test
+    void create_UserWithoutAccesses_ReturnsEmptySnapshot() {
+        User user = User.builder().id(2L).department(Department.TI).build();
+        when(accessRepository.findActiveModuleIdsByUserId(eq(2L), any(OffsetDateTime.class))).thenReturn(List.of());
+        when(accessRequestRepository.findModuleIdsByUserAndStatus(eq(2L), eq(RequestStatus.ACTIVE))).thenReturn(List.of());
+
+        UserPermissionSnapshot snapshot = factory.create(user);
+
+        assertTrue(snapshot.activeModuleIds().isEmpty());
+        assertTrue(snapshot.activeRequestedModuleIds().isEmpty());
+        assertEquals(0, snapshot.activeAccessCount());
+    }
+}
@@ -7,6 +7,7 @@ import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.validation.BindingResult;
@@ -90,6 +91,18 @@ class ApiExceptionHandlerTests {
         assertEquals(message, response.getBody().getMessage());
     }
 
+    @Test
+    void serviceUnavailableException_Returns503WithRetryAfter() {
+        String message = "Too many concurrent logins.";
+        ServiceUnavailableException exception = new ServiceUnavailableException(message, 2);
+
+        ResponseEntity<ErrorMessage> response = handler.serviceUnavailableException(exception, request);
+
+        assertEquals(HttpStatus.SERVICE_UNAVAILABLE, response.getStatusCode());
+        assertEquals("2", response.getHeaders().getFirst(HttpHeaders.RETRY_AFTER));
+        assertEquals(message, Objects.requireNonNull(response.getBody()).getMessage());
+    }
+
     @Test
     void methodArgumentNotValidException_Returns422UnprocessableEntityWithErrors() {
 
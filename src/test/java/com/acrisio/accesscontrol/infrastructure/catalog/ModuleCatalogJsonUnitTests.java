@@ -0,0 +1,59 @@
+package com.acrisio.accesscontrol.infrastructure.catalog;
+
+import com.acrisio.accesscontrol.domain.enums.Department;
+import com.acrisio.accesscontrol.domain.model.Module;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class ModuleCatalogJsonUnitTests {
+
+    @Mock
+    private ModuleCatalog moduleCatalog;
+
+    @Test
+    void modules_SameSnapshot_ReusesRenderedBytes() {
+        when(moduleCatalog.snapshot()).thenReturn(ModuleCatalogSnapshot.of(List.of(module(1L, "PORTAL"))));
+        ModuleCatalogJson json = new ModuleCatalogJson(moduleCatalog, new ObjectMapper());
+
+        ModuleCatalogJson.Rendered first = json.modules();
+        ModuleCatalogJson.Rendered second = json.modules();
+
+        assertSame(first.json(), second.json());
+        assertTrue(first.etag().startsWith("\"") && first.etag().endsWith("\""));
+        assertTrue(new String(first.json(), StandardCharsets.UTF_8).contains("\"permittedDepartments\":[\"FINANCE\",\"RH\",\"TI\"]"));
+    }
+
+    @Test
+    void modules_NewSnapshot_RendersAgainWithContentEtag() {
+        ModuleCatalogSnapshot original = ModuleCatalogSnapshot.of(1, List.of(module(1L, "PORTAL")));
+        ModuleCatalogSnapshot reloaded = ModuleCatalogSnapshot.of(2, List.of(module(1L, "PORTAL")));
+        ModuleCatalogSnapshot renamed = ModuleCatalogSnapshot.of(3, List.of(module(1L, "PORTAL_NOVO")));
+        when(moduleCatalog.snapshot()).thenReturn(original, reloaded, renamed);
+        ModuleCatalogJson json = new ModuleCatalogJson(moduleCatalog, new ObjectMapper());
+
+        ModuleCatalogJson.Rendered first = json.modules();
+        ModuleCatalogJson.Rendered sameContent = json.modules();
+        ModuleCatalogJson.Rendered changed = json.modules();
+
+        // Mesmo conteúdo, mesmo ETag: vale também entre instâncias
+        assertNotSame(first.json(), sameContent.json());
+        assertEquals(first.etag(), sameContent.etag());
+        assertNotEquals(first.etag(), changed.etag());
+    }
+
+    private static Module module(Long id, String name) {
+        return Module.builder().id(id).name(name).description("Módulo").active(true)
+                .permittedDepartments(Set.of(Department.TI, Department.RH, Department.FINANCE)).build();
+    }
+}
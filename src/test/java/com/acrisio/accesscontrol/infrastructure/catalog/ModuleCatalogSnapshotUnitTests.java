@@ -0,0 +1,67 @@
+package com.acrisio.accesscontrol.infrastructure.catalog;
+
+import com.acrisio.accesscontrol.domain.enums.Department;
+import com.acrisio.accesscontrol.domain.model.Module;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.stream.LongStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ModuleCatalogSnapshotUnitTests {
+
+    @Test
+    void of_BuildsDepartmentMatrixFromPermittedDepartments() {
+        Module portal = Module.builder().id(1L).name("PORTAL").permittedDepartments(Set.of(Department.values())).build();
+        Module rh = Module.builder().id(6L).name("ADMINISTRADOR_RH").permittedDepartments(Set.of(Department.TI, Department.RH)).build();
+        Module semDepartamentos = Module.builder().id(11L).name("SEM_DEPARTAMENTOS").build();
+
+        ModuleCatalogSnapshot snapshot = ModuleCatalogSnapshot.of(List.of(portal, rh, semDepartamentos));
+
+        assertEquals(3, snapshot.size());
+        assertTrue(snapshot.isPermitted(Department.FINANCE, snapshot.positionOf(1L)));
+        assertTrue(snapshot.isPermitted(Department.RH, snapshot.positionOf(6L)));
+        assertFalse(snapshot.isPermitted(Department.FINANCE, snapshot.positionOf(6L)));
+        assertFalse(snapshot.isPermitted(Department.TI, snapshot.positionOf(11L)));
+        assertEquals(ModuleCatalogSnapshot.ABSENT, snapshot.positionOf(99L));
+        assertEquals(ModuleCatalogSnapshot.ABSENT, snapshot.positionOf(null));
+    }
+
+    @Test
+    void firstIncompatible_MoreThanOneWordOfModules_FindsConflict() {
+        // 130 módulos ocupam três palavras de 64 bits; o último é incompatível com o primeiro
+        List<Module> modules = new ArrayList<>();
+        LongStream.rangeClosed(1, 129).forEach(id -> modules.add(Module.builder().id(id).name("M" + id).build()));
+        Module last = Module.builder().id(130L).name("M130").incompatibleModules(Set.of(modules.get(0))).build();
+        modules.add(last);
+
+        ModuleCatalogSnapshot snapshot = ModuleCatalogSnapshot.of(modules);
+
+        long[] active = snapshot.bitsOf(List.of(modules.get(0), modules.get(100)));
+        int conflict = snapshot.firstIncompatible(snapshot.positionOf(130L), active);
+        assertEquals("M1", snapshot.nameAt(conflict));
+
+        long[] unrelated = snapshot.bitsOf(List.of(modules.get(100)));
+        assertEquals(ModuleCatalogSnapshot.ABSENT, snapshot.firstIncompatible(snapshot.positionOf(130L), unrelated));
+    }
+
+    @Test
+    void moduleOf_ReturnsReadOnlyCopyLinkedToCopies() {
+        Module financeiro = Module.builder().id(3L).name("FINANCEIRO").active(true).permittedDepartments(Set.of(Department.FINANCE)).build();
+        Module auditoria = Module.builder().id(4L).name("AUDITORIA").active(false).incompatibleModules(Set.of(financeiro)).build();
+
+        ModuleCatalogSnapshot snapshot = ModuleCatalogSnapshot.of(List.of(financeiro, auditoria));
+
+        Module copy = snapshot.moduleOf(4L);
+        assertNotSame(auditoria, copy);
+        assertEquals("AUDITORIA", copy.getName());
+        assertFalse(copy.getActive());
+        assertEquals(Set.of(), copy.getPermittedDepartments());
+        assertSame(snapshot.moduleOf(3L), copy.getIncompatibleModules().iterator().next());
+        assertThrows(UnsupportedOperationException.class, () -> snapshot.moduleOf(3L).getPermittedDepartments().clear());
+        assertNull(snapshot.moduleOf(99L));
+    }
+}
@@ -0,0 +1,77 @@
+package com.acrisio.accesscontrol.infrastructure.catalog;
+
+import com.acrisio.accesscontrol.api.dto.ModuleDTO;
+import com.acrisio.accesscontrol.domain.repository.CatalogVersionRepository;
+import com.acrisio.accesscontrol.domain.repository.ModuleRepository;
+import com.acrisio.accesscontrol.service.ModuleService;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Dois catálogos sobre o mesmo banco simulam duas instâncias da API: a alteração feita
+ * pelo ModuleService de um nó chega ao outro na próxima verificação de versão.
+ * Sem @Transactional: a versão e o módulo precisam ser confirmados para o outro nó enxergar.
+ */
+@SpringBootTest
+@ActiveProfiles("test")
+class ModuleCatalogTests {
+
+    @Autowired
+    ModuleService moduleService;
+    @Autowired
+    ModuleCatalog moduleCatalog;
+    @Autowired
+    ModuleRepository moduleRepository;
+    @Autowired
+    CatalogVersionRepository versionRepository;
+    @Autowired
+    PlatformTransactionManager transactionManager;
+
+    private Long createdId;
+
+    @AfterEach
+    void cleanUp() {
+        if (createdId != null) {
+            moduleService.delete(createdId);
+        }
+    }
+
+    @Test
+    void moduleChange_OtherNodeConvergesOnNextPoll() {
+        ModuleCatalog otherNode = new ModuleCatalog(moduleRepository, versionRepository, transactionManager);
+        ModuleCatalogSnapshot before = otherNode.snapshot();
+
+        ModuleDTO created = moduleService.create(new ModuleDTO(null, "CATALOGO_" + System.nanoTime(),
+                "Módulo criado por outro nó", true, Set.of("TI"), Set.of()));
+        createdId = created.id();
+
+        // O nó que gravou já enxerga a alteração; o outro, só depois de verificar a versão
+        assertEquals(created, moduleCatalog.snapshot().dtoOf(createdId));
+        assertNull(otherNode.snapshot().dtoOf(createdId));
+
+        otherNode.poll();
+
+        ModuleCatalogSnapshot after = otherNode.snapshot();
+        assertTrue(after.version() > before.version());
+        assertEquals(created, after.dtoOf(createdId));
+        assertEquals(moduleCatalog.snapshot().version(), after.version());
+    }
+
+    @Test
+    void poll_VersionUnchanged_KeepsSnapshot() {
+        ModuleCatalog otherNode = new ModuleCatalog(moduleRepository, versionRepository, transactionManager);
+        ModuleCatalogSnapshot before = otherNode.snapshot();
+
+        otherNode.poll();
+
+        assertSame(before, otherNode.snapshot());
+    }
+}
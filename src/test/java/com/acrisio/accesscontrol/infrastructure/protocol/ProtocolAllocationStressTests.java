@@ -0,0 +1,277 @@
+package com.acrisio.accesscontrol.infrastructure.protocol;
+
+import com.acrisio.accesscontrol.AccessRequestServiceApplication;
+import com.acrisio.accesscontrol.api.dto.AccessRequestCreateDTO;
+import com.acrisio.accesscontrol.domain.enums.Department;
+import com.acrisio.accesscontrol.domain.model.Module;
+import com.acrisio.accesscontrol.domain.model.User;
+import com.acrisio.accesscontrol.domain.repository.ModuleRepository;
+import com.acrisio.accesscontrol.domain.repository.UserRepository;
+import com.acrisio.accesscontrol.service.AccessRequestService;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.Banner;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.IntFunction;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Harness de carga para a alocação de protocolos.
+ * Sobe vários contextos Spring (simulando os nós atrás do Nginx) apontando para o mesmo banco
+ * e dispara generateProtocol() e createRequest() a partir de muitas threads, reportando
+ * alocações por segundo, latência p99 e toda duplicidade ou lacuna na numeração SOL-.
+ * Depois do encerramento limpo dos nós, toda lacuna precisa estar em tb_protocol_free_range.
+ *
+ * Executar com: mvn -Pstress test
+ * Parâmetros (-D): stress.contexts, stress.threads, stress.iterations, stress.blockSize,
+ * stress.db.url, stress.db.user, stress.db.pass (padrão: H2 em memória compartilhado).
+ */
+@Tag("stress")
+class ProtocolAllocationStressTests {
+
+    private static final int CONTEXTS = Integer.getInteger("stress.contexts", 3);
+    private static final int THREADS = Integer.getInteger("stress.threads", 16);
+    private static final int ITERATIONS = Integer.getInteger("stress.iterations", 200);
+    private static final int BLOCK_SIZE = Integer.getInteger("stress.blockSize", 50);
+    private static final String DB_URL = System.getProperty("stress.db.url", "jdbc:h2:mem:stressdb;DB_CLOSE_DELAY=-1;MODE=PostgreSQL");
+    private static final String DB_USER = System.getProperty("stress.db.user", "sa");
+    private static final String DB_PASS = System.getProperty("stress.db.pass", "");
+
+    private final List<ConfigurableApplicationContext> contexts = new ArrayList<>();
+    private JdbcTemplate jdbc;
+
+    @BeforeEach
+    void startNodes() {
+        for (int i = 0; i < CONTEXTS; i++) {
+            contexts.add(new SpringApplicationBuilder(AccessRequestServiceApplication.class)
+                    .bannerMode(Banner.Mode.OFF)
+                    .run("--spring.profiles.active=stress",
+                            "--server.port=0",
+                            "--logging.level.root=WARN",
+                            "--spring.datasource.url=" + DB_URL,
+                            "--spring.datasource.username=" + DB_USER,
+                            "--spring.datasource.password=" + DB_PASS,
+                            "--spring.jpa.hibernate.ddl-auto=update",
+                            "--spring.sql.init.mode=never",
+                            "--protocol.blockSize=" + BLOCK_SIZE));
+        }
+        // Conexão própria: continua válida depois que os nós são encerrados
+        jdbc = new JdbcTemplate(new DriverManagerDataSource(DB_URL, DB_USER, DB_PASS));
+        jdbc.update("delete from tb_request_history");
+        jdbc.update("delete from tb_access_request_modules");
+        jdbc.update("delete from tb_access_request");
+        jdbc.update("delete from tb_access");
+        jdbc.update("delete from tb_protocol_sequence");
+        jdbc.update("delete from tb_protocol_free_range");
+    }
+
+    @AfterEach
+    void stopNodes() {
+        contexts.forEach(ConfigurableApplicationContext::close);
+        contexts.clear();
+    }
+
+    @Test
+    void generateProtocol_ManyThreadsAcrossNodes_NoDuplicates() throws Exception {
+        Run run = hammer("generateProtocol()", node -> {
+            AccessRequestService service = contexts.get(node).getBean(AccessRequestService.class);
+            return service::generateProtocol;
+        });
+
+        stopNodes();
+        Report report = analyze(run.protocols());
+        report.print(run);
+
+        assertEquals(0, run.errors().get());
+        assertTrue(report.duplicates().isEmpty(), "Duplicated protocols: " + report.duplicates());
+        assertTrue(report.lost().isEmpty(), "Lost protocol numbers: " + report.lost());
+    }
+
+    @Test
+    void createRequest_ManyThreadsAcrossNodes_NoDuplicates() throws Exception {
+        User user = new User();
+        user.setName("Stress User");
+        user.setEmail("stress-" + System.nanoTime() + "@corp.com");
+        user.setPasswordHash("x");
+        user.setDepartment(Department.TI);
+        contexts.get(0).getBean(UserRepository.class).save(user);
+
+        Module module = new Module();
+        module.setName("STRESS_" + System.nanoTime());
+        module.setDescription("Módulo de carga");
+        module.setActive(true);
+        module.setPermittedDepartments(new HashSet<>(Set.of(Department.TI)));
+        module.setIncompatibleModules(new HashSet<>());
+        contexts.get(0).getBean(ModuleRepository.class).save(module);
+
+        AccessRequestCreateDTO dto = new AccessRequestCreateDTO(user.getId(), List.of(module.getId()),
+                "Carga de teste para validar a alocação de protocolos entre nós.", false);
+
+        // O mesmo caminho do POST /request: o controller apenas monta o DTO e chama o service
+        Run run = hammer("createRequest()", node -> {
+            AccessRequestService service = contexts.get(node).getBean(AccessRequestService.class);
+            return () -> service.createRequest(dto).protocol();
+        });
+
+        stopNodes();
+        List<String> persisted = jdbc.queryForList("select tb_access_request_protocol from tb_access_request", String.class);
+        Report report = analyze(persisted);
+        report.print(run);
+
+        assertEquals(0, run.errors().get());
+        assertEquals(run.protocols().size(), persisted.size());
+        assertTrue(report.duplicates().isEmpty(), "Duplicated protocols: " + report.duplicates());
+        assertTrue(report.lost().isEmpty(), "Lost protocol numbers: " + report.lost());
+    }
+
+    private Run hammer(String name, IntFunction<Allocation> allocationForNode) throws Exception {
+        ExecutorService pool = Executors.newFixedThreadPool(THREADS);
+        CountDownLatch start = new CountDownLatch(1);
+        ConcurrentLinkedQueue<String> protocols = new ConcurrentLinkedQueue<>();
+        long[] latencies = new long[THREADS * ITERATIONS];
+        AtomicInteger errors = new AtomicInteger();
+        List<Future<?>> futures = new ArrayList<>();
+
+        for (int t = 0; t < THREADS; t++) {
+            int thread = t;
+            Allocation allocation = allocationForNode.apply(thread % CONTEXTS);
+            futures.add(pool.submit(() -> {
+                start.await();
+                for (int i = 0; i < ITERATIONS; i++) {
+                    long begin = System.nanoTime();
+                    try {
+                        protocols.add(allocation.next());
+                    } catch (RuntimeException ex) {
+                        errors.incrementAndGet();
+                    }
+                    latencies[thread * ITERATIONS + i] = System.nanoTime() - begin;
+                }
+                return null;
+            }));
+        }
+
+        long begin = System.nanoTime();
+        start.countDown();
+        for (Future<?> f : futures) {
+            f.get();
+        }
+        long elapsed = System.nanoTime() - begin;
+        pool.shutdown();
+        pool.awaitTermination(10, TimeUnit.SECONDS);
+
+        return new Run(name, new ArrayList<>(protocols), latencies, elapsed, errors);
+    }
+
+    private Report analyze(List<String> protocols) {
+        Map<String, Integer> occurrences = new TreeMap<>();
+        Map<String, Set<Integer>> numbersByDay = new TreeMap<>();
+        for (String protocol : protocols) {
+            occurrences.merge(protocol, 1, Integer::sum);
+            String[] parts = protocol.split("-");
+            numbersByDay.computeIfAbsent(parts[1], d -> new HashSet<>()).add(Integer.parseInt(parts[2]));
+        }
+
+        List<String> duplicates = new ArrayList<>(occurrences.entrySet().stream()
+                .filter(e -> e.getValue() > 1)
+                .map(e -> e.getKey() + " x" + e.getValue())
+                .toList());
+
+        List<String> gaps = new ArrayList<>();
+        numbersByDay.forEach((day, numbers) -> {
+            int max = numbers.stream().mapToInt(Integer::intValue).max().orElse(0);
+            int gapStart = -1;
+            for (int n = 1; n <= max + 1; n++) {
+                boolean missing = n <= max && !numbers.contains(n);
+                if (missing && gapStart < 0) {
+                    gapStart = n;
+                } else if (!missing && gapStart > 0) {
+                    gaps.add(day + " [" + gapStart + ".." + (n - 1) + "]");
+                    gapStart = -1;
+                }
+            }
+        });
+
+        // Perdido: abaixo do contador do dia, nunca emitido e fora dos intervalos livres
+        Map<String, Set<Integer>> accounted = new TreeMap<>();
+        numbersByDay.forEach((day, numbers) -> accounted.put(day, new HashSet<>(numbers)));
+        jdbc.query("select protocol_date, first_number, last_number from tb_protocol_free_range", rs -> {
+            Set<Integer> numbers = accounted.computeIfAbsent(rs.getString(1), d -> new HashSet<>());
+            for (int n = rs.getInt(2); n <= rs.getInt(3); n++) {
+                if (!numbers.add(n)) {
+                    duplicates.add(rs.getString(1) + " " + n + " issued and free");
+                }
+            }
+        });
+        List<String> lost = new ArrayList<>();
+        jdbc.query("select protocol_date, counter from tb_protocol_sequence", rs -> {
+            Set<Integer> numbers = accounted.getOrDefault(rs.getString(1), Set.of());
+            for (int n = 1; n <= rs.getInt(2); n++) {
+                if (!numbers.contains(n)) {
+                    lost.add(rs.getString(1) + " " + n);
+                }
+            }
+        });
+        return new Report(duplicates, gaps, lost);
+    }
+
+    @FunctionalInterface
+    private interface Allocation {
+        String next();
+    }
+
+    private record Run(String name, List<String> protocols, long[] latencies, long elapsedNanos, AtomicInteger errors) {
+    }
+
+    private record Report(List<String> duplicates, List<String> gaps, List<String> lost) {
+
+        void print(Run run) {
+            long[] sorted = run.latencies().clone();
+            Arrays.sort(sorted);
+            long p50 = sorted[(int) (sorted.length * 0.50)];
+            long p99 = sorted[Math.min(sorted.length - 1, (int) (sorted.length * 0.99))];
+            double seconds = run.elapsedNanos() / 1_000_000_000.0;
+
+            System.out.printf("""
+
+                    === %s: %d contexts x %d threads x %d iterations (blockSize=%d) ===
+                    allocations : %d (errors: %d)
+                    throughput  : %.0f allocations/s
+                    latency p50 : %.3f ms
+                    latency p99 : %.3f ms
+                    latency max : %.3f ms
+                    duplicates  : %d %s
+                    gaps        : %d %s
+                    lost        : %d %s
+                    %n""",
+                    run.name(), CONTEXTS, THREADS, ITERATIONS, BLOCK_SIZE,
+                    run.protocols().size(), run.errors().get(),
+                    run.protocols().size() / seconds,
+                    p50 / 1_000_000.0, p99 / 1_000_000.0, sorted[sorted.length - 1] / 1_000_000.0,
+                    duplicates.size(), duplicates,
+                    gaps.size(), gaps,
+                    lost.size(), lost);
+        }
+    }
+}
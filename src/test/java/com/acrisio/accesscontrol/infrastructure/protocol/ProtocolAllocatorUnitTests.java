@@ -0,0 +1,214 @@
+package com.acrisio.accesscontrol.infrastructure.protocol;
+
+import com.acrisio.accesscontrol.domain.model.ProtocolFreeRange;
+import com.acrisio.accesscontrol.domain.model.ProtocolSequence;
+import com.acrisio.accesscontrol.domain.repository.ProtocolFreeRangeRepository;
+import com.acrisio.accesscontrol.domain.repository.ProtocolSequenceRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.SimpleTransactionStatus;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.OffsetDateTime;
+import java.time.format.DateTimeFormatter;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class ProtocolAllocatorUnitTests {
+
+    @Mock
+    private ProtocolSequenceRepository repository;
+    @Mock
+    private ProtocolFreeRangeRepository freeRanges;
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    private String today;
+
+    @BeforeEach
+    void setUp() {
+        today = OffsetDateTime.now().format(DateTimeFormatter.ofPattern("yyyyMMdd"));
+        lenient().when(transactionManager.getTransaction(any())).thenReturn(new SimpleTransactionStatus());
+    }
+
+    @Test
+    void next_FirstCallOfTheDay_CreatesRowAndServesBlockFromMemory() {
+        when(repository.reserve(eq(today), eq(3))).thenReturn(0, 1);
+        when(repository.findById(eq(today))).thenReturn(Optional.of(new ProtocolSequence(today, 3)));
+        ProtocolAllocator allocator = new ProtocolAllocator(repository, freeRanges, transactionManager, 3);
+
+        assertEquals("SOL-" + today + "-0001", allocator.next());
+        assertEquals("SOL-" + today + "-0002", allocator.next());
+        assertEquals("SOL-" + today + "-0003", allocator.next());
+
+        verify(repository, times(1)).createIfAbsent(eq(today));
+        verify(repository, times(2)).reserve(eq(today), eq(3));
+    }
+
+    @Test
+    void next_BlockExhausted_ReservesNextBlock() {
+        when(repository.reserve(eq(today), eq(2))).thenReturn(1);
+        when(repository.findById(eq(today))).thenReturn(
+                Optional.of(new ProtocolSequence(today, 12)),
+                Optional.of(new ProtocolSequence(today, 20)));
+        ProtocolAllocator allocator = new ProtocolAllocator(repository, freeRanges, transactionManager, 2);
+
+        assertEquals("SOL-" + today + "-0011", allocator.next());
+        assertEquals("SOL-" + today + "-0012", allocator.next());
+        assertEquals("SOL-" + today + "-0019", allocator.next());
+
+        verify(repository, times(2)).reserve(eq(today), eq(2));
+        verify(repository, never()).createIfAbsent(any());
+    }
+
+    @Test
+    void next_FreeRangeAvailable_ConsumedBeforeCounter() {
+        when(freeRanges.findTop10ByProtocolDateOrderByFirstNumber(eq(today)))
+                .thenReturn(List.of(new ProtocolFreeRange(today, 41, 50)));
+        when(freeRanges.claim(eq(today), eq(41))).thenReturn(1);
+        ProtocolAllocator allocator = new ProtocolAllocator(repository, freeRanges, transactionManager, 5);
+
+        assertEquals("SOL-" + today + "-0041", allocator.next());
+        assertEquals("SOL-" + today + "-0042", allocator.next());
+
+        verify(freeRanges, times(1)).add(eq(today), eq(46), eq(50));
+        verify(repository, never()).reserve(any(), anyInt());
+    }
+
+    @Test
+    void next_FreeRangeClaimedByOtherNode_GrowsCounter() {
+        when(freeRanges.findTop10ByProtocolDateOrderByFirstNumber(eq(today)))
+                .thenReturn(List.of(new ProtocolFreeRange(today, 41, 50)));
+        when(freeRanges.claim(eq(today), eq(41))).thenReturn(0);
+        when(repository.reserve(eq(today), eq(5))).thenReturn(1);
+        when(repository.findById(eq(today))).thenReturn(Optional.of(new ProtocolSequence(today, 60)));
+        ProtocolAllocator allocator = new ProtocolAllocator(repository, freeRanges, transactionManager, 5);
+
+        assertEquals("SOL-" + today + "-0056", allocator.next());
+        verify(freeRanges, never()).add(any(), anyInt(), anyInt());
+    }
+
+    @Test
+    void next_CallerRolledBack_NumberIsServedAgain() {
+        when(repository.reserve(eq(today), eq(50))).thenReturn(1);
+        when(repository.findById(eq(today))).thenReturn(Optional.of(new ProtocolSequence(today, 50)));
+        ProtocolAllocator allocator = new ProtocolAllocator(repository, freeRanges, transactionManager, 50);
+
+        String rolledBack = completeInTransaction(allocator, TransactionSynchronization.STATUS_ROLLED_BACK);
+        String committed = completeInTransaction(allocator, TransactionSynchronization.STATUS_COMMITTED);
+
+        assertEquals("SOL-" + today + "-0001", rolledBack);
+        assertEquals(rolledBack, committed);
+        assertEquals("SOL-" + today + "-0002", allocator.next());
+    }
+
+    @Test
+    void next_ManyThreads_NoDuplicates() throws Exception {
+        when(repository.reserve(eq(today), eq(10))).thenReturn(1);
+        int[] counter = {0};
+        when(repository.findById(eq(today))).thenAnswer(i -> {
+            counter[0] += 10;
+            return Optional.of(new ProtocolSequence(today, counter[0]));
+        });
+        ProtocolAllocator allocator = new ProtocolAllocator(repository, freeRanges, transactionManager, 10);
+
+        ExecutorService pool = Executors.newFixedThreadPool(8);
+        List<Future<String>> futures = new ArrayList<>();
+        for (int i = 0; i < 400; i++) {
+            futures.add(pool.submit(allocator::next));
+        }
+        Set<String> protocols = new HashSet<>();
+        for (Future<String> f : futures) {
+            protocols.add(f.get());
+        }
+        pool.shutdown();
+
+        assertEquals(400, protocols.size());
+        assertTrue(protocols.contains("SOL-" + today + "-0400"));
+        verify(repository, times(40)).reserve(eq(today), eq(10));
+    }
+
+    @Test
+    void nextBatch_ReservesDedicatedBlockInOneRoundTrip() {
+        when(repository.reserve(eq(today), eq(3))).thenReturn(1);
+        when(repository.findById(eq(today))).thenReturn(Optional.of(new ProtocolSequence(today, 40)));
+        ProtocolAllocator allocator = new ProtocolAllocator(repository, freeRanges, transactionManager, 50);
+
+        List<String> protocols = allocator.nextBatch(3);
+
+        assertEquals(List.of("SOL-" + today + "-0038", "SOL-" + today + "-0039", "SOL-" + today + "-0040"), protocols);
+        verify(repository, times(1)).reserve(eq(today), eq(3));
+        verify(repository, never()).reserve(eq(today), eq(50));
+    }
+
+    @Test
+    void nextBatch_FreeRangeTooSmall_CompletesFromCounter() {
+        when(freeRanges.findTop10ByProtocolDateOrderByFirstNumber(eq(today)))
+                .thenReturn(List.of(new ProtocolFreeRange(today, 7, 8)));
+        when(freeRanges.claim(eq(today), eq(7))).thenReturn(1);
+        when(repository.reserve(eq(today), eq(1))).thenReturn(1);
+        when(repository.findById(eq(today))).thenReturn(Optional.of(new ProtocolSequence(today, 40)));
+        ProtocolAllocator allocator = new ProtocolAllocator(repository, freeRanges, transactionManager, 50);
+
+        List<String> protocols = allocator.nextBatch(3);
+
+        assertEquals(List.of("SOL-" + today + "-0007", "SOL-" + today + "-0008", "SOL-" + today + "-0040"), protocols);
+    }
+
+    @Test
+    void shutdown_ReleasesUnusedTail() {
+        when(repository.reserve(eq(today), eq(50))).thenReturn(1);
+        when(repository.findById(eq(today))).thenReturn(Optional.of(new ProtocolSequence(today, 100)));
+        ProtocolAllocator allocator = new ProtocolAllocator(repository, freeRanges, transactionManager, 50);
+
+        allocator.next();
+        allocator.next();
+        allocator.shutdown();
+
+        verify(freeRanges, times(1)).add(eq(today), eq(53), eq(100));
+    }
+
+    @Test
+    void shutdown_ReleasesRolledBackNumbersWithTheTail() {
+        when(repository.reserve(eq(today), eq(5))).thenReturn(1);
+        when(repository.findById(eq(today))).thenReturn(Optional.of(new ProtocolSequence(today, 5)));
+        ProtocolAllocator allocator = new ProtocolAllocator(repository, freeRanges, transactionManager, 5);
+
+        allocator.next();
+        completeInTransaction(allocator, TransactionSynchronization.STATUS_ROLLED_BACK);
+        allocator.shutdown();
+
+        verify(freeRanges, times(1)).add(eq(today), eq(2), eq(5));
+    }
+
+    @Test
+    void constructor_InvalidBlockSize_Throws() {
+        assertThrows(IllegalArgumentException.class, () -> new ProtocolAllocator(repository, freeRanges, transactionManager, 0));
+    }
+
+    private static String completeInTransaction(ProtocolAllocator allocator, int status) {
+        TransactionSynchronizationManager.initSynchronization();
+        try {
+            String protocol = allocator.next();
+            TransactionSynchronizationManager.getSynchronizations().forEach(s -> s.afterCompletion(status));
+            return protocol;
+        } finally {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+    }
+}
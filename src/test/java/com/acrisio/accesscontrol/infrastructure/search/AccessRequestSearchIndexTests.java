@@ -0,0 +1,93 @@
+package com.acrisio.accesscontrol.infrastructure.search;
+
+import com.acrisio.accesscontrol.api.dto.AccessRequestFilterDTO;
+import com.acrisio.accesscontrol.domain.enums.RequestStatus;
+import com.acrisio.accesscontrol.domain.model.AccessRequest;
+import com.acrisio.accesscontrol.domain.model.Module;
+import com.acrisio.accesscontrol.domain.model.User;
+import com.acrisio.accesscontrol.domain.repository.AccessRequestRepository;
+import com.acrisio.accesscontrol.domain.repository.ModuleRepository;
+import com.acrisio.accesscontrol.domain.repository.UserRepository;
+import com.acrisio.accesscontrol.infrastructure.util.AccessRequestSpecification;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.time.OffsetDateTime;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@SpringBootTest
+@ActiveProfiles("test")
+class AccessRequestSearchIndexTests {
+
+    @Autowired
+    AccessRequestSearchIndex searchIndex;
+    @Autowired
+    AccessRequestRepository accessRequestRepository;
+    @Autowired
+    ModuleRepository moduleRepository;
+    @Autowired
+    UserRepository userRepository;
+    @Autowired
+    JdbcTemplate jdbcTemplate;
+
+    private AccessRequest saved;
+
+    @AfterEach
+    void cleanUp() {
+        if (saved != null) {
+            accessRequestRepository.deleteById(saved.getId());
+        }
+    }
+
+    @Test
+    void persist_FillsNormalizedSearchTextAndFilterFindsByJustification() {
+        saved = save("Conciliação bancária do fechamento trimestral da filial.");
+
+        String searchText = jdbcTemplate.queryForObject(
+                "select tb_access_request_search_text from tb_access_request where id_tb_access_request = ?",
+                String.class, saved.getId());
+        assertTrue(searchText.startsWith(saved.getProtocol().toLowerCase()));
+        assertTrue(searchText.contains("conciliacao bancaria"));
+
+        List<AccessRequest> found = accessRequestRepository.findAll(AccessRequestSpecification.filter(
+                new AccessRequestFilterDTO("CONCILIAÇÃO", null, null, null, null)));
+        assertEquals(List.of(saved.getId()), found.stream().map(AccessRequest::getId).toList());
+    }
+
+    @Test
+    void backfill_FillsRowsWithoutSearchText() {
+        saved = save("Registro antigo criado antes da coluna de busca existir.");
+        jdbcTemplate.update("update tb_access_request set tb_access_request_search_text = null where id_tb_access_request = ?",
+                saved.getId());
+
+        assertTrue(searchIndex.backfill() >= 1);
+
+        String searchText = jdbcTemplate.queryForObject(
+                "select tb_access_request_search_text from tb_access_request where id_tb_access_request = ?",
+                String.class, saved.getId());
+        assertNotNull(searchText);
+        assertTrue(searchText.contains("registro antigo"));
+    }
+
+    private AccessRequest save(String justification) {
+        User user = userRepository.findById(1L).orElseThrow();
+        Module module = moduleRepository.findAll().get(0);
+        AccessRequest request = new AccessRequest();
+        request.setUser(user);
+        request.setModules(new HashSet<>(Set.of(module)));
+        request.setJustification(justification);
+        request.setUrgent(false);
+        request.setStatus(RequestStatus.DENIED);
+        request.setProtocol("SRCH-" + System.nanoTime());
+        request.setCreatedAt(OffsetDateTime.now());
+        return accessRequestRepository.save(request);
+    }
+}
@@ -0,0 +1,87 @@
+package com.acrisio.accesscontrol.infrastructure.security;
+
+import com.acrisio.accesscontrol.domain.repository.RevokedTokenRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.time.OffsetDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Duas listas sobre o mesmo banco simulam duas instâncias da API: o logout feito em um nó
+ * passa a valer no outro na próxima verificação. Sem @Transactional, como em ModuleCatalogTests.
+ */
+@SpringBootTest
+@ActiveProfiles("test")
+class TokenRevocationListTests {
+
+    @Autowired
+    TokenRevocationList revocationList;
+    @Autowired
+    RevokedTokenRepository repository;
+    @Autowired
+    PlatformTransactionManager transactionManager;
+
+    private final List<String> created = new ArrayList<>();
+
+    @AfterEach
+    void cleanUp() {
+        repository.deleteAllById(created);
+    }
+
+    @Test
+    void revoke_OtherNodeSeesItOnNextPoll() {
+        TokenRevocationList otherNode = newNode();
+        String jti = jti();
+        assertFalse(otherNode.isRevoked(jti));
+
+        revocationList.revoke(jti, OffsetDateTime.now().plusHours(1));
+
+        assertTrue(revocationList.isRevoked(jti));
+        assertFalse(otherNode.isRevoked(jti));
+        otherNode.poll();
+        assertTrue(otherNode.isRevoked(jti));
+    }
+
+    @Test
+    void load_NewNodeStartsWithRevocationsStillValid() {
+        String jti = jti();
+        revocationList.revoke(jti, OffsetDateTime.now().plusHours(1));
+
+        assertTrue(newNode().isRevoked(jti));
+    }
+
+    @Test
+    void poll_EntriesPastExpAreDroppedFromMemoryAndPurgedFromDatabase() {
+        TokenRevocationList node = newNode();
+        String jti = jti();
+        node.revoke(jti, OffsetDateTime.now().minusSeconds(1));
+        assertEquals(1, node.size());
+
+        node.poll();
+        node.purgeExpired();
+
+        assertEquals(0, node.size());
+        assertFalse(node.isRevoked(jti));
+        assertFalse(repository.existsById(jti));
+    }
+
+    private TokenRevocationList newNode() {
+        return new TokenRevocationList(repository, transactionManager, new SimpleMeterRegistry(), 100, 30_000);
+    }
+
+    private String jti() {
+        String jti = UUID.randomUUID().toString();
+        created.add(jti);
+        return jti;
+    }
+}
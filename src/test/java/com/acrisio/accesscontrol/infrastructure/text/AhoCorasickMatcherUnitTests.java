@@ -0,0 +1,39 @@
+package com.acrisio.accesscontrol.infrastructure.text;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class AhoCorasickMatcherUnitTests {
+
+    @Test
+    void containsAny_FindsOverlappingAndSuffixPatterns() {
+        AhoCorasickMatcher matcher = AhoCorasickMatcher.of(List.of("he", "she", "his", "hers"));
+
+        assertTrue(matcher.containsAny("ushers"));
+        assertTrue(matcher.containsAny("ahis"));
+        assertFalse(matcher.containsAny("hxs"));
+        assertEquals(4, matcher.size());
+    }
+
+    @Test
+    void containsAny_PatternReachedThroughFailureLink() {
+        // "aab" só é encontrado depois de uma falha em "aaa..."
+        AhoCorasickMatcher matcher = AhoCorasickMatcher.of(List.of("aaac", "aab"));
+
+        assertTrue(matcher.containsAny("xaaab"));
+        assertFalse(matcher.containsAny("aaaa"));
+    }
+
+    @Test
+    void of_IgnoresEmptyAndNonAsciiPatterns() {
+        AhoCorasickMatcher matcher = AhoCorasickMatcher.of(List.of("", "liberação", "ok"));
+
+        assertEquals(1, matcher.size());
+        assertFalse(matcher.containsAny("liberação"));
+        assertTrue(matcher.containsAny("token"));
+        assertFalse(AhoCorasickMatcher.of(List.of()).containsAny("qualquer texto"));
+    }
+}
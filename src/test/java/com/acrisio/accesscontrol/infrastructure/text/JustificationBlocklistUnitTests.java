@@ -0,0 +1,60 @@
+package com.acrisio.accesscontrol.infrastructure.text;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.FileTime;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class JustificationBlocklistUnitTests {
+
+    @TempDir
+    Path dir;
+
+    @Test
+    void defaults_MatchesNormalizedTerms() {
+        JustificationBlocklist blocklist = JustificationBlocklist.defaults();
+
+        assertTrue(blocklist.matches(TextNormalizer.normalize("Favor LIBERAR o acesso ao módulo")));
+        assertTrue(blocklist.matches(TextNormalizer.normalize("aguardando liberação")));
+        assertFalse(blocklist.matches(TextNormalizer.normalize("Auditoria trimestral do fechamento contábil")));
+    }
+
+    @Test
+    void configuredWords_ReplaceDefaults() {
+        JustificationBlocklist blocklist = new JustificationBlocklist(List.of("urgente"), "");
+
+        assertTrue(blocklist.matches("pedido urgente"));
+        assertFalse(blocklist.matches("teste"));
+    }
+
+    @Test
+    void reload_FileChanged_SwapsTerms() throws Exception {
+        Path file = dir.resolve("blocklist.txt");
+        Files.writeString(file, "# termos\nteste\n");
+        JustificationBlocklist blocklist = new JustificationBlocklist(List.of(), file.toString());
+        assertTrue(blocklist.matches("um teste qualquer"));
+        assertFalse(blocklist.matches("pedido generico"));
+
+        Files.writeString(file, "generico\n");
+        Files.setLastModifiedTime(file, FileTime.fromMillis(Files.getLastModifiedTime(file).toMillis() + 1000));
+        blocklist.reload();
+
+        assertTrue(blocklist.matches("pedido generico"));
+        assertFalse(blocklist.matches("um teste qualquer"));
+    }
+
+    @Test
+    void reload_MissingFile_KeepsPreviousTerms() {
+        JustificationBlocklist blocklist = new JustificationBlocklist(List.of("teste"), dir.resolve("missing.txt").toString());
+
+        blocklist.reload();
+
+        assertTrue(blocklist.matches("teste"));
+        assertEquals(1, blocklist.size());
+    }
+}
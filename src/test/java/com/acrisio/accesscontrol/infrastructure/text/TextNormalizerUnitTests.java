@@ -0,0 +1,33 @@
+package com.acrisio.accesscontrol.infrastructure.text;
+
+import org.junit.jupiter.api.Test;
+
+import java.text.Normalizer;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+class TextNormalizerUnitTests {
+
+    @Test
+    void normalize_RemovesAccentsLowercasesAndTrims() {
+        assertEquals("solicitacao de acesso", TextNormalizer.normalize("  Solicitação de ACESSO \n"));
+    }
+
+    @Test
+    void normalize_MatchesRegexBasedNormalization() {
+        List<String> samples = List.of(
+                "Liberação URGENTE do módulo FINANCEIRO",
+                "\tÇedilha, ñ, ü, ß, Ø, æ e emoji 🚀 no meio ",
+                "Ｆｕｌｌｗｉｄｔｈ e combinação é manual",
+                "",
+                "   ");
+        for (String sample : samples) {
+            String expected = Normalizer.normalize(sample, Normalizer.Form.NFD)
+                    .replaceAll("[^\\p{ASCII}]", "")
+                    .trim()
+                    .toLowerCase();
+            assertEquals(expected, TextNormalizer.normalize(sample), sample);
+        }
+    }
+}
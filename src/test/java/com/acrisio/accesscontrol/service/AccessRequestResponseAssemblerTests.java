@@ -0,0 +1,169 @@
+package com.acrisio.accesscontrol.service;
+
+import com.acrisio.accesscontrol.api.dto.AccessRequestResponseDTO;
+import com.acrisio.accesscontrol.api.dto.ModuleDTO;
+import com.acrisio.accesscontrol.domain.enums.Department;
+import com.acrisio.accesscontrol.domain.enums.HistoryAction;
+import com.acrisio.accesscontrol.domain.enums.RequestStatus;
+import com.acrisio.accesscontrol.domain.model.AccessRequest;
+import com.acrisio.accesscontrol.domain.model.Module;
+import com.acrisio.accesscontrol.domain.model.RequestHistory;
+import com.acrisio.accesscontrol.domain.model.User;
+import com.acrisio.accesscontrol.domain.repository.AccessRequestRepository;
+import com.acrisio.accesscontrol.domain.repository.ModuleRepository;
+import com.acrisio.accesscontrol.domain.repository.RequestHistoryRepository;
+import com.acrisio.accesscontrol.domain.repository.UserRepository;
+import com.acrisio.accesscontrol.infrastructure.catalog.ModuleCatalog;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.OffsetDateTime;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Garante que a montagem das listagens executa um número fixo de consultas,
+ * qualquer que seja a quantidade de solicitações na página.
+ */
+@SpringBootTest
+@ActiveProfiles("test")
+@Transactional
+class AccessRequestResponseAssemblerTests {
+
+    @Autowired
+    AccessRequestResponseAssembler assembler;
+    @Autowired
+    AccessRequestRepository accessRequestRepository;
+    @Autowired
+    RequestHistoryRepository requestHistoryRepository;
+    @Autowired
+    ModuleRepository moduleRepository;
+    @Autowired
+    UserRepository userRepository;
+    @Autowired
+    ModuleCatalog moduleCatalog;
+    @Autowired
+    EntityManager entityManager;
+    @Autowired
+    EntityManagerFactory entityManagerFactory;
+
+    @Test
+    void assemble_StatementCountDoesNotGrowWithPageSize() {
+        User small = newUser("small");
+        User large = newUser("large");
+        List<Module> modules = moduleRepository.findAll();
+        createRequests(small, modules, 2);
+        createRequests(large, modules, 12);
+        entityManager.flush();
+        entityManager.clear();
+        moduleCatalog.snapshot();
+
+        long smallStatements = statementsFor(small.getId(), 2);
+        long largeStatements = statementsFor(large.getId(), 12);
+
+        // findByUser + vínculos + histórico; os módulos vêm do catálogo
+        assertEquals(3, smallStatements);
+        assertEquals(smallStatements, largeStatements);
+    }
+
+    @Test
+    void assemble_MapsModulesAndHistoryPerRequest() {
+        User user = newUser("mapping");
+        List<Module> modules = moduleRepository.findAll();
+        createRequests(user, modules, 3);
+        entityManager.flush();
+        entityManager.clear();
+
+        List<AccessRequestResponseDTO> dtos = assembler.assemble(
+                accessRequestRepository.findByUser(userRepository.findById(user.getId()).orElseThrow()));
+
+        assertEquals(3, dtos.size());
+        for (AccessRequestResponseDTO dto : dtos) {
+            assertEquals(2, dto.modules().size());
+            assertNotNull(dto.modules().get(0).permittedDepartments());
+            assertEquals(1, dto.history().size());
+            assertEquals(HistoryAction.CREATED, dto.history().get(0).action());
+        }
+    }
+
+    @Test
+    void assemble_ModuleOutsideCatalog_LoadedFromDatabase() {
+        User user = newUser("outside");
+        moduleCatalog.snapshot();
+        Module fresh = new Module();
+        fresh.setName("FORA_DO_CATALOGO_" + System.nanoTime());
+        fresh.setDescription("Criado sem passar pelo ModuleService");
+        fresh.setActive(true);
+        fresh.setPermittedDepartments(new HashSet<>(Set.of(Department.TI)));
+        fresh.setIncompatibleModules(new HashSet<>());
+        fresh = moduleRepository.save(fresh);
+        createRequests(user, List.of(fresh, moduleRepository.findById(1L).orElseThrow()), 1);
+        entityManager.flush();
+        entityManager.clear();
+
+        List<AccessRequestResponseDTO> dtos = assembler.assemble(
+                accessRequestRepository.findByUser(userRepository.findById(user.getId()).orElseThrow()));
+
+        assertEquals(1, dtos.size());
+        Long freshId = fresh.getId();
+        ModuleDTO loaded = dtos.get(0).modules().stream().filter(m -> m.id().equals(freshId)).findFirst().orElseThrow();
+        assertEquals(fresh.getName(), loaded.name());
+        assertEquals(Set.of("TI"), loaded.permittedDepartments());
+        assertEquals(2, dtos.get(0).modules().size());
+    }
+
+    private long statementsFor(Long userId, int expected) {
+        User user = userRepository.findById(userId).orElseThrow();
+        Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.setStatisticsEnabled(true);
+        statistics.clear();
+
+        List<AccessRequestResponseDTO> dtos = assembler.assemble(accessRequestRepository.findByUser(user));
+
+        long statements = statistics.getPrepareStatementCount();
+        statistics.setStatisticsEnabled(false);
+        assertEquals(expected, dtos.size());
+        return statements;
+    }
+
+    private User newUser(String name) {
+        User user = userRepository.findById(1L).orElseThrow();
+        User created = new User();
+        created.setName(name);
+        created.setEmail(name + "-" + System.nanoTime() + "@corp.com");
+        created.setPasswordHash(user.getPasswordHash());
+        created.setDepartment(user.getDepartment());
+        return userRepository.save(created);
+    }
+
+    private void createRequests(User user, List<Module> modules, int count) {
+        for (int i = 0; i < count; i++) {
+            AccessRequest request = new AccessRequest();
+            request.setUser(user);
+            request.setModules(new HashSet<>(Set.of(modules.get(i % modules.size()), modules.get((i + 1) % modules.size()))));
+            request.setJustification("Justificativa para teste de contagem de consultas.");
+            request.setUrgent(false);
+            request.setStatus(RequestStatus.DENIED);
+            request.setProtocol("STMT-" + System.nanoTime() + "-" + i);
+            request.setCreatedAt(OffsetDateTime.now());
+            accessRequestRepository.save(request);
+
+            requestHistoryRepository.save(RequestHistory.builder()
+                    .accessRequest(request)
+                    .action(HistoryAction.CREATED)
+                    .description("Criada")
+                    .date(OffsetDateTime.now())
+                    .build());
+        }
+    }
+}
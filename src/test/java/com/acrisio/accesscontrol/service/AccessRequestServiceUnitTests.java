@@ -1,6 +1,8 @@
 package com.acrisio.accesscontrol.service;
 
+import com.acrisio.accesscontrol.api.dto.AccessRequestBatchItemDTO;
 import com.acrisio.accesscontrol.api.dto.AccessRequestCreateDTO;
+import com.acrisio.accesscontrol.api.dto.AccessRequestEvaluationDTO;
 import com.acrisio.accesscontrol.api.dto.AccessRequestFilterDTO;
 import com.acrisio.accesscontrol.api.dto.AccessRequestResponseDTO;
 import com.acrisio.accesscontrol.api.dto.ModuleDTO;
@@ -9,8 +11,15 @@ import com.acrisio.accesscontrol.domain.enums.RequestStatus;
 import com.acrisio.accesscontrol.domain.model.*;
 import com.acrisio.accesscontrol.domain.model.Module;
 import com.acrisio.accesscontrol.domain.repository.*;
-import com.acrisio.accesscontrol.domain.rules.AccessRequestRule;
+import com.acrisio.accesscontrol.domain.rules.AccessRequestRuleEngine;
+import com.acrisio.accesscontrol.domain.rules.RuleEvaluation;
+import com.acrisio.accesscontrol.domain.rules.RuleViolation;
+import com.acrisio.accesscontrol.domain.rules.UserPermissionSnapshot;
+import com.acrisio.accesscontrol.domain.rules.UserPermissionSnapshotFactory;
 import com.acrisio.accesscontrol.exception.EntityNotFoundException;
+import com.acrisio.accesscontrol.infrastructure.catalog.ModuleCatalog;
+import com.acrisio.accesscontrol.infrastructure.catalog.ModuleCatalogSnapshot;
+import com.acrisio.accesscontrol.infrastructure.protocol.ProtocolAllocator;
 import com.acrisio.accesscontrol.infrastructure.util.InternationalizationUtil;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
@@ -28,6 +37,7 @@ import java.time.OffsetDateTime;
 import java.util.ArrayList;
 import java.util.HashSet;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 import java.util.Set;
 
@@ -42,7 +52,9 @@ class AccessRequestServiceUnitTests {
     @Mock
     private ModuleRepository moduleRepository;
     @Mock
-    private ProtocolSequenceRepository protocolSequenceRepository;
+    private ModuleCatalog moduleCatalog;
+    @Mock
+    private ProtocolAllocator protocolAllocator;
     @Mock
     private AccessRepositoy accessRepository;
     @Mock
@@ -52,7 +64,11 @@ class AccessRequestServiceUnitTests {
     @Mock
     private RequestHistoryRepository requestHistoryRepository;
     @Mock
-    private List<AccessRequestRule> rules;
+    private AccessRequestRuleEngine ruleEngine;
+    @Mock
+    private UserPermissionSnapshotFactory snapshotFactory;
+    @Mock
+    private AccessRequestResponseAssembler responseAssembler;
 
     @InjectMocks
     private AccessRequestService service;
@@ -67,6 +83,7 @@ class AccessRequestServiceUnitTests {
     void init() {
         user = User.builder().id(USER_ID).name("User").accesses(new ArrayList<>()).build();
         module = Module.builder().id(MODULE_ID).name("MOD").active(true).permittedDepartments(new HashSet<>()).incompatibleModules(new HashSet<>()).build();
+        lenient().when(moduleCatalog.snapshot()).thenReturn(ModuleCatalogSnapshot.of(List.of(module)));
         lenient().when(message.getMessage(eq("User.notfound"))).thenReturn("User not found.");
         lenient().when(message.getMessage(eq("Module.notfound"))).thenReturn("Module not found.");
         lenient().when(message.getMessage(eq("AccessRequest.notfound"))).thenReturn("Request not found.");
@@ -82,14 +99,14 @@ class AccessRequestServiceUnitTests {
     void createRequest_Success() {
         AccessRequestCreateDTO dto = new AccessRequestCreateDTO(USER_ID, List.of(MODULE_ID), "Justification", true);
         when(userRepository.findById(eq(USER_ID))).thenReturn(Optional.of(user));
-        when(moduleRepository.findById(eq(MODULE_ID))).thenReturn(Optional.of(module));
-        when(rules.iterator()).thenReturn(java.util.Collections.emptyIterator());
+        when(ruleEngine.evaluate(any(), any(), any())).thenReturn(new RuleEvaluation(List.of()));
 
         ArgumentCaptor<AccessRequest> reqCaptor = ArgumentCaptor.forClass(AccessRequest.class);
         when(accessRequestRepository.save(reqCaptor.capture())).thenAnswer(i -> { AccessRequest r = reqCaptor.getValue(); r.setId(1L); return r; });
 
-        ArgumentCaptor<Access> accessCaptor = ArgumentCaptor.forClass(Access.class);
-        when(accessRepository.save(accessCaptor.capture())).thenAnswer(i -> accessCaptor.getValue());
+        @SuppressWarnings("unchecked")
+        ArgumentCaptor<List<Access>> accessCaptor = ArgumentCaptor.forClass(List.class);
+        when(accessRepository.saveAll(accessCaptor.capture())).thenAnswer(i -> accessCaptor.getValue());
 
         AccessRequestResponseDTO res = service.createRequest(dto);
         assertNotNull(res);
@@ -99,22 +116,50 @@ class AccessRequestServiceUnitTests {
         assertEquals(dto.justification(), saved.getJustification());
         assertTrue(saved.getUrgent());
         verify(accessRequestRepository, times(1)).save(eq(saved));
-        Access savedAccess = accessCaptor.getValue();
+        assertEquals(1, accessCaptor.getValue().size());
+        Access savedAccess = accessCaptor.getValue().get(0);
         assertEquals(user, savedAccess.getUser());
-        assertEquals(module, savedAccess.getModule());
-        verify(accessRepository, atLeastOnce()).save(eq(savedAccess));
+        assertEquals(MODULE_ID, savedAccess.getModule().getId());
+        verify(accessRepository, times(1)).saveAll(anyList());
+        verify(accessRepository, never()).save(any(Access.class));
+        verifyNoInteractions(moduleRepository);
+    }
+
+    @Test
+    void createRequest_ModuleOutsideCatalog_LoadedInSingleQuery() {
+        Module fresh = Module.builder().id(12L).name("FRESH").active(true).permittedDepartments(new HashSet<>()).incompatibleModules(new HashSet<>()).build();
+        AccessRequestCreateDTO dto = new AccessRequestCreateDTO(USER_ID, List.of(MODULE_ID, 12L), "Justification", false);
+        when(userRepository.findById(eq(USER_ID))).thenReturn(Optional.of(user));
+        when(moduleRepository.findAllWithDetailsByIdIn(eq(Set.of(12L)))).thenReturn(List.of(fresh));
+        when(ruleEngine.evaluate(any(), any(), any())).thenReturn(new RuleEvaluation(List.of()));
+
+        service.createRequest(dto);
+
+        ArgumentCaptor<AccessRequest> reqCaptor = ArgumentCaptor.forClass(AccessRequest.class);
+        verify(accessRequestRepository).save(reqCaptor.capture());
+        assertEquals(List.of(MODULE_ID, 12L), reqCaptor.getValue().getModules().stream().map(Module::getId).toList());
+        verify(moduleRepository, times(1)).findAllWithDetailsByIdIn(any());
+        verify(moduleRepository, never()).findById(any());
+    }
+
+    @Test
+    void createRequest_UnknownModules_ReportsAllMissingIds() {
+        AccessRequestCreateDTO dto = new AccessRequestCreateDTO(USER_ID, List.of(20L, MODULE_ID, 21L), "Justification", false);
+        when(userRepository.findById(eq(USER_ID))).thenReturn(Optional.of(user));
+        when(moduleRepository.findAllWithDetailsByIdIn(eq(Set.of(20L, 21L)))).thenReturn(List.of());
+
+        EntityNotFoundException ex = assertThrows(EntityNotFoundException.class, () -> service.createRequest(dto));
+
+        assertEquals("Module not found. ID = 20, 21", ex.getMessage());
+        verifyNoInteractions(ruleEngine, protocolAllocator, accessRequestRepository);
     }
 
     @Test
     void createRequest_Denied() {
         AccessRequestCreateDTO dto = new AccessRequestCreateDTO(USER_ID, List.of(MODULE_ID), "Justification", false);
         when(userRepository.findById(eq(USER_ID))).thenReturn(Optional.of(user));
-        when(moduleRepository.findById(eq(MODULE_ID))).thenReturn(Optional.of(module));
-        AccessRequestRule denyingRule = (u, ms, d) -> { throw new IllegalArgumentException("Denied"); };
-        java.util.Iterator<AccessRequestRule> it = mock(java.util.Iterator.class);
-        when(it.hasNext()).thenReturn(true, false);
-        when(it.next()).thenReturn(denyingRule);
-        when(rules.iterator()).thenReturn(it);
+        when(ruleEngine.evaluate(any(), any(), any()))
+                .thenReturn(new RuleEvaluation(List.of(new RuleViolation("rule", MODULE_ID, "Denied"))));
 
         ArgumentCaptor<AccessRequest> reqCaptor = ArgumentCaptor.forClass(AccessRequest.class);
         when(accessRequestRepository.save(reqCaptor.capture())).thenAnswer(i -> reqCaptor.getValue());
@@ -128,6 +173,65 @@ class AccessRequestServiceUnitTests {
         verifyNoInteractions(accessRepository);
     }
 
+    @Test
+    void evaluate_ReturnsVerdictPerModuleWithoutWriting() {
+        Module other = Module.builder().id(11L).name("OTHER").active(true).build();
+        AccessRequestCreateDTO dto = new AccessRequestCreateDTO(USER_ID, List.of(MODULE_ID, 11L), null, false);
+        when(userRepository.findById(eq(USER_ID))).thenReturn(Optional.of(user));
+        when(moduleCatalog.snapshot()).thenReturn(ModuleCatalogSnapshot.of(List.of(module, other)));
+        when(ruleEngine.evaluate(any(), any(), any())).thenReturn(new RuleEvaluation(List.of(
+                new RuleViolation("DepartmentPermissionRule", 11L, "Not permitted OTHER"),
+                new RuleViolation("JustificationRule", null, "Justification required."))));
+
+        AccessRequestEvaluationDTO res = service.evaluate(dto);
+
+        assertFalse(res.approved());
+        assertEquals(List.of("Justification required."), res.reasons());
+        assertEquals(2, res.modules().size());
+        assertEquals(MODULE_ID, res.modules().get(0).moduleId());
+        assertTrue(res.modules().get(0).approved());
+        assertFalse(res.modules().get(1).approved());
+        assertEquals(List.of("Not permitted OTHER"), res.modules().get(1).reasons());
+        verifyNoInteractions(protocolAllocator, accessRepository, requestHistoryRepository);
+        verify(accessRequestRepository, never()).save(any());
+    }
+
+    @Test
+    void createBatch_LoadsOnceAndSavesAllInInputOrder() {
+        Long otherUserId = 2L;
+        User otherUser = User.builder().id(otherUserId).name("Other").accesses(new ArrayList<>()).build();
+        List<AccessRequestCreateDTO> dtos = List.of(
+                new AccessRequestCreateDTO(USER_ID, List.of(MODULE_ID), "Justification", false),
+                new AccessRequestCreateDTO(99L, List.of(MODULE_ID), "Justification", false),
+                new AccessRequestCreateDTO(otherUserId, List.of(MODULE_ID), "Justification", false));
+        UserPermissionSnapshot snapshot = new UserPermissionSnapshot(USER_ID, null, Set.of(), Set.of(), 0);
+        UserPermissionSnapshot otherSnapshot = new UserPermissionSnapshot(otherUserId, null, Set.of(), Set.of(), 0);
+
+        when(userRepository.findAllById(any())).thenReturn(List.of(user, otherUser));
+        when(snapshotFactory.createAll(any())).thenReturn(Map.of(USER_ID, snapshot, otherUserId, otherSnapshot));
+        when(protocolAllocator.nextBatch(eq(2))).thenReturn(List.of("SOL-1", "SOL-2"));
+        when(ruleEngine.evaluate(eq(snapshot), any(), any())).thenReturn(new RuleEvaluation(List.of()));
+        when(ruleEngine.evaluate(eq(otherSnapshot), any(), any()))
+                .thenReturn(new RuleEvaluation(List.of(new RuleViolation("rule", MODULE_ID, "Denied"))));
+
+        List<AccessRequestBatchItemDTO> res = service.createBatch(dtos);
+
+        assertEquals(3, res.size());
+        assertEquals(RequestStatus.ACTIVE, res.get(0).status());
+        assertEquals("SOL-1", res.get(0).protocol());
+        assertNull(res.get(1).status());
+        assertEquals("User not found.", res.get(1).message());
+        assertEquals(RequestStatus.DENIED, res.get(2).status());
+        assertEquals("SOL-2", res.get(2).protocol());
+        assertEquals("Denied", res.get(2).message());
+        verify(userRepository, times(1)).findAllById(any());
+        verify(userRepository, never()).findById(any());
+        verifyNoInteractions(moduleRepository);
+        verify(accessRequestRepository, times(1)).saveAll(any());
+        verify(accessRepository, times(1)).saveAll(any());
+        verify(accessRequestRepository, never()).save(any());
+    }
+
     @Test
     void cancel_Success() {
         AccessRequest req = new AccessRequest();
@@ -137,8 +241,8 @@ class AccessRequestServiceUnitTests {
         req.setStatus(RequestStatus.ACTIVE);
         when(accessRequestRepository.findById(eq(1L))).thenReturn(Optional.of(req));
 
-        Access access = Access.builder().id(100L).user(user).module(module).grantedAt(OffsetDateTime.now()).expiresAt(OffsetDateTime.now().plusDays(10)).build();
-        user.setAccesses(List.of(access));
+        when(accessRepository.revokeActive(eq(USER_ID), eq(List.of(MODULE_ID)), any(OffsetDateTime.class))).thenReturn(1);
+        when(responseAssembler.assemble(eq(List.of(req)))).thenReturn(List.of(mock(AccessRequestResponseDTO.class)));
 
         ArgumentCaptor<RequestHistory> historyCaptor = ArgumentCaptor.forClass(RequestHistory.class);
         when(requestHistoryRepository.save(historyCaptor.capture())).thenAnswer(i -> historyCaptor.getValue());
@@ -148,7 +252,9 @@ class AccessRequestServiceUnitTests {
 
         AccessRequestResponseDTO res = service.cancel(1L, USER_ID, "Valid reason for cancel");
         assertNotNull(res);
-        verify(accessRepository, times(1)).delete(eq(access));
+        verify(accessRepository, times(1)).revokeActive(eq(USER_ID), eq(List.of(MODULE_ID)), any(OffsetDateTime.class));
+        verify(accessRepository, never()).delete(any());
+        verify(accessRepository, never()).deleteAll(any());
         RequestHistory h = historyCaptor.getValue();
         assertEquals(HistoryAction.CANCELED, h.getAction());
         verify(requestHistoryRepository, times(1)).save(eq(h));
@@ -214,19 +320,22 @@ class AccessRequestServiceUnitTests {
 
     @Test
     void listByUser_Success() {
-        when(userRepository.findById(eq(USER_ID))).thenReturn(Optional.of(user));
         AccessRequest r = new AccessRequest();
         r.setUser(user);
-        when(accessRequestRepository.findByUser(eq(user))).thenReturn(List.of(r));
+        when(accessRequestRepository.findByUserId(eq(USER_ID))).thenReturn(List.of(r));
+        when(responseAssembler.assemble(eq(List.of(r)))).thenReturn(List.of(mock(AccessRequestResponseDTO.class)));
         List<AccessRequestResponseDTO> res = service.listByUser(USER_ID);
         assertFalse(res.isEmpty());
-        verify(accessRequestRepository, times(1)).findByUser(eq(user));
+        verify(accessRequestRepository, times(1)).findByUserId(eq(USER_ID));
+        verify(responseAssembler, times(1)).assemble(eq(List.of(r)));
     }
 
     @Test
-    void listByUser_UserNotFound_Throws() {
-        when(userRepository.findById(eq(USER_ID))).thenReturn(Optional.empty());
-        assertThrows(IllegalArgumentException.class, () -> service.listByUser(USER_ID));
+    void listByUser_DoesNotLoadUser() {
+        when(accessRequestRepository.findByUserId(eq(USER_ID))).thenReturn(List.of());
+        when(responseAssembler.assemble(eq(List.of()))).thenReturn(List.of());
+        assertTrue(service.listByUser(USER_ID).isEmpty());
+        verifyNoInteractions(userRepository);
     }
 
     @Test
@@ -245,30 +354,25 @@ class AccessRequestServiceUnitTests {
     }
 
     @Test
-    void generateProtocol_Increments() {
-        String today = OffsetDateTime.now().format(java.time.format.DateTimeFormatter.ofPattern("yyyyMMdd"));
-        ProtocolSequence seq = new ProtocolSequence(today, 0);
-        when(protocolSequenceRepository.findById(eq(today))).thenReturn(Optional.of(seq));
-        ArgumentCaptor<ProtocolSequence> cap = ArgumentCaptor.forClass(ProtocolSequence.class);
-        when(protocolSequenceRepository.save(cap.capture())).thenReturn(seq);
-        String protocol = service.generateProtocol();
-        assertTrue(protocol.startsWith("SOL-" + today + "-"));
-        ProtocolSequence saved = cap.getValue();
-        assertEquals(1, saved.getCounter());
-        verify(protocolSequenceRepository, times(1)).save(eq(saved));
+    void generateProtocol_DelegatesToAllocator() {
+        when(protocolAllocator.next()).thenReturn("SOL-20251122-0001");
+        assertEquals("SOL-20251122-0001", service.generateProtocol());
+        verify(protocolAllocator, times(1)).next();
     }
 
     @Test
     void filter_CallsRepositoryWithSpecAndPageable() {
-        when(userRepository.findById(eq(USER_ID))).thenReturn(Optional.of(user));
         AccessRequestFilterDTO filter = new AccessRequestFilterDTO(null, null, null, null, null);
         Pageable pageable = PageRequest.of(0, 10);
         ArgumentCaptor<Specification<AccessRequest>> specCap = ArgumentCaptor.forClass(Specification.class);
-        when(accessRequestRepository.findAll(specCap.capture(), eq(pageable))).thenReturn(new PageImpl<>(List.of(new AccessRequest())));
+        AccessRequest r = new AccessRequest();
+        when(accessRequestRepository.findAll(specCap.capture(), eq(pageable))).thenReturn(new PageImpl<>(List.of(r)));
+        when(responseAssembler.assemble(eq(List.of(r)))).thenReturn(List.of(mock(AccessRequestResponseDTO.class)));
         var page = service.filter(USER_ID, filter, pageable);
         assertEquals(1, page.getSize());
         Specification<AccessRequest> captured = specCap.getValue();
         assertNotNull(captured);
         verify(accessRequestRepository, times(1)).findAll(eq(captured), eq(pageable));
+        verifyNoInteractions(userRepository);
     }
 }
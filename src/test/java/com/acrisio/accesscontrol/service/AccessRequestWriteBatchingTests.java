@@ -0,0 +1,183 @@
+package com.acrisio.accesscontrol.service;
+
+import com.acrisio.accesscontrol.api.dto.AccessRequestCreateDTO;
+import com.acrisio.accesscontrol.api.dto.AccessRequestResponseDTO;
+import com.acrisio.accesscontrol.api.dto.ModuleDTO;
+import com.acrisio.accesscontrol.domain.enums.Department;
+import com.acrisio.accesscontrol.domain.enums.HistoryAction;
+import com.acrisio.accesscontrol.domain.enums.RequestStatus;
+import com.acrisio.accesscontrol.domain.model.Module;
+import com.acrisio.accesscontrol.domain.model.User;
+import com.acrisio.accesscontrol.domain.repository.ModuleRepository;
+import com.acrisio.accesscontrol.domain.repository.UserRepository;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Com IDs por sequência (pooled) e hibernate.jdbc.batch_size, os acessos e os vínculos
+ * de uma solicitação aprovada são gravados em lote: a quantidade de comandos não cresce
+ * com a quantidade de módulos. O cancelamento segue a mesma regra: um DELETE em massa
+ * dos acessos e a atualização da solicitação junto com o histórico. Os módulos
+ * solicitados vêm do catálogo em memória, sem leituras de tb_module.
+ */
+@SpringBootTest
+@ActiveProfiles("test")
+@Transactional
+class AccessRequestWriteBatchingTests {
+
+    @Autowired
+    AccessRequestService accessRequestService;
+    @Autowired
+    ModuleRepository moduleRepository;
+    @Autowired
+    UserRepository userRepository;
+    @Autowired
+    EntityManager entityManager;
+    @Autowired
+    EntityManagerFactory entityManagerFactory;
+
+    @Test
+    void createRequest_TenModules_WritesInFixedNumberOfStatements() {
+        List<Module> modules = newModules(11);
+        entityManager.flush();
+        entityManager.clear();
+
+        long single = writeStatementsFor(newUser("single"), modules.subList(0, 1));
+        long ten = writeStatementsFor(newUser("ten"), modules.subList(1, 11));
+
+        // Um lote para a solicitação, um para os vínculos com módulos e um para os acessos;
+        // com IDENTITY seriam ao menos 10 INSERTs em tb_access
+        assertEquals(3, single);
+        assertEquals(single, ten);
+    }
+
+    @Test
+    void createRequest_CatalogModules_LoadsNoModuleRows() {
+        User user = newUser("catalog");
+
+        Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        accessRequestService.createRequest(new AccessRequestCreateDTO(user.getId(), List.of(1L, 2L, 3L, 8L),
+                "Acesso necessário para a rotina de fechamento mensal da equipe.", false));
+        statistics.setStatisticsEnabled(true);
+        statistics.clear();
+
+        AccessRequestResponseDTO response = accessRequestService.createRequest(new AccessRequestCreateDTO(
+                newUser("catalog-warm").getId(), List.of(1L, 2L, 3L, 8L),
+                "Acesso necessário para a rotina de fechamento mensal da equipe.", false));
+        entityManager.flush();
+
+        long moduleLoads = statistics.getEntityStatistics(Module.class.getName()).getLoadCount()
+                + statistics.getEntityStatistics(Module.class.getName()).getFetchCount();
+        long collectionLoads = statistics.getCollectionLoadCount();
+        statistics.setStatisticsEnabled(false);
+        entityManager.clear();
+
+        assertEquals(RequestStatus.ACTIVE, response.status(), response.deniedReason());
+        assertEquals(List.of("PORTAL", "RELATORIOS", "GESTAO_FINANCEIRA", "ESTOQUE"),
+                response.modules().stream().map(ModuleDTO::name).toList());
+        assertEquals(0, moduleLoads);
+        assertEquals(0, collectionLoads);
+    }
+
+    @Test
+    void cancel_FiveModules_CostsSameStatementsAsOneModule() {
+        List<Module> modules = newModules(6);
+        entityManager.flush();
+        entityManager.clear();
+
+        long single = cancelStatementsFor(newUser("cancel-single"), modules.subList(0, 1));
+        long five = cancelStatementsFor(newUser("cancel-five"), modules.subList(1, 6));
+
+        assertEquals(single, five);
+    }
+
+    private long cancelStatementsFor(User user, List<Module> modules) {
+        Long requestId = accessRequestService.createRequest(new AccessRequestCreateDTO(
+                user.getId(),
+                modules.stream().map(Module::getId).toList(),
+                "Acesso necessário para a rotina de fechamento mensal da equipe.",
+                false)).id();
+        entityManager.flush();
+        entityManager.clear();
+
+        Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.setStatisticsEnabled(true);
+        statistics.clear();
+
+        AccessRequestResponseDTO response = accessRequestService.cancel(requestId, user.getId(), "Projeto encerrado antes do previsto.");
+        entityManager.flush();
+
+        long statements = statistics.getPrepareStatementCount();
+        statistics.setStatisticsEnabled(false);
+        entityManager.clear();
+
+        assertEquals(RequestStatus.CANCELED, response.status());
+        assertEquals(modules.size(), response.modules().size());
+        assertEquals(HistoryAction.CANCELED, response.history().get(response.history().size() - 1).action());
+        return statements;
+    }
+
+    // Os IDs vêm da sequência no persist; os INSERTs ficam todos para o flush
+    private long writeStatementsFor(User user, List<Module> modules) {
+        AccessRequestResponseDTO response = accessRequestService.createRequest(new AccessRequestCreateDTO(
+                user.getId(),
+                modules.stream().map(Module::getId).toList(),
+                "Acesso necessário para a rotina de fechamento mensal da equipe.",
+                false));
+        assertEquals(RequestStatus.ACTIVE, response.status(), response.deniedReason());
+
+        Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.setStatisticsEnabled(true);
+        statistics.clear();
+
+        entityManager.flush();
+
+        long statements = statistics.getPrepareStatementCount();
+        long inserted = statistics.getEntityInsertCount();
+        statistics.setStatisticsEnabled(false);
+        entityManager.clear();
+
+        assertEquals(modules.size() + 1, inserted);
+        return statements;
+    }
+
+    private User newUser(String name) {
+        User created = new User();
+        created.setName(name);
+        created.setEmail(name + "-" + System.nanoTime() + "@corp.com");
+        created.setPasswordHash("x");
+        created.setDepartment(Department.TI);
+        User saved = userRepository.save(created);
+        entityManager.flush();
+        entityManager.clear();
+        return saved;
+    }
+
+    private List<Module> newModules(int count) {
+        List<Module> modules = new ArrayList<>();
+        for (int i = 0; i < count; i++) {
+            Module module = new Module();
+            module.setName("BATCH_" + i + "_" + System.nanoTime());
+            module.setDescription("Módulo para teste de gravação em lote");
+            module.setActive(true);
+            module.setPermittedDepartments(new HashSet<>(Set.of(Department.TI)));
+            module.setIncompatibleModules(new HashSet<>());
+            modules.add(module);
+        }
+        return moduleRepository.saveAll(modules);
+    }
+}
@@ -9,7 +9,10 @@ import com.acrisio.accesscontrol.domain.repository.AccessRepositoy;
 import com.acrisio.accesscontrol.domain.repository.AccessRequestRepository;
 import com.acrisio.accesscontrol.domain.repository.RequestHistoryRepository;
 import com.acrisio.accesscontrol.domain.repository.UserRepository;
-import com.acrisio.accesscontrol.domain.rules.AccessRequestRule;
+import com.acrisio.accesscontrol.domain.rules.AccessRequestRuleEngine;
+import com.acrisio.accesscontrol.domain.rules.RuleEvaluation;
+import com.acrisio.accesscontrol.domain.rules.RuleViolation;
+import com.acrisio.accesscontrol.domain.rules.UserPermissionSnapshotFactory;
 import com.acrisio.accesscontrol.exception.EntityNotFoundException;
 import com.acrisio.accesscontrol.infrastructure.util.InternationalizationUtil;
 import org.junit.jupiter.api.BeforeEach;
@@ -45,7 +48,9 @@ class AccessServiceUnitTests {
     private AccessRequestService accessRequestService;
 
     @Mock
-    private List<AccessRequestRule> rules;
+    private AccessRequestRuleEngine ruleEngine;
+    @Mock
+    private UserPermissionSnapshotFactory snapshotFactory;
 
     @InjectMocks
     private AccessService accessService;
@@ -105,7 +110,7 @@ class AccessServiceUnitTests {
     void renew_Success_CreatesNewRequestAndExtendsAccess() {
         when(accessRepository.findById(eq(ACCESS_ID))).thenReturn(Optional.of(activeAccess));
         when(accessRequestService.generateProtocol()).thenReturn(PROTOCOL);
-        when(rules.iterator()).thenReturn(java.util.Collections.emptyIterator());
+        when(ruleEngine.evaluate(any(), any(), any())).thenReturn(new RuleEvaluation(List.of()));
 
         ArgumentCaptor<Access> accessCaptor = ArgumentCaptor.forClass(Access.class);
         when(accessRepository.save(accessCaptor.capture())).thenAnswer(i -> i.getArgument(0));
@@ -134,7 +139,7 @@ class AccessServiceUnitTests {
                 history.getAction() == HistoryAction.RENEWED
         ));
 
-        verify(rules, times(1)).iterator();
+        verify(ruleEngine, times(1)).evaluate(any(), any(), any());
     }
 
     @Test
@@ -143,12 +148,8 @@ class AccessServiceUnitTests {
         when(accessRequestService.generateProtocol()).thenReturn(PROTOCOL);
 
         final String DENIAL_REASON = "Rule violation: incompatible.";
-        AccessRequestRule denyingRule = (u, ms, d) -> { throw new IllegalArgumentException(DENIAL_REASON); };
-
-        java.util.Iterator<AccessRequestRule> mockIterator = mock(java.util.Iterator.class);
-        when(mockIterator.hasNext()).thenReturn(true, false);
-        when(mockIterator.next()).thenReturn(denyingRule);
-        when(rules.iterator()).thenReturn(mockIterator);
+        when(ruleEngine.evaluate(any(), any(), any()))
+                .thenReturn(new RuleEvaluation(List.of(new RuleViolation("rule", null, DENIAL_REASON))));
 
         ArgumentCaptor<AccessRequest> requestCaptor = ArgumentCaptor.forClass(AccessRequest.class);
         when(accessRequestRepository.save(requestCaptor.capture())).thenAnswer(i -> {
@@ -171,7 +172,7 @@ class AccessServiceUnitTests {
 
         verifyNoInteractions(requestHistoryRepository);
 
-        verify(rules, times(1)).iterator();
+        verify(ruleEngine, times(1)).evaluate(any(), any(), any());
     }
 
     @Test
@@ -189,7 +190,7 @@ class AccessServiceUnitTests {
                 accessService.renew(ACCESS_ID, USER_ID));
 
         assertEquals("Only ACTIVE accesses can be renewed.", exception.getMessage());
-        verify(rules, never()).iterator();
+        verify(ruleEngine, never()).evaluate(any(), any(), any());
     }
 
     @Test
@@ -207,7 +208,7 @@ class AccessServiceUnitTests {
                 accessService.renew(ACCESS_ID, USER_ID));
 
         assertEquals("Renewal is only permitted when there are less than 30 days left until expiration.", exception.getMessage());
-        verify(rules, never()).iterator();
+        verify(ruleEngine, never()).evaluate(any(), any(), any());
     }
 
     @Test
@@ -219,7 +220,7 @@ class AccessServiceUnitTests {
                 accessService.renew(ACCESS_ID, otherUserId));
 
         assertEquals("Access not found.", exception.getMessage());
-        verify(rules, never()).iterator();
+        verify(ruleEngine, never()).evaluate(any(), any(), any());
     }
 
     @Test
@@ -6,16 +6,22 @@ import com.acrisio.accesscontrol.domain.enums.Department;
 import com.acrisio.accesscontrol.domain.model.User;
 import com.acrisio.accesscontrol.domain.repository.UserRepository;
 import com.acrisio.accesscontrol.infrastructure.security.JwtTokenProvider;
+import com.acrisio.accesscontrol.infrastructure.security.PasswordVerifier;
+import com.acrisio.accesscontrol.infrastructure.security.TokenRevocationList;
 import com.acrisio.accesscontrol.infrastructure.util.InternationalizationUtil;
+import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.Jwts;
+import io.jsonwebtoken.MalformedJwtException;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
-import org.springframework.security.crypto.password.PasswordEncoder;
 
 import java.time.OffsetDateTime;
+import java.time.ZoneOffset;
+import java.util.Date;
 import java.util.Optional;
 
 import static org.junit.jupiter.api.Assertions.*;
@@ -28,7 +34,7 @@ class AuthServiceUnitTests {
     private UserRepository userRepository;
 
     @Mock
-    private PasswordEncoder passwordEncoder;
+    private PasswordVerifier passwordVerifier;
 
     @Mock
     private JwtTokenProvider jwtTokenProvider;
@@ -36,6 +42,9 @@ class AuthServiceUnitTests {
     @Mock
     private InternationalizationUtil message;
 
+    @Mock
+    private TokenRevocationList revocationList;
+
     @InjectMocks
     private AuthService authService;
 
@@ -70,8 +79,8 @@ class AuthServiceUnitTests {
         OffsetDateTime expirationTime = OffsetDateTime.now().plusHours(2);
 
         when(userRepository.findByEmail(eq(VALID_EMAIL))).thenReturn(Optional.of(validUser));
-        when(passwordEncoder.matches(eq(VALID_PASSWORD), eq(HASHED_PASSWORD))).thenReturn(true);
-        when(jwtTokenProvider.generateToken(eq(USER_ID), eq(VALID_EMAIL))).thenReturn(JWT_TOKEN);
+        when(passwordVerifier.matches(eq(VALID_PASSWORD), eq(HASHED_PASSWORD))).thenReturn(true);
+        when(jwtTokenProvider.generateToken(eq(USER_ID), eq(VALID_EMAIL), eq(USER_DEPT))).thenReturn(JWT_TOKEN);
         when(jwtTokenProvider.expirationFromNow()).thenReturn(expirationTime);
 
         AuthResponseDTO result = authService.login(validRequest);
@@ -79,9 +88,23 @@ class AuthServiceUnitTests {
         assertNotNull(result);
 
         verify(userRepository, times(1)).findByEmail(eq(VALID_EMAIL));
-        verify(passwordEncoder, times(1)).matches(eq(VALID_PASSWORD), eq(HASHED_PASSWORD));
-        verify(jwtTokenProvider, times(1)).generateToken(eq(USER_ID), eq(VALID_EMAIL));
+        verify(passwordVerifier, times(1)).matches(eq(VALID_PASSWORD), eq(HASHED_PASSWORD));
+        verify(jwtTokenProvider, times(1)).generateToken(eq(USER_ID), eq(VALID_EMAIL), eq(USER_DEPT));
         verify(jwtTokenProvider, times(1)).expirationFromNow();
+        verify(userRepository, never()).save(any());
+    }
+
+    @Test
+    void login_HashWithOtherCost_SavesRehashedPassword() {
+        when(userRepository.findByEmail(eq(VALID_EMAIL))).thenReturn(Optional.of(validUser));
+        when(passwordVerifier.matches(eq(VALID_PASSWORD), eq(HASHED_PASSWORD))).thenReturn(true);
+        when(passwordVerifier.rehash(eq(VALID_PASSWORD), eq(HASHED_PASSWORD))).thenReturn("{bcrypt}rehashed");
+        when(jwtTokenProvider.generateToken(eq(USER_ID), eq(VALID_EMAIL), eq(USER_DEPT))).thenReturn(JWT_TOKEN);
+
+        authService.login(validRequest);
+
+        assertEquals("{bcrypt}rehashed", validUser.getPasswordHash());
+        verify(userRepository, times(1)).save(eq(validUser));
     }
 
     @Test
@@ -94,7 +117,7 @@ class AuthServiceUnitTests {
         assertEquals(INVALID_CREDENTIALS_MSG, exception.getMessage());
 
         verify(userRepository, times(1)).findByEmail(eq(VALID_EMAIL));
-        verifyNoInteractions(passwordEncoder);
+        verifyNoInteractions(passwordVerifier);
         verifyNoInteractions(jwtTokenProvider);
         verify(message, times(1)).getMessage(eq("Auth.invalid"));
     }
@@ -102,7 +125,7 @@ class AuthServiceUnitTests {
     @Test
     void login_InvalidPassword_ThrowsIllegalArgumentException() {
         when(userRepository.findByEmail(eq(VALID_EMAIL))).thenReturn(Optional.of(validUser));
-        when(passwordEncoder.matches(eq(VALID_PASSWORD), eq(HASHED_PASSWORD))).thenReturn(false);
+        when(passwordVerifier.matches(eq(VALID_PASSWORD), eq(HASHED_PASSWORD))).thenReturn(false);
 
         IllegalArgumentException exception = assertThrows(IllegalArgumentException.class, () ->
                 authService.login(validRequest));
@@ -110,8 +133,31 @@ class AuthServiceUnitTests {
         assertEquals(INVALID_CREDENTIALS_MSG, exception.getMessage());
 
         verify(userRepository, times(1)).findByEmail(eq(VALID_EMAIL));
-        verify(passwordEncoder, times(1)).matches(eq(VALID_PASSWORD), eq(HASHED_PASSWORD));
+        verify(passwordVerifier, times(1)).matches(eq(VALID_PASSWORD), eq(HASHED_PASSWORD));
         verifyNoInteractions(jwtTokenProvider);
         verify(message, times(1)).getMessage(eq("Auth.invalid"));
     }
+
+    @Test
+    void logout_ValidToken_RevokesJtiUntilExp() {
+        // exp do JWT tem precisão de segundos
+        Date exp = new Date((System.currentTimeMillis() / 1000 + 60) * 1000);
+        Claims claims = Jwts.claims().id("jti-1").expiration(exp).build();
+        when(jwtTokenProvider.parseClaims(eq(JWT_TOKEN))).thenReturn(claims);
+
+        authService.logout(JWT_TOKEN);
+
+        verify(revocationList, times(1)).revoke(eq("jti-1"), eq(exp.toInstant().atOffset(ZoneOffset.UTC)));
+    }
+
+    @Test
+    void logout_InvalidToken_ThrowsIllegalArgumentException() {
+        when(jwtTokenProvider.parseClaims(eq(JWT_TOKEN))).thenThrow(new MalformedJwtException("bad"));
+
+        IllegalArgumentException exception = assertThrows(IllegalArgumentException.class, () ->
+                authService.logout(JWT_TOKEN));
+
+        assertEquals(INVALID_CREDENTIALS_MSG, exception.getMessage());
+        verifyNoInteractions(revocationList);
+    }
 }
\ No newline at end of file
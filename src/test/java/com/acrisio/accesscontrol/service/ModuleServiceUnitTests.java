@@ -6,6 +6,9 @@ import com.acrisio.accesscontrol.domain.model.Module;
 import com.acrisio.accesscontrol.domain.repository.ModuleRepository;
 import com.acrisio.accesscontrol.exception.EntityNotFoundException;
 import com.acrisio.accesscontrol.exception.UnprocessableEntityException;
+import com.acrisio.accesscontrol.infrastructure.catalog.ModuleCatalog;
+import com.acrisio.accesscontrol.infrastructure.catalog.ModuleCatalogSnapshot;
+import com.acrisio.accesscontrol.infrastructure.search.AccessRequestSearchIndex;
 import com.acrisio.accesscontrol.infrastructure.util.InternationalizationUtil;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
@@ -31,6 +34,12 @@ class ModuleServiceUnitTests {
     @Mock
     private InternationalizationUtil message;
 
+    @Mock
+    private ModuleCatalog moduleCatalog;
+
+    @Mock
+    private AccessRequestSearchIndex searchIndex;
+
     @InjectMocks
     private ModuleService moduleService;
 
@@ -45,6 +54,7 @@ class ModuleServiceUnitTests {
     @BeforeEach
     void setUp() {
 
+        lenient().when(moduleCatalog.snapshot()).thenReturn(ModuleCatalogSnapshot.empty());
         lenient().when(message.getMessage(eq("Module.notfound"))).thenReturn("Module not found.");
         lenient().when(message.getMessage(eq("Module.name"))).thenReturn("Module name is required.");
         lenient().when(message.getMessage(eq("Module.description"))).thenReturn("Module description is required.");
@@ -97,6 +107,7 @@ class ModuleServiceUnitTests {
         assertEquals(true, savedModule.getActive());
         assertEquals(2, savedModule.getPermittedDepartments().size());
         verify(moduleRepository, times(1)).save(eq(savedModule));
+        verify(moduleCatalog, times(1)).moduleChanged();
     }
 
     @Test
@@ -157,14 +168,27 @@ class ModuleServiceUnitTests {
     void findAll_ReturnsListOfModules() {
 
         Module module2 = Module.builder().id(2L).name("MOD_2").description("Desc 2").active(false).permittedDepartments(Set.of(Department.RH)).incompatibleModules(Set.of()).build();
-        List<Module> modules = List.of(validModule, module2);
-        when(moduleRepository.findAll()).thenReturn(modules);
+        List<Module> modules = List.of(module2, validModule);
+        when(moduleCatalog.snapshot()).thenReturn(ModuleCatalogSnapshot.of(modules));
 
         List<ModuleDTO> result = moduleService.findAll();
 
         assertNotNull(result);
-        assertEquals(2, result.size());
-        verify(moduleRepository, times(1)).findAll();
+        assertEquals(List.of(MODULE_ID, 2L), result.stream().map(ModuleDTO::id).toList());
+        assertEquals(PERMITTED_DEPARTMENTS, result.get(0).permittedDepartments());
+        verifyNoInteractions(moduleRepository);
+    }
+
+    @Test
+    void findById_ModuleInCatalog_DoesNotQueryRepository() {
+
+        when(moduleCatalog.snapshot()).thenReturn(ModuleCatalogSnapshot.of(List.of(validModule)));
+
+        ModuleDTO result = moduleService.findById(MODULE_ID);
+
+        assertEquals(validModuleDTO, result);
+        assertSame(result, moduleService.findById(MODULE_ID));
+        verifyNoInteractions(moduleRepository);
     }
 
     @Test
@@ -215,6 +239,8 @@ class ModuleServiceUnitTests {
 
         assertNotNull(result);
         assertEquals(newName, result.name());
+        // Renomear atualiza o texto de busca das solicitações do módulo
+        verify(searchIndex, times(1)).refreshForModule(eq(updateId));
 
         Module updatedModule = updateCaptor.getValue();
         assertEquals(updateId, updatedModule.getId());
@@ -223,6 +249,7 @@ class ModuleServiceUnitTests {
         assertTrue(updatedModule.getPermittedDepartments().contains(Department.OTHER));
         verify(moduleRepository, times(1)).save(eq(updatedModule));
         verify(moduleRepository, times(1)).findById(eq(updateId));
+        verify(moduleCatalog, times(1)).moduleChanged();
     }
 
     @Test
@@ -266,6 +293,7 @@ class ModuleServiceUnitTests {
 
         verify(moduleRepository, times(1)).existsById(eq(MODULE_ID));
         verify(moduleRepository, times(1)).deleteById(eq(MODULE_ID));
+        verify(moduleCatalog, times(1)).moduleChanged();
     }
 
     @Test
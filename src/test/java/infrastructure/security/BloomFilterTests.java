@@ -0,0 +1,38 @@
+package infrastructure.security;
+
+import com.acrisio.accesscontrol.infrastructure.security.BloomFilter;
+import org.junit.jupiter.api.Test;
+
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class BloomFilterTests {
+
+    @Test
+    void mightContain_NoFalseNegativesAndFalsePositivesNearTarget() {
+        BloomFilter filter = new BloomFilter(10_000, 0.01);
+        String[] added = new String[10_000];
+        for (int i = 0; i < added.length; i++) {
+            added[i] = UUID.randomUUID().toString();
+            filter.add(added[i]);
+        }
+
+        for (String jti : added) {
+            assertTrue(filter.mightContain(jti));
+        }
+        int falsePositives = 0;
+        for (int i = 0; i < 100_000; i++) {
+            if (filter.mightContain(UUID.randomUUID().toString())) {
+                falsePositives++;
+            }
+        }
+        // Alvo de 1%: tolera até o dobro
+        assertTrue(falsePositives < 2_000, "falsos positivos: " + falsePositives);
+    }
+
+    @Test
+    void mightContain_EmptyFilter_ReturnsFalse() {
+        assertFalse(new BloomFilter(100, 0.01).mightContain("jti"));
+    }
+}
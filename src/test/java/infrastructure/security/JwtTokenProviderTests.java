@@ -1,11 +1,18 @@
 package infrastructure.security;
 
+import com.acrisio.accesscontrol.domain.enums.Department;
+import com.acrisio.accesscontrol.infrastructure.security.AuthenticatedUser;
 import com.acrisio.accesscontrol.infrastructure.security.JwtTokenProvider;
 import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.Jwts;
+import io.jsonwebtoken.security.Keys;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
 import org.junit.jupiter.api.Test;
 import org.springframework.test.util.ReflectionTestUtils;
 
+import java.nio.charset.StandardCharsets;
 import java.time.OffsetDateTime;
+import java.util.Date;
 
 import static org.junit.jupiter.api.Assertions.*;
 
@@ -16,13 +23,14 @@ class JwtTokenProviderTests {
     private static final long EXPIRATION_MILLIS = 3600000; // 1 hour
     private static final Long USER_ID = 42L;
     private static final String USER_EMAIL = "test.user@corp.com";
+    private static final Department USER_DEPT = Department.FINANCE;
 
-    private final JwtTokenProvider provider = new JwtTokenProvider(TEST_SECRET, EXPIRATION_MILLIS);
+    private final JwtTokenProvider provider = new JwtTokenProvider(TEST_SECRET, EXPIRATION_MILLIS, 100, new SimpleMeterRegistry());
 
     @Test
     void generateToken_ProducesValidJwtWithCorrectClaims() {
         // Act
-        String token = provider.generateToken(USER_ID, USER_EMAIL);
+        String token = provider.generateToken(USER_ID, USER_EMAIL, USER_DEPT);
 
         // Assert
         assertNotNull(token);
@@ -31,12 +39,62 @@ class JwtTokenProviderTests {
         Claims claims = provider.parseClaims(token);
         assertEquals(String.valueOf(USER_ID), claims.getSubject());
         assertEquals(USER_EMAIL, claims.get("email", String.class));
+        assertEquals(USER_DEPT.name(), claims.get("department", String.class));
+        assertNotNull(claims.getId());
+        assertNotEquals(claims.getId(), provider.parseClaims(provider.generateToken(USER_ID, USER_EMAIL, USER_DEPT)).getId());
 
         // Verifica o tempo de expiração
         long expectedExpiration = claims.getIssuedAt().getTime() + EXPIRATION_MILLIS;
         assertEquals(expectedExpiration, claims.getExpiration().getTime());
     }
 
+    @Test
+    void parseClaims_SameToken_ServedFromCacheUntilExp() {
+        SimpleMeterRegistry registry = new SimpleMeterRegistry();
+        JwtTokenProvider cached = new JwtTokenProvider(TEST_SECRET, EXPIRATION_MILLIS, 100, registry);
+        String token = cached.generateToken(USER_ID, USER_EMAIL, USER_DEPT);
+
+        Claims first = cached.parseClaims(token);
+        Claims second = cached.parseClaims(token);
+
+        assertSame(first, second);
+        assertEquals(1, registry.get("jwt.claims.cache").tag("result", "hit").counter().count());
+        assertEquals(1, registry.get("jwt.claims.cache").tag("result", "miss").counter().count());
+    }
+
+    @Test
+    void parseClaims_TamperedToken_StillRejected() {
+        String token = provider.generateToken(USER_ID, USER_EMAIL, USER_DEPT);
+        provider.parseClaims(token);
+
+        String tampered = token.substring(0, token.length() - 2) + (token.endsWith("A") ? "BB" : "AA");
+        assertThrows(Exception.class, () -> provider.parseClaims(tampered));
+    }
+
+    @Test
+    void toPrincipal_BuildsAuthenticatedUserFromClaims() {
+        Claims claims = provider.parseClaims(provider.generateToken(USER_ID, USER_EMAIL, USER_DEPT));
+
+        AuthenticatedUser principal = provider.toPrincipal(claims);
+
+        assertEquals(new AuthenticatedUser(USER_ID, USER_EMAIL, USER_DEPT), principal);
+        assertEquals(USER_EMAIL, principal.getName());
+    }
+
+    @Test
+    void toPrincipal_TokenWithoutDepartment_ReturnsNull() {
+        // Token emitido antes da claim "department"
+        String legacy = Jwts.builder()
+                .subject(String.valueOf(USER_ID))
+                .claim("email", USER_EMAIL)
+                .issuedAt(new Date())
+                .expiration(new Date(System.currentTimeMillis() + EXPIRATION_MILLIS))
+                .signWith(Keys.hmacShaKeyFor(TEST_SECRET.getBytes(StandardCharsets.UTF_8)))
+                .compact();
+
+        assertNull(provider.toPrincipal(provider.parseClaims(legacy)));
+    }
+
     @Test
     void parseClaims_ThrowsExceptionForInvalidToken() {
         // Arrange
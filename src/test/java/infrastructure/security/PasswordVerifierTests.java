@@ -0,0 +1,89 @@
+package infrastructure.security;
+
+import com.acrisio.accesscontrol.exception.ServiceUnavailableException;
+import com.acrisio.accesscontrol.infrastructure.security.PasswordVerifier;
+import com.acrisio.accesscontrol.infrastructure.util.InternationalizationUtil;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.security.crypto.password.PasswordEncoder;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class PasswordVerifierTests {
+
+    @Mock
+    private PasswordEncoder passwordEncoder;
+
+    @Mock
+    private InternationalizationUtil message;
+
+    private final SimpleMeterRegistry registry = new SimpleMeterRegistry();
+
+    @Test
+    void matches_DelegatesToEncoderAndRecordsLatency() {
+        when(passwordEncoder.matches("secret", "hash")).thenReturn(true);
+        PasswordVerifier verifier = new PasswordVerifier(passwordEncoder, message, 1, 1, 1, registry);
+
+        assertTrue(verifier.matches("secret", "hash"));
+        assertEquals(1, registry.get("auth.password.verify").timer().count());
+    }
+
+    @Test
+    void rehash_HashUpToDate_ReturnsNullWithoutEncoding() {
+        when(passwordEncoder.upgradeEncoding("hash")).thenReturn(false);
+        PasswordVerifier verifier = new PasswordVerifier(passwordEncoder, message, 1, 1, 1, registry);
+
+        assertNull(verifier.rehash("secret", "hash"));
+        verify(passwordEncoder, never()).encode(anyString());
+    }
+
+    @Test
+    void rehash_CostChanged_ReturnsNewHash() {
+        when(passwordEncoder.upgradeEncoding("old")).thenReturn(true);
+        when(passwordEncoder.encode("secret")).thenReturn("new");
+        PasswordVerifier verifier = new PasswordVerifier(passwordEncoder, message, 1, 1, 1, registry);
+
+        assertEquals("new", verifier.rehash("secret", "old"));
+        assertEquals(1, registry.get("auth.password.rehashed").counter().count());
+    }
+
+    @Test
+    void matches_PoolAndQueueFull_FailsFastWithRetryAfter() throws Exception {
+        CountDownLatch started = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        when(passwordEncoder.matches(anyString(), anyString())).thenAnswer(inv -> {
+            started.countDown();
+            release.await(5, TimeUnit.SECONDS);
+            return true;
+        });
+        when(message.getMessage("Auth.busy")).thenReturn("busy");
+        PasswordVerifier verifier = new PasswordVerifier(passwordEncoder, message, 1, 1, 3, registry);
+
+        // Uma verificação rodando e uma na fila
+        CompletableFuture<Boolean> running = CompletableFuture.supplyAsync(() -> verifier.matches("a", "h"));
+        assertTrue(started.await(5, TimeUnit.SECONDS));
+        CompletableFuture<Boolean> queued = CompletableFuture.supplyAsync(() -> verifier.matches("b", "h"));
+        long deadline = System.currentTimeMillis() + 5_000;
+        while (registry.get("auth.password.queue").gauge().value() < 1 && System.currentTimeMillis() < deadline) {
+            Thread.sleep(5);
+        }
+
+        ServiceUnavailableException ex = assertThrows(ServiceUnavailableException.class, () -> verifier.matches("c", "h"));
+        assertEquals(3, ex.getRetryAfterSeconds());
+        assertEquals("busy", ex.getMessage());
+        assertEquals(1, registry.get("auth.password.rejected").counter().count());
+
+        release.countDown();
+        assertTrue(running.get(5, TimeUnit.SECONDS));
+        assertTrue(queued.get(5, TimeUnit.SECONDS));
+    }
+}
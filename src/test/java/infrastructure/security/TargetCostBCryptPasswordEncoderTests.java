@@ -0,0 +1,46 @@
+package infrastructure.security;
+
+import com.acrisio.accesscontrol.infrastructure.config.SecurityConfig;
+import com.acrisio.accesscontrol.infrastructure.security.TargetCostBCryptPasswordEncoder;
+import org.junit.jupiter.api.Test;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+import org.springframework.security.crypto.password.PasswordEncoder;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class TargetCostBCryptPasswordEncoderTests {
+
+    private static final String RAW = "alice123";
+
+    @Test
+    void upgradeEncoding_CostDiffersInEitherDirection() {
+        TargetCostBCryptPasswordEncoder encoder = new TargetCostBCryptPasswordEncoder(5);
+
+        assertTrue(encoder.upgradeEncoding(new BCryptPasswordEncoder(4).encode(RAW)));
+        assertTrue(encoder.upgradeEncoding(new BCryptPasswordEncoder(6).encode(RAW)));
+        assertFalse(encoder.upgradeEncoding(encoder.encode(RAW)));
+        assertFalse(encoder.upgradeEncoding("not-a-hash"));
+    }
+
+    @Test
+    void costOf_ReadsCostFromHash() {
+        assertEquals(4, TargetCostBCryptPasswordEncoder.costOf(new BCryptPasswordEncoder(4).encode(RAW)));
+        assertEquals(0, TargetCostBCryptPasswordEncoder.costOf("{noop}x"));
+        assertEquals(0, TargetCostBCryptPasswordEncoder.costOf(null));
+    }
+
+    @Test
+    void configuredEncoder_AcceptsLegacyHashesAndFlagsThemForRehash() {
+        PasswordEncoder encoder = new SecurityConfig().passwordEncoder(4);
+        String legacy = new BCryptPasswordEncoder(4).encode(RAW);
+
+        assertTrue(encoder.matches(RAW, legacy));
+        assertTrue(encoder.upgradeEncoding(legacy));
+
+        String current = encoder.encode(RAW);
+        assertTrue(current.startsWith("{bcrypt}$2a$04$"));
+        assertTrue(encoder.matches(RAW, current));
+        assertFalse(encoder.upgradeEncoding(current));
+        assertTrue(new SecurityConfig().passwordEncoder(5).upgradeEncoding(current));
+    }
+}
@@ -0,0 +1,96 @@
+package infrastructure.security;
+
+import com.acrisio.accesscontrol.infrastructure.security.VerifiedClaimsCache;
+import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.Jwts;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+
+import java.util.Date;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Function;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class VerifiedClaimsCacheTests {
+
+    private final SimpleMeterRegistry registry = new SimpleMeterRegistry();
+    private final AtomicLong now = new AtomicLong(1_000_000L);
+    private final AtomicInteger verifications = new AtomicInteger();
+
+    // Simula a verificação: o "token" carrega o exp em milissegundos
+    private final Function<String, Claims> verifier = token -> {
+        verifications.incrementAndGet();
+        long exp = Long.parseLong(token.substring(token.indexOf(':') + 1));
+        return Jwts.claims().subject(token).expiration(new Date(exp)).build();
+    };
+
+    @Test
+    void get_SameToken_VerifiesOnceAndCountsHit() {
+        VerifiedClaimsCache cache = new VerifiedClaimsCache(10, registry, now::get);
+        String token = "a:" + (now.get() + 60_000);
+
+        Claims first = cache.get(token, verifier);
+        Claims second = cache.get(token, verifier);
+
+        assertSame(first, second);
+        assertEquals(1, verifications.get());
+        assertEquals(1, registry.get("jwt.claims.cache").tag("result", "hit").counter().count());
+        assertEquals(1, registry.get("jwt.claims.cache").tag("result", "miss").counter().count());
+        assertEquals(1, registry.get("jwt.claims.cache.size").gauge().value());
+    }
+
+    @Test
+    void get_AfterTokenExp_EntryDropsAndTokenIsVerifiedAgain() {
+        VerifiedClaimsCache cache = new VerifiedClaimsCache(10, registry, now::get);
+        String token = "a:" + (now.get() + 60_000);
+        cache.get(token, verifier);
+
+        now.addAndGet(60_000);
+        cache.get(token, verifier);
+
+        assertEquals(2, verifications.get());
+    }
+
+    @Test
+    void get_DistinctNonAsciiTokens_DoNotShareAnEntry() {
+        VerifiedClaimsCache cache = new VerifiedClaimsCache(10, registry, now::get);
+        long exp = now.get() + 60_000;
+
+        Claims first = cache.get("ã:" + exp, verifier);
+        Claims second = cache.get("õ:" + exp, verifier);
+
+        assertNotSame(first, second);
+        assertEquals(2, verifications.get());
+    }
+
+    @Test
+    void get_VerificationFails_NothingCached() {
+        VerifiedClaimsCache cache = new VerifiedClaimsCache(10, registry, now::get);
+
+        assertThrows(IllegalArgumentException.class, () -> cache.get("bad", t -> {
+            throw new IllegalArgumentException("assinatura inválida");
+        }));
+        assertEquals(0, cache.size());
+    }
+
+    @Test
+    void get_Full_PurgesExpiredAndNeverExceedsLimit() {
+        VerifiedClaimsCache cache = new VerifiedClaimsCache(2, registry, now::get);
+        cache.get("a:" + (now.get() + 1_000), verifier);
+        cache.get("b:" + (now.get() + 60_000), verifier);
+
+        // Cheio, sem expirados: verifica sem guardar
+        cache.get("c:" + (now.get() + 60_000), verifier);
+        assertEquals(2, cache.size());
+
+        // "a" expirou e abre espaço
+        now.addAndGet(1_000);
+        String d = "d:" + (now.get() + 60_000);
+        cache.get(d, verifier);
+        cache.get(d, verifier);
+        assertEquals(2, cache.size());
+        assertEquals(4, verifications.get());
+    }
+}
@@ -0,0 +1,43 @@
+package infrastructure.util;
+
+import com.acrisio.accesscontrol.infrastructure.util.AccessRequestCursor;
+import org.junit.jupiter.api.Test;
+
+import java.nio.charset.StandardCharsets;
+import java.time.OffsetDateTime;
+import java.util.Base64;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class AccessRequestCursorTests {
+
+    @Test
+    void encodeDecode_RoundTripKeepsInstantAndId() {
+        OffsetDateTime createdAt = OffsetDateTime.parse("2025-11-22T14:30:15.123456-03:00");
+        AccessRequestCursor cursor = new AccessRequestCursor(createdAt, 987L);
+
+        AccessRequestCursor decoded = AccessRequestCursor.decode(cursor.encode());
+
+        assertNotNull(decoded);
+        assertTrue(createdAt.isEqual(decoded.createdAt()));
+        assertEquals(987L, decoded.id());
+    }
+
+    @Test
+    void decode_MalformedToken_ReturnsNull() {
+        assertNull(AccessRequestCursor.decode("nao-e-um-cursor"));
+        assertNull(AccessRequestCursor.decode("%%%"));
+        assertNull(AccessRequestCursor.decode(""));
+    }
+
+    @Test
+    void decode_OutOfRangeInstant_ReturnsNull() {
+        assertNull(AccessRequestCursor.decode(token("9223372036854775807:1000000000:1")));
+        assertNull(AccessRequestCursor.decode(token("-9223372036854775808:-1:1")));
+        assertNull(AccessRequestCursor.decode(token("9223372036854775807:0:1")));
+    }
+
+    private static String token(String raw) {
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.US_ASCII));
+    }
+}